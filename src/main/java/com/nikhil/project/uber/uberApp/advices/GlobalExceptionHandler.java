@@ -2,6 +2,7 @@ package com.nikhil.project.uber.uberApp.advices;
 
 import com.nikhil.project.uber.uberApp.exceptions.*;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -30,6 +31,36 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse<>(apiError));
     }
 
+    // ✅ Wrong email or password on login
+    @ExceptionHandler(InvalidCredentialsException.class)
+    public ResponseEntity<ApiResponse<?>> handleInvalidCredentials(InvalidCredentialsException ex) {
+
+        ApiError apiError = ApiError.builder()
+                .httpStatus(HttpStatus.UNAUTHORIZED)
+                .message(ex.getMessage())
+                .subErrors(List.of("Check the email and password"))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.UNAUTHORIZED)
+                .body(new ApiResponse<>(apiError));
+    }
+
+    // ✅ Authenticated, but not as a rider / driver
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiResponse<?>> handleAccessDenied(AccessDeniedException ex) {
+
+        ApiError apiError = ApiError.builder()
+                .httpStatus(HttpStatus.FORBIDDEN)
+                .message(ex.getMessage())
+                .subErrors(List.of("The access token has no profile for this endpoint, log in again after onboarding"))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.FORBIDDEN)
+                .body(new ApiResponse<>(apiError));
+    }
+
     // ✅ Rider not found (e.g., when loading current rider)
     @ExceptionHandler(RiderNotFoundException.class)
     public ResponseEntity<ApiResponse<?>> handleRiderNotFound(RiderNotFoundException ex) {
@@ -76,6 +107,69 @@ public class GlobalExceptionHandler {
                 .body(new ApiResponse<>(apiError));
     }
 
+    // ✅ Wallet debit would take the balance below zero
+    @ExceptionHandler(InsufficientWalletBalanceException.class)
+    public ResponseEntity<ApiResponse<?>> handleInsufficientWalletBalance(InsufficientWalletBalanceException ex) {
+
+        ApiError apiError = ApiError.builder()
+                .httpStatus(HttpStatus.BAD_REQUEST)
+                .message(ex.getMessage())
+                .subErrors(List.of("Add money to the wallet or choose another payment method"))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ApiResponse<>(apiError));
+    }
+
+    // ✅ Dispatch pipeline is saturated (backpressure)
+    @ExceptionHandler(RideDispatchCapacityExceededException.class)
+    public ResponseEntity<ApiResponse<?>> handleRideDispatchCapacityExceeded(
+            RideDispatchCapacityExceededException ex) {
+
+        ApiError apiError = ApiError.builder()
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .message(ex.getMessage())
+                .subErrors(List.of("Ride dispatch queue is full"))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiResponse<>(apiError));
+    }
+
+    // ✅ Password hashing pool is saturated (signup / login burst)
+    @ExceptionHandler(PasswordHashingCapacityExceededException.class)
+    public ResponseEntity<ApiResponse<?>> handlePasswordHashingCapacityExceeded(
+            PasswordHashingCapacityExceededException ex) {
+
+        ApiError apiError = ApiError.builder()
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .message(ex.getMessage())
+                .subErrors(List.of("Too many signups / logins right now, please try again shortly"))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ApiResponse<>(apiError));
+    }
+
+    // ✅ requestRide did not finish its steps within the deadline, or could not start them
+    @ExceptionHandler(RideRequestTimeoutException.class)
+    public ResponseEntity<ApiResponse<?>> handleRideRequestTimeout(RideRequestTimeoutException ex) {
+
+        ApiError apiError = ApiError.builder()
+                .httpStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                .message(ex.getMessage())
+                .subErrors(List.of("Fare calculation or driver matching could not finish in time, please try again"))
+                .build();
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiResponse<>(apiError));
+    }
+
     // ✅ Handle validation errors (@Valid)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<?>> handleValidationErrors(MethodArgumentNotValidException ex) {
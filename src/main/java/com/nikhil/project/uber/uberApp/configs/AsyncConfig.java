@@ -0,0 +1,110 @@
+package com.nikhil.project.uber.uberApp.configs;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig {
+
+    private final Environment environment;
+
+    /*
+     * Sends ride offers to drivers. Bounded on both threads and queue: once the queue is full
+     * submissions are rejected instead of piling up, see RideDispatchServiceImpl for how
+     * that is turned into backpressure on the rider's request.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor rideDispatchExecutor(
+            @Value("${uber.dispatch.executor.threads:8}") int threads,
+            @Value("${uber.dispatch.executor.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ride-dispatch-");
+        useVirtualThreadsIfEnabled(executor, "ride-dispatch-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /*
+     * Runs payment settlement workers (PaymentSettlementServiceImpl). One thread per worker;
+     * the queue only has to absorb a top-up request racing with a worker that is finishing.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor paymentSettlementExecutor(
+            @Value("${uber.payment.settlement.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(workers, 1));
+        executor.setMaxPoolSize(Math.max(workers, 1));
+        executor.setQueueCapacity(Math.max(workers, 1));
+        executor.setThreadNamePrefix("payment-settlement-");
+        useVirtualThreadsIfEnabled(executor, "payment-settlement-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /*
+     * Runs the fare calculation of requestRide next to rider validation and matching
+     * (RiderServiceImpl). Tasks that find every thread busy wait in a short queue, still within the
+     * request's deadline; when the queue is full too the task is rejected and the rider gets 503.
+     * Not CallerRunsPolicy: a step run on the request thread could not be cancelled at the deadline.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor rideRequestExecutor(
+            @Value("${uber.ride-request.executor.threads:32}") int threads,
+            @Value("${uber.ride-request.executor.queue-capacity:64}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ride-request-");
+        useVirtualThreadsIfEnabled(executor, "ride-request-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /*
+     * Runs bcrypt for signup and login (PasswordHashingServiceImpl). Hashing is CPU bound by design,
+     * so the pool caps how many cores auth traffic can take and the queue is short: when both are
+     * full the task is rejected and the caller gets 503 at once. Platform threads even in
+     * virtual-thread mode, since there is no blocking to hide here.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${uber.auth.password.executor.threads:2}") int threads,
+            @Value("${uber.auth.password.executor.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /*
+     * With spring.threads.virtual.enabled=true (Java 21+) the executors keep their pool size and
+     * queue, so the limits and the rejection-as-backpressure above are unchanged, but each worker
+     * is a virtual thread: a worker blocked on OSRM or JDBC no longer holds a platform thread.
+     * Whether Threading.VIRTUAL is active depends on the JVM the application runs on, not on the
+     * Java 17 the build targets: the same jar switches on a 21+ runtime and stays on platform
+     * threads on 17.
+     */
+    private void useVirtualThreadsIfEnabled(ThreadPoolTaskExecutor executor, String threadNamePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.nikhil.project.uber.uberApp.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nikhil.project.uber.uberApp.security.AuthTokenFilter;
+import com.nikhil.project.uber.uberApp.security.CurrentUserContext;
+import com.nikhil.project.uber.uberApp.services.JwtService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuthConfig {
+
+    // /auth/** (signup, login), actuator and the API docs stay open.
+    @Bean
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilter(JwtService jwtService,
+                                                                   CurrentUserContext currentUserContext,
+                                                                   ObjectMapper objectMapper) {
+        FilterRegistrationBean<AuthTokenFilter> registration =
+                new FilterRegistrationBean<>(new AuthTokenFilter(jwtService, currentUserContext, objectMapper));
+        registration.addUrlPatterns("/riders/*", "/drivers/*", "/reactive/*");
+        return registration;
+    }
+}
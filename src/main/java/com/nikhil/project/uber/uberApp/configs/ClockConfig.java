@@ -0,0 +1,16 @@
+package com.nikhil.project.uber.uberApp.configs;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    // Injected instead of calling now() directly, so time-dependent logic can be tested with a fixed clock.
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -0,0 +1,37 @@
+package com.nikhil.project.uber.uberApp.configs;
+
+import com.nikhil.project.uber.uberApp.utils.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class DataSourceConfig {
+
+    /*
+     * Puts ConnectionLimitingDataSource in front of the auto-configured Hikari pool. Static so the
+     * post-processor is registered before the DataSource is created. Permits default to the pool
+     * size: beyond that a caller can only wait, and it should wait in the fair queue of the limiter
+     * with a short timeout rather than inside Hikari. Boot unwraps DelegatingDataSource, so the
+     * Hikari metrics and health check still see the pool.
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)
+                        || !environment.getProperty("uber.datasource.limiter.enabled", Boolean.class, true)) {
+                    return bean;
+                }
+                int maxConcurrent = environment.getProperty("uber.datasource.limiter.max-concurrent",
+                        Integer.class, hikari.getMaximumPoolSize());
+                long acquireTimeoutMillis = environment.getProperty("uber.datasource.limiter.acquire-timeout-ms",
+                        Long.class, 2000L);
+                return new ConnectionLimitingDataSource(hikari, maxConcurrent, acquireTimeoutMillis);
+            }
+        };
+    }
+}
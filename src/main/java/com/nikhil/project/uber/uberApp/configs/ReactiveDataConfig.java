@@ -0,0 +1,51 @@
+package com.nikhil.project.uber.uberApp.configs;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+@Configuration
+public class ReactiveDataConfig implements DisposableBean {
+
+    private ConnectionPool connectionPool;
+
+    /*
+     * R2DBC client for the reactive booking path (repositories/reactive). Only the DatabaseClient
+     * is a bean, not the ConnectionFactory: a ConnectionFactory bean would make Boot run
+     * schema.sql / data.sql through R2DBC and add a second transaction manager next to JPA's.
+     * R2dbcAutoConfiguration is excluded in application.properties for the same reason.
+     */
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(
+            @Value("${uber.reactive.r2dbc.url}") String url,
+            @Value("${uber.reactive.r2dbc.username}") String username,
+            @Value("${uber.reactive.r2dbc.password}") String password,
+            @Value("${uber.reactive.r2dbc.pool.max-size:10}") int maxSize,
+            @Value("${uber.reactive.r2dbc.pool.max-acquire-time-ms:2000}") long maxAcquireTimeMs) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        // Connections are opened on first use, so startup does not need the database.
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactive-booking")
+                .initialSize(0)
+                .maxSize(maxSize)
+                .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMs))
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionPool != null) connectionPool.dispose();
+    }
+}
@@ -1,10 +1,13 @@
 package com.nikhil.project.uber.uberApp.controllers;
 
 import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.LoginDto;
+import com.nikhil.project.uber.uberApp.dto.LoginResponseDto;
 import com.nikhil.project.uber.uberApp.dto.OnboardDriverDto;
 import com.nikhil.project.uber.uberApp.dto.SignUpDto;
 import com.nikhil.project.uber.uberApp.dto.UserDto;
 import com.nikhil.project.uber.uberApp.services.AuthService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,10 +21,15 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/signup")
-    ResponseEntity<UserDto> signUp(@RequestBody SignUpDto signupDto) {
+    ResponseEntity<UserDto> signUp(@Valid @RequestBody SignUpDto signupDto) {
         return new ResponseEntity<>(authService.signUp(signupDto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/login")
+    ResponseEntity<LoginResponseDto> login(@RequestBody LoginDto loginDto) {
+        return ResponseEntity.ok(authService.login(loginDto.getEmail(), loginDto.getPassword()));
+    }
+
     @PostMapping("/onBoardNewDriver/{userId}")
     ResponseEntity<DriverDto> onBoardNewDriver(@PathVariable Long userId, @RequestBody OnboardDriverDto onboardDriverDto) {
         return new ResponseEntity<>(authService.onboardNewDriver(userId,
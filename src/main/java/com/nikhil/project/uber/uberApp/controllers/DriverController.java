@@ -2,13 +2,16 @@ package com.nikhil.project.uber.uberApp.controllers;
 
 import com.nikhil.project.uber.uberApp.dto.*;
 import com.nikhil.project.uber.uberApp.services.DriverService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/drivers")
@@ -42,17 +45,37 @@ public class DriverController {
         return ResponseEntity.ok(driverService.rateRider(ratingDto.getRideId(), ratingDto.getRating()));
     }
 
+    @PostMapping("/updateLocation")
+    public ResponseEntity<Void> updateLocation(@Valid @RequestBody PointDto location) {
+        driverService.updateCurrentLocation(location);
+        return new ResponseEntity<>(HttpStatus.ACCEPTED);
+    }
+
+    // Polled by the driver app: the ride offers sent since the last poll (each offer is returned once).
+    @GetMapping("/getMyRideOffers")
+    public ResponseEntity<List<RideOfferDto>> getMyRideOffers() {
+        return ResponseEntity.ok(driverService.getMyRideOffers());
+    }
+
     @GetMapping("/getMyProfile")
     public ResponseEntity<DriverDto> getMyProfile() {
         return ResponseEntity.ok(driverService.getMyProfile());
     }
 
     @GetMapping("/getMyRides")
-    public ResponseEntity<Page<RideDto>> getAllMyRides(@RequestParam(defaultValue = "0") Integer pageOffset,
-                                                       @RequestParam(defaultValue = "10", required = false) Integer pageSize) {
-        PageRequest pageRequest = PageRequest.of(pageOffset, pageSize,
-                Sort.by(Sort.Direction.DESC, "createdTime", "id"));
-        return ResponseEntity.ok(driverService.getAllMyRides(pageRequest));
+    public ResponseEntity<CursorSliceDto<RideDto>> getAllMyRides(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "10") Integer size) {
+        return ResponseEntity.ok(driverService.getAllMyRides(beforeTime, beforeId, size));
+    }
+
+    @GetMapping("/getMyWalletTransactions")
+    public ResponseEntity<CursorSliceDto<WalletTransactionDto>> getMyWalletTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(driverService.getMyWalletTransactions(beforeTime, beforeId, size));
     }
 
     @PostMapping("/rateRider/{rideId}/{rating}")
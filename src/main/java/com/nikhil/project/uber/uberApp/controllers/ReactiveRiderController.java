@@ -0,0 +1,33 @@
+package com.nikhil.project.uber.uberApp.controllers;
+
+import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
+import com.nikhil.project.uber.uberApp.services.ReactiveRiderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/*
+ * Non-blocking variant of POST /riders/requestRide, next to RiderController for comparison.
+ *
+ * The application runs on Tomcat, so Spring MVC treats the Mono as an async request: the Tomcat
+ * thread is released as soon as the Mono is returned and only comes back to write the response.
+ * Waiting requests hold an NIO connection, not a thread. To compare both paths at 10k concurrent
+ * connections with few threads, start with e.g. server.tomcat.threads.max=16 and load
+ * /riders/requestRide and /reactive/riders/requestRide with the same body.
+ */
+@RestController
+@RequestMapping("/reactive/riders")
+@RequiredArgsConstructor
+public class ReactiveRiderController {
+
+    private final ReactiveRiderService reactiveRiderService;
+
+    @PostMapping("/requestRide")
+    public Mono<ResponseEntity<RideRequestDto>> requestRide(@RequestBody RideRequestDto rideRequestDto) {
+        return reactiveRiderService.requestRide(rideRequestDto).map(ResponseEntity::ok);
+    }
+}
@@ -3,12 +3,12 @@ package com.nikhil.project.uber.uberApp.controllers;
 import com.nikhil.project.uber.uberApp.dto.*;
 import com.nikhil.project.uber.uberApp.services.RiderService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/riders")
 @RequiredArgsConstructor
@@ -16,6 +16,11 @@ public class RiderController {
 
     private final RiderService riderService;
 
+    @PostMapping("/fareEstimate")
+    public ResponseEntity<FareQuoteDto> estimateFare(@RequestBody RideRequestDto rideRequestDto) {
+        return ResponseEntity.ok(riderService.estimateFare(rideRequestDto));
+    }
+
     @PostMapping("/requestRide")
     public ResponseEntity<RideRequestDto> requestRide(@RequestBody RideRequestDto rideRequestDto) {
         return ResponseEntity.ok(riderService.requestRide(rideRequestDto));
@@ -37,11 +42,19 @@ public class RiderController {
     }
 
     @GetMapping("/getMyRides")
-    public ResponseEntity<Page<RideDto>> getAllMyRides(@RequestParam(defaultValue = "0") Integer pageOffset,
-                                                       @RequestParam(defaultValue = "10", required = false) Integer pageSize) {
-        PageRequest pageRequest = PageRequest.of(pageOffset, pageSize,
-                Sort.by(Sort.Direction.DESC, "createdTime", "id"));
-        return ResponseEntity.ok(riderService.getAllMyRides(pageRequest));
+    public ResponseEntity<CursorSliceDto<RideDto>> getAllMyRides(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "10") Integer size) {
+        return ResponseEntity.ok(riderService.getAllMyRides(beforeTime, beforeId, size));
+    }
+
+    @GetMapping("/getMyWalletTransactions")
+    public ResponseEntity<CursorSliceDto<WalletTransactionDto>> getMyWalletTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTime,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "20") Integer size) {
+        return ResponseEntity.ok(riderService.getMyWalletTransactions(beforeTime, beforeId, size));
     }
 
     @PostMapping("/rateDriver/{rideId}/{rating}")
@@ -0,0 +1,23 @@
+package com.nikhil.project.uber.uberApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+ * One page of a keyset-paginated list, without a total count.
+ * To get the next page, send nextBeforeTime and nextBeforeId back as beforeTime and beforeId;
+ * both are null when hasNext is false.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorSliceDto<T> {
+    private List<T> content;
+    private boolean hasNext;
+    private LocalDateTime nextBeforeTime;
+    private Long nextBeforeId;
+}
@@ -0,0 +1,4 @@
+package com.nikhil.project.uber.uberApp.dto;
+
+public record DriverLocationUpdate(Long driverId, double longitude, double latitude) {
+}
@@ -0,0 +1,18 @@
+package com.nikhil.project.uber.uberApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareQuoteDto {
+    private String quoteToken;
+    private Double fare;
+    private Double distanceKm;
+    private String fareStrategy;
+    private Instant expiresAt;
+}
@@ -0,0 +1,13 @@
+package com.nikhil.project.uber.uberApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginDto {
+    private String email;
+    private String password;
+}
@@ -1,15 +1,40 @@
 package com.nikhil.project.uber.uberApp.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
 public class PointDto {
+
+    // GeoJSON order: [longitude, latitude]
+    @NotNull(message = "Coordinates are required")
+    @Size(min = 2, max = 2, message = "Coordinates must be [longitude, latitude]")
     private Double[] coordinates;
     private String type = "point";
 
     public PointDto(Double[] coordinates) {
         this.coordinates = coordinates;
     }
+
+    // Only checked with @Valid (e.g. driver location pings); NaN and null fail the range check too.
+    @JsonIgnore
+    @AssertTrue(message = "Longitude must be between -180 and 180")
+    public boolean isLongitudeInRange() {
+        return coordinates == null || coordinates.length != 2 || inRange(coordinates[0], 180);
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Latitude must be between -90 and 90")
+    public boolean isLatitudeInRange() {
+        return coordinates == null || coordinates.length != 2 || inRange(coordinates[1], 90);
+    }
+
+    private static boolean inRange(Double degrees, double limit) {
+        return degrees != null && degrees >= -limit && degrees <= limit;
+    }
 }
@@ -2,9 +2,15 @@ package com.nikhil.project.uber.uberApp.dto;
 
 import com.nikhil.project.uber.uberApp.enums.PaymentMethod;
 import com.nikhil.project.uber.uberApp.enums.RideStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class RideDto {
     private Long id;
     private PointDto pickupLocation;
@@ -0,0 +1,17 @@
+package com.nikhil.project.uber.uberApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RideOfferDto {
+    private Long rideRequestId;
+    private Long driverId;
+    private PointDto pickupLocation;
+    private PointDto dropOffLocation;
+    private Double fare;
+    private Integer wave;
+}
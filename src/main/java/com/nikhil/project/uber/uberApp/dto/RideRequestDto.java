@@ -25,4 +25,5 @@ public class RideRequestDto {
     private Double fare;
     private LocalDateTime startedAt;
     private LocalDateTime endedAt;
+    private String quoteToken;
 }
@@ -1,5 +1,7 @@
 package com.nikhil.project.uber.uberApp.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -10,5 +12,9 @@ import lombok.NoArgsConstructor;
 public class SignUpDto {
     private String name;
     private String email;
+
+    // Checked here, on the raw password: the entity only ever sees the hash.
+    @NotBlank(message = "Password is required")
+    @Size(min = 8, message = "Password must be at least 8 characters long")
     private String password;
 }
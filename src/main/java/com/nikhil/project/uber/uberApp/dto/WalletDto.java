@@ -2,8 +2,6 @@ package com.nikhil.project.uber.uberApp.dto;
 
 import lombok.Data;
 
-import java.util.List;
-
 @Data
 public class WalletDto {
     private Long id;
@@ -11,6 +9,4 @@ public class WalletDto {
     private UserDto user;
 
     private Double balance;
-
-    private List<WalletTransactionDto> transactions;
 }
@@ -16,11 +16,10 @@ public class WalletTransactionDto {
 
     private TransactionMethod transactionMethod;
 
-    private RideDto ride;
+    // Only the id: mapping the whole ride would lazy-load it (and its rider and driver) for every row.
+    private Long rideId;
 
     private String transactionId;
 
-    private WalletDto wallet;
-
     private LocalDateTime timeStamp;
 }
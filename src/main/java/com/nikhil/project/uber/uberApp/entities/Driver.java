@@ -6,12 +6,14 @@ import jakarta.validation.constraints.Min;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.locationtech.jts.geom.Point;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
+// The spatial index on current_location is created in schema.sql (GiST + partial, not expressible here).
 @Table(indexes = {
         @Index(name = "idx_driver_vehicle_id", columnList = "vehicleId")
 })
@@ -26,6 +28,16 @@ public class Driver {
     @Column(nullable = false)
     private Double rating;
 
+    // Running totals behind `rating`, updated with one atomic UPDATE per new rating
+    // (see RatingServiceImpl), so a new rating never has to read the rating history.
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long ratingCount = 0L;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+
     @OneToOne(optional = false)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
@@ -96,6 +108,8 @@ public class Driver {
    CREATE TABLE drivers (
        id BIGSERIAL PRIMARY KEY,
        rating DOUBLE PRECISION NOT NULL,
+       rating_count BIGINT NOT NULL DEFAULT 0,
+       rating_sum BIGINT NOT NULL DEFAULT 0,
        user_id BIGINT NOT NULL UNIQUE,
        available BOOLEAN,
        current_location Geometry(Point, 4326),
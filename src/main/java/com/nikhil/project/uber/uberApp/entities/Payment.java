@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class Payment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_seq")
+    @SequenceGenerator(name = "payment_seq", sequenceName = "payment_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -88,7 +89,7 @@ public class Payment {
     🧾 Equivalent SQL Schema:
 
     CREATE TABLE payment (
-        id BIGSERIAL PRIMARY KEY,
+        id BIGINT PRIMARY KEY,            -- from payment_seq
         payment_method VARCHAR(255),
         ride_id BIGINT NOT NULL UNIQUE,
         amount DOUBLE PRECISION NOT NULL,
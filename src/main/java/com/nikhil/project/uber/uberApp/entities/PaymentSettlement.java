@@ -0,0 +1,78 @@
+package com.nikhil.project.uber.uberApp.entities;
+
+import com.nikhil.project.uber.uberApp.enums.SettlementStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_payment_settlement_due", columnList = "status, next_attempt_at")
+})
+public class PaymentSettlement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payment_settlement_seq")
+    @SequenceGenerator(name = "payment_settlement_seq", sequenceName = "payment_settlement_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SettlementStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
+
+/*
+   ----------------------------
+   🔹 Transactional outbox for payment settlement
+   ----------------------------
+
+   endRide does not move money itself anymore. It inserts one PaymentSettlement row in the
+   same transaction that ends the ride: either the ride ends AND settlement is scheduled, or neither.
+
+   Background workers (PaymentSettlementServiceImpl) pick up due rows with
+   SELECT ... FOR UPDATE SKIP LOCKED, so any number of workers, on any number of instances,
+   each get different rows without waiting on each other.
+
+   - paymentId (UNIQUE) → at most one settlement per payment, the idempotency key.
+   - status + nextAttemptAt → failed attempts are retried later with backoff,
+     and end up FAILED after the configured number of attempts.
+   - No foreign key to payment on purpose: the outbox row is a message, not part of the payment.
+*/
+
+/* ==============================
+      Equivalent SQL Schema
+   ==============================
+
+   CREATE TABLE payment_settlement (
+       id BIGINT PRIMARY KEY,            -- from payment_settlement_seq
+       payment_id BIGINT NOT NULL UNIQUE,
+       status VARCHAR(255) NOT NULL,
+       attempts INTEGER NOT NULL,
+       next_attempt_at TIMESTAMP NOT NULL,
+       last_error VARCHAR(500),
+       created_at TIMESTAMP
+   );
+
+   CREATE INDEX idx_payment_settlement_due ON payment_settlement (status, next_attempt_at);
+*/
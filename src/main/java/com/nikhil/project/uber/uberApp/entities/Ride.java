@@ -16,13 +16,14 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @Table(indexes = {
-        @Index(name = "idx_ride_rider", columnList = "rider_id"),
-        @Index(name = "idx_ride_driver", columnList = "driver_id")
+        @Index(name = "idx_ride_rider_history", columnList = "rider_id, created_time DESC, id DESC"),
+        @Index(name = "idx_ride_driver_history", columnList = "driver_id, created_time DESC, id DESC")
 })
 public class Ride {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ride_seq")
+    @SequenceGenerator(name = "ride_seq", sequenceName = "ride_seq", allocationSize = 50)
     private Long id;
 
     @Column(columnDefinition = "Geometry(Point, 4326)")
@@ -114,11 +115,31 @@ public class Ride {
       referencing the primary key of the Driver table.
 */
 
+/*
+    ----------------------------
+    🔹 ID generation: pooled sequence instead of IDENTITY
+    ----------------------------
+
+    With IDENTITY the database assigns the id during the INSERT, so Hibernate has to run
+    every INSERT immediately (one round trip per row) and cannot batch them.
+
+    - SEQUENCE + allocationSize = 50 → Hibernate reserves 50 ids with one nextval() call
+      (the sequence is created with INCREMENT BY 50) and hands them out in memory.
+    - The id is known before the INSERT, so inserts wait for the flush and go out in
+      JDBC batches (spring.jpa.properties.hibernate.jdbc.batch_size).
+    - Ids are no longer gap-free or strictly ordered across app instances; nothing relies on that.
+
+    Same for RideRequest, Payment and Rating. WalletTransaction keeps IDENTITY: its rows are
+    written by one native INSERT ... SELECT (WalletRepository.applyTransaction), never by Hibernate.
+*/
+
 /*
     🧾 Equivalent SQL Schema:
 
+    CREATE SEQUENCE ride_seq START WITH 1 INCREMENT BY 50;
+
     CREATE TABLE ride (
-        id BIGSERIAL PRIMARY KEY,
+        id BIGINT PRIMARY KEY,            -- from ride_seq
         pickup_location Geometry(Point, 4326),
         drop_off_location Geometry(Point, 4326),
         created_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -23,7 +23,8 @@ import java.time.LocalDateTime;
 public class RideRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ride_request_seq")
+    @SequenceGenerator(name = "ride_request_seq", sequenceName = "ride_request_seq", allocationSize = 50)
     private Long id;
 
     @Column(columnDefinition = "Geometry(Point, 4326)")
@@ -97,7 +98,7 @@ public class RideRequest {
     🧾 Equivalent SQL Schema:
 
     CREATE TABLE ride_request (
-        id BIGSERIAL PRIMARY KEY,
+        id BIGINT PRIMARY KEY,            -- from ride_request_seq
         pickup_location Geometry(Point, 4326),
         drop_off_location Geometry(Point, 4326),
         requested_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
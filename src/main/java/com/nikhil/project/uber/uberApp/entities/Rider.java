@@ -6,6 +6,7 @@ import jakarta.validation.constraints.Min;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter
@@ -22,6 +23,16 @@ public class Rider {
     @Column(nullable = false)
     private Double rating;
 
+    // Running totals behind `rating`, updated with one atomic UPDATE per new rating
+    // (see RatingServiceImpl), so a new rating never has to read the rating history.
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long ratingCount = 0L;
+
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long ratingSum = 0L;
+
     @OneToOne(optional = false)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
@@ -81,6 +92,8 @@ public class Rider {
         CREATE TABLE riders (
             id BIGSERIAL PRIMARY KEY,
             rating DOUBLE PRECISION NOT NULL DEFAULT 0.0,
+            rating_count BIGINT NOT NULL DEFAULT 0,
+            rating_sum BIGINT NOT NULL DEFAULT 0,
             user_id BIGINT NOT NULL UNIQUE,
             CONSTRAINT fk_rider_user FOREIGN KEY (user_id) REFERENCES users(id)
         );
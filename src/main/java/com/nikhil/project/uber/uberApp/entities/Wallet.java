@@ -5,8 +5,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.util.List;
-
 @Entity
 @Getter
 @Setter
@@ -22,9 +20,6 @@ public class Wallet {
     private User user;
 
     private Double balance = 0.0;
-
-    @OneToMany(mappedBy = "wallet", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    private List<WalletTransaction> transactions;
 }
 
 /*
@@ -74,26 +69,18 @@ public class Wallet {
 */
 
 /* =============================================
-   COMMENT FOR @OneToMany Wallet → Transactions
+   WHY there is NO @OneToMany Wallet → Transactions
    =============================================
 
-   One wallet can have multiple transaction records.
-
-   - mappedBy = "wallet"
-         WalletTransaction owns the foreign key (wallet_id).
-
-   - fetch = LAZY
-         Transactions are loaded only when wallet.getTransactions() is called.
+   A driver wallet collects thousands of transaction rows over time.
 
-   - cascade = CascadeType.ALL
-         ✔ PERSIST → Saving wallet also saves transactions
-         ✔ MERGE   → Merging wallet merges transactions
-         ✔ REMOVE  → Deleting wallet deletes all transactions
-         ✔ REFRESH → Refresh syncs children
-         ✔ DETACH  → Detaching wallet detaches transactions
+   - A List<WalletTransaction> on the wallet invites wallet.getTransactions().add(...),
+     which initializes the lazy collection → the whole history is loaded for every credit.
+   - Credits and debits are pure appends instead: WalletRepository.applyTransaction
+     inserts the row, nothing ever reads the history to write to it.
+   - History is read page by page from WalletTransactionRepository (keyset pagination).
 
-   This is useful because transactions logically belong to the wallet.
-   If a wallet is deleted, its transaction history should also be deleted.
+   WalletTransaction still owns the foreign key (wallet_id), so nothing changes in the schema.
 */
 
 /* ==============================
@@ -15,11 +15,12 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @Table(indexes = {
-        @Index(name = "idx_wallet_transaction_wallet", columnList = "wallet_id"),
+        @Index(name = "idx_wallet_transaction_wallet_time", columnList = "wallet_id, time_stamp DESC, id DESC"),
         @Index(name = "idx_wallet_transaction_ride", columnList = "ride_id")
 })
 public class WalletTransaction {
 
+    // IDENTITY on purpose: rows are inserted by WalletRepository.applyTransaction, not by Hibernate.
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,7 +33,7 @@ public class WalletTransaction {
     @Enumerated(EnumType.STRING)
     private TransactionMethod transactionMethod;
 
-    @OneToOne(fetch = FetchType.LAZY,optional = false)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ride_id")
     private Ride ride;
 
@@ -81,12 +82,15 @@ public class WalletTransaction {
 
 
 /* =======================================================
-   COMMENT FOR @OneToOne WalletTransaction → Ride (1:1)
+   COMMENT FOR @ManyToOne WalletTransaction → Ride (N:1)
    =======================================================
 
    A transaction may be linked to a specific ride.
 
-   - @OneToOne → One transaction maps to one ride.
+   - @ManyToOne → One ride can have several transactions
+         (wallet payment: DEBIT from the rider + CREDIT to the driver).
+         @OneToOne would put a UNIQUE constraint on ride_id and reject the second row.
+   - ride_id is nullable → top-ups and withdrawals belong to no ride.
    - @JoinColumn → Foreign key column: ride_id
 
    Use cases:
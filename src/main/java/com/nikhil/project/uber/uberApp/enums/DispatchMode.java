@@ -0,0 +1,5 @@
+package com.nikhil.project.uber.uberApp.enums;
+
+public enum DispatchMode {
+    WAVES, PARALLEL
+}
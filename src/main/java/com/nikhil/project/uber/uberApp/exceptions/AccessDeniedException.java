@@ -0,0 +1,7 @@
+package com.nikhil.project.uber.uberApp.exceptions;
+
+public class AccessDeniedException extends RuntimeException {
+    public AccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nikhil.project.uber.uberApp.exceptions;
+
+public class InsufficientWalletBalanceException extends RuntimeException {
+    public InsufficientWalletBalanceException(String message) {
+        super(message);
+    }
+}
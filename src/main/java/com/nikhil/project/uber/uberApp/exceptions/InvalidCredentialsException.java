@@ -0,0 +1,7 @@
+package com.nikhil.project.uber.uberApp.exceptions;
+
+public class InvalidCredentialsException extends RuntimeException {
+    public InvalidCredentialsException(String message) {
+        super(message);
+    }
+}
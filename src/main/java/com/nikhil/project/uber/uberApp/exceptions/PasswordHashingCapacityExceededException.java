@@ -0,0 +1,7 @@
+package com.nikhil.project.uber.uberApp.exceptions;
+
+public class PasswordHashingCapacityExceededException extends RuntimeException {
+    public PasswordHashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nikhil.project.uber.uberApp.exceptions;
+
+public class RideDispatchCapacityExceededException extends RuntimeException {
+    public RideDispatchCapacityExceededException(String message) {
+        super(message);
+    }
+}
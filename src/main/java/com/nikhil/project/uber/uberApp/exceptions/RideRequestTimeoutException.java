@@ -0,0 +1,12 @@
+package com.nikhil.project.uber.uberApp.exceptions;
+
+public class RideRequestTimeoutException extends RuntimeException {
+
+    public RideRequestTimeoutException(String message) {
+        super(message);
+    }
+
+    public RideRequestTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
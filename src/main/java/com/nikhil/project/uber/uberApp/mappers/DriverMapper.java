@@ -0,0 +1,16 @@
+package com.nikhil.project.uber.uberApp.mappers;
+
+import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.entities.Driver;
+
+public class DriverMapper {
+
+    public static DriverDto toDriverDto(Driver driver) {
+        if (driver == null) return null;
+        return new DriverDto(driver.getId(),
+                UserMapper.toUserDto(driver.getUser()),
+                driver.getRating(),
+                driver.getAvailable(),
+                driver.getVehicleId());
+    }
+}
@@ -0,0 +1,27 @@
+package com.nikhil.project.uber.uberApp.mappers;
+
+import com.nikhil.project.uber.uberApp.dto.PointDto;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.locationtech.jts.geom.Point;
+
+/*
+ * Hand-written mappers, one class per entity/DTO pair: plain getter/setter calls the JIT can inline,
+ * no reflection and no type map lookups on every call (which is what ModelMapper does).
+ * Adding a field to an entity or DTO means adding it here too; the compiler will not do it for you.
+ *
+ * All mappers are null-safe on their argument.
+ */
+public class PointMapper {
+
+    public static Point toPoint(PointDto pointDto) {
+        return pointDto == null ? null : GeometryUtils.createPoint(pointDto);
+    }
+
+    public static PointDto toPointDto(Point point) {
+        return point == null ? null : new PointDto(new Double[]{point.getX(), point.getY()});
+    }
+
+    public static PointDto toPointDto(Double longitude, Double latitude) {
+        return longitude == null || latitude == null ? null : new PointDto(new Double[]{longitude, latitude});
+    }
+}
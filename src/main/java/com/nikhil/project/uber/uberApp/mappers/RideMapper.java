@@ -0,0 +1,70 @@
+package com.nikhil.project.uber.uberApp.mappers;
+
+import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.RideDto;
+import com.nikhil.project.uber.uberApp.dto.RiderDto;
+import com.nikhil.project.uber.uberApp.dto.UserDto;
+import com.nikhil.project.uber.uberApp.entities.Ride;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.projections.RideHistoryProjection;
+
+public class RideMapper {
+
+    public static RideDto toRideDto(Ride ride) {
+        if (ride == null) return null;
+        return new RideDto(ride.getId(),
+                PointMapper.toPointDto(ride.getPickupLocation()),
+                PointMapper.toPointDto(ride.getDropOffLocation()),
+                ride.getCreatedTime(),
+                RiderMapper.toRiderDto(ride.getRider()),
+                DriverMapper.toDriverDto(ride.getDriver()),
+                ride.getPaymentMethod(),
+                ride.getRideStatus(),
+                ride.getOtp(),
+                ride.getFare(),
+                ride.getStartedAt(),
+                ride.getEndedAt());
+    }
+
+    // Same JSON shape as toRideDto(Ride), built from the flat history row.
+    public static RideDto toRideDto(RideHistoryProjection row) {
+        if (row == null) return null;
+        RiderDto rider = new RiderDto(row.getRiderId(),
+                new UserDto(row.getRiderName(), row.getRiderEmail(), UserMapper.toRoles(row.getRiderRoles())),
+                row.getRiderRating());
+        DriverDto driver = row.getDriverId() == null ? null : new DriverDto(row.getDriverId(),
+                new UserDto(row.getDriverName(), row.getDriverEmail(), UserMapper.toRoles(row.getDriverRoles())),
+                row.getDriverRating(),
+                row.getDriverAvailable(),
+                row.getDriverVehicleId());
+
+        return new RideDto(row.getId(),
+                PointMapper.toPointDto(row.getPickupLongitude(), row.getPickupLatitude()),
+                PointMapper.toPointDto(row.getDropOffLongitude(), row.getDropOffLatitude()),
+                row.getCreatedTime(),
+                rider,
+                driver,
+                row.getPaymentMethod(),
+                row.getRideStatus(),
+                row.getOtp(),
+                row.getFare(),
+                row.getStartedAt(),
+                row.getEndedAt());
+    }
+
+    /*
+     * A new, unsaved Ride for an accepted request. Only the trip fields are copied, never the id,
+     * so Hibernate always INSERTs (the reflective mapping copied the request id and had to null it).
+     * Status, driver and OTP are set by the caller; createdTime by @CreationTimestamp.
+     */
+    public static Ride toRide(RideRequest rideRequest) {
+        if (rideRequest == null) return null;
+        Ride ride = new Ride();
+        ride.setPickupLocation(rideRequest.getPickupLocation());
+        ride.setDropOffLocation(rideRequest.getDropOffLocation());
+        ride.setRider(rideRequest.getRider());
+        ride.setPaymentMethod(rideRequest.getPaymentMethod());
+        ride.setFare(rideRequest.getFare());
+        return ride;
+    }
+}
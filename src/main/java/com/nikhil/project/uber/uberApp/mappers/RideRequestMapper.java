@@ -0,0 +1,31 @@
+package com.nikhil.project.uber.uberApp.mappers;
+
+import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+
+public class RideRequestMapper {
+
+    // Only what the rider may choose: rider, status and fare are set by the service.
+    public static RideRequest toRideRequest(RideRequestDto rideRequestDto) {
+        if (rideRequestDto == null) return null;
+        RideRequest rideRequest = new RideRequest();
+        rideRequest.setPickupLocation(PointMapper.toPoint(rideRequestDto.getPickUpLocation()));
+        rideRequest.setDropOffLocation(PointMapper.toPoint(rideRequestDto.getDropOffLocation()));
+        rideRequest.setPaymentMethod(rideRequestDto.getPaymentMethod());
+        return rideRequest;
+    }
+
+    // A request has no ride status, driver or start/end times yet; those stay null.
+    public static RideRequestDto toRideRequestDto(RideRequest rideRequest) {
+        if (rideRequest == null) return null;
+        RideRequestDto rideRequestDto = new RideRequestDto();
+        rideRequestDto.setId(rideRequest.getId());
+        rideRequestDto.setPickUpLocation(PointMapper.toPointDto(rideRequest.getPickupLocation()));
+        rideRequestDto.setDropOffLocation(PointMapper.toPointDto(rideRequest.getDropOffLocation()));
+        rideRequestDto.setPaymentMethod(rideRequest.getPaymentMethod());
+        rideRequestDto.setCreatedTime(rideRequest.getRequestedTime());
+        rideRequestDto.setRider(rideRequest.getRider());
+        rideRequestDto.setFare(rideRequest.getFare());
+        return rideRequestDto;
+    }
+}
@@ -0,0 +1,12 @@
+package com.nikhil.project.uber.uberApp.mappers;
+
+import com.nikhil.project.uber.uberApp.dto.RiderDto;
+import com.nikhil.project.uber.uberApp.entities.Rider;
+
+public class RiderMapper {
+
+    public static RiderDto toRiderDto(Rider rider) {
+        if (rider == null) return null;
+        return new RiderDto(rider.getId(), UserMapper.toUserDto(rider.getUser()), rider.getRating());
+    }
+}
@@ -0,0 +1,38 @@
+package com.nikhil.project.uber.uberApp.mappers;
+
+import com.nikhil.project.uber.uberApp.dto.SignUpDto;
+import com.nikhil.project.uber.uberApp.dto.UserDto;
+import com.nikhil.project.uber.uberApp.entities.User;
+import com.nikhil.project.uber.uberApp.enums.Role;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class UserMapper {
+
+    // Never copies the password into a DTO. Reading the roles loads the lazy user_roles collection.
+    public static UserDto toUserDto(User user) {
+        if (user == null) return null;
+        return new UserDto(user.getName(), user.getEmail(), new HashSet<>(user.getRoles()));
+    }
+
+    // Takes the hash, never the raw password from the DTO (PasswordHashingService).
+    public static User toUser(SignUpDto signUpDto, String passwordHash) {
+        if (signUpDto == null) return null;
+        User user = new User();
+        user.setName(signUpDto.getName());
+        user.setEmail(signUpDto.getEmail());
+        user.setPassword(passwordHash);
+        return user;
+    }
+
+    // Roles as aggregated by SQL: "RIDER,DRIVER".
+    public static Set<Role> toRoles(String roles) {
+        Set<Role> result = new HashSet<>();
+        if (roles == null || roles.isEmpty()) return result;
+        for (String role : roles.split(",")) {
+            result.add(Role.valueOf(role));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.nikhil.project.uber.uberApp.mappers;
+
+import com.nikhil.project.uber.uberApp.dto.WalletDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
+import com.nikhil.project.uber.uberApp.entities.Wallet;
+import com.nikhil.project.uber.uberApp.entities.WalletTransaction;
+
+public class WalletMapper {
+
+    public static WalletDto toWalletDto(Wallet wallet) {
+        if (wallet == null) return null;
+        WalletDto walletDto = new WalletDto();
+        walletDto.setId(wallet.getId());
+        walletDto.setUser(UserMapper.toUserDto(wallet.getUser()));
+        walletDto.setBalance(wallet.getBalance());
+        return walletDto;
+    }
+
+    // Only the ride id: the lazy ride proxy answers getId() without a query.
+    public static WalletTransactionDto toWalletTransactionDto(WalletTransaction transaction) {
+        if (transaction == null) return null;
+        WalletTransactionDto transactionDto = new WalletTransactionDto();
+        transactionDto.setId(transaction.getId());
+        transactionDto.setAmount(transaction.getAmount());
+        transactionDto.setTransactionType(transaction.getTransactionType());
+        transactionDto.setTransactionMethod(transaction.getTransactionMethod());
+        transactionDto.setRideId(transaction.getRide() == null ? null : transaction.getRide().getId());
+        transactionDto.setTransactionId(transaction.getTransactionId());
+        transactionDto.setTimeStamp(transaction.getTimeStamp());
+        return transactionDto;
+    }
+}
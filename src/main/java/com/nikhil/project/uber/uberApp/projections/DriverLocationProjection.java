@@ -0,0 +1,10 @@
+package com.nikhil.project.uber.uberApp.projections;
+
+import org.locationtech.jts.geom.Point;
+
+public interface DriverLocationProjection {
+    Long getId();
+    Double getRating();
+    Boolean getAvailable();
+    Point getCurrentLocation();
+}
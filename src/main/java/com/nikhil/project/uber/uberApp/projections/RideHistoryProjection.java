@@ -0,0 +1,41 @@
+package com.nikhil.project.uber.uberApp.projections;
+
+import com.nikhil.project.uber.uberApp.enums.PaymentMethod;
+import com.nikhil.project.uber.uberApp.enums.RideStatus;
+
+import java.time.LocalDateTime;
+
+/*
+ * One row of ride history, flat, exactly as the history query returns it: coordinates already
+ * extracted with ST_X / ST_Y and the rider / driver users joined in. No entity is loaded.
+ *
+ * Roles come as a comma separated list (string_agg), the driver columns are null while a ride has no driver.
+ */
+public interface RideHistoryProjection {
+    Long getId();
+    Double getPickupLongitude();
+    Double getPickupLatitude();
+    Double getDropOffLongitude();
+    Double getDropOffLatitude();
+    LocalDateTime getCreatedTime();
+    PaymentMethod getPaymentMethod();
+    RideStatus getRideStatus();
+    String getOtp();
+    Double getFare();
+    LocalDateTime getStartedAt();
+    LocalDateTime getEndedAt();
+
+    Long getRiderId();
+    Double getRiderRating();
+    String getRiderName();
+    String getRiderEmail();
+    String getRiderRoles();
+
+    Long getDriverId();
+    Double getDriverRating();
+    Boolean getDriverAvailable();
+    String getDriverVehicleId();
+    String getDriverName();
+    String getDriverEmail();
+    String getDriverRoles();
+}
@@ -1,41 +1,103 @@
 package com.nikhil.project.uber.uberApp.repositories;
 
 import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.projections.DriverLocationProjection;
 import org.locationtech.jts.geom.Point;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface DriverRepository extends JpaRepository<Driver, Long> {
+public interface DriverRepository extends JpaRepository<Driver, Long>, DriverRepositoryCustom {
 
-    @Query(
-            value = """
-            SELECT d.*,
-            ST_Distance(d.current_location, :pickupLocation) As distance
+    @Query("SELECT d.id FROM Driver d WHERE d.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    /*
+     * current_location is a Geometry(Point, 4326), whose unit is degrees. Both queries cast it to
+     * geography so the radius is in meters, and match the partial GiST index
+     * idx_driver_available_location (see schema.sql), which covers only available drivers.
+     * `<->` on geography is an index-assisted KNN order, so Postgres stops after `limit` rows
+     * instead of sorting every driver in the radius.
+     */
+    String NEAREST_DRIVERS_QUERY = """
+            SELECT d.*
             FROM driver d
             WHERE d.available = true
-              AND ST_DWithin(d.current_location, :pickupLocation, 10000)
-            ORDER BY distance
-            LIMIT 10
-            """,
-            nativeQuery = true
-    )
-    List<Driver> findTenNearestDrivers(@Param("pickupLocation") Point pickupLocation);
-
-    @Query(
-            value = """
+              AND ST_DWithin(CAST(d.current_location AS geography), CAST(:pickupLocation AS geography), :radiusMeters)
+            ORDER BY CAST(d.current_location AS geography) <-> CAST(:pickupLocation AS geography)
+            LIMIT :limit
+            """;
+
+    String TOP_RATED_DRIVERS_QUERY = """
             SELECT d.*
             FROM driver d
             WHERE d.available = true
-              AND ST_DWithin(d.current_location, :pickupLocation, 15000)
+              AND ST_DWithin(CAST(d.current_location AS geography), CAST(:pickupLocation AS geography), :radiusMeters)
             ORDER BY d.rating DESC
-            LIMIT 10
-            """,
-            nativeQuery = true
-    )
-    List<Driver> findTenNearByTopRatedDrivers(@Param("pickupLocation") Point pickupLocation);
+            LIMIT :limit
+            """;
+
+    @Query(value = NEAREST_DRIVERS_QUERY, nativeQuery = true)
+    List<Driver> findNearestDrivers(@Param("pickupLocation") Point pickupLocation,
+                                    @Param("radiusMeters") double radiusMeters,
+                                    @Param("limit") int limit);
+
+    @Query(value = TOP_RATED_DRIVERS_QUERY, nativeQuery = true)
+    List<Driver> findNearByTopRatedDrivers(@Param("pickupLocation") Point pickupLocation,
+                                           @Param("radiusMeters") double radiusMeters,
+                                           @Param("limit") int limit);
+
+    @Query("""
+            SELECT d.id AS id, d.rating AS rating, d.available AS available, d.currentLocation AS currentLocation
+            FROM Driver d
+            WHERE d.currentLocation IS NOT NULL
+            """)
+    List<DriverLocationProjection> findAllDriverLocations();
+
+    // The first location ping of a driver the index does not hold yet (DriverIndexServiceInMemoryImpl).
+    @Query("""
+            SELECT d.id AS id, d.rating AS rating, d.available AS available, d.currentLocation AS currentLocation
+            FROM Driver d
+            WHERE d.id = :id
+            """)
+    Optional<DriverLocationProjection> findDriverLocationById(@Param("id") Long id);
+
+    /*
+     * O(1) rating update: count, sum and the average move together in one UPDATE, evaluated on
+     * the row's current values under its row lock, so concurrent ratings cannot lose each other.
+     * Clears the persistence context afterwards: a Driver loaded earlier would still hold the old
+     * counters and write them back on the next flush.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Driver d
+            SET d.ratingCount = d.ratingCount + 1,
+                d.ratingSum = d.ratingSum + :rating,
+                d.rating = (d.ratingSum + :rating) * 1.0 / (d.ratingCount + 1)
+            WHERE d.id = :id
+            """)
+    int addRating(@Param("id") Long id, @Param("rating") int rating);
+
+    // One-off: rebuilds the counters from the rating table (RatingCountersBackfillRunner).
+    @Modifying
+    @Query(value = """
+            UPDATE driver d
+            SET rating_count = s.rating_count,
+                rating_sum = s.rating_sum,
+                rating = CASE WHEN s.rating_count > 0
+                              THEN CAST(s.rating_sum AS DOUBLE PRECISION) / s.rating_count
+                              ELSE d.rating END
+            FROM (SELECT driver_id, COUNT(driver_rating) AS rating_count, COALESCE(SUM(driver_rating), 0) AS rating_sum
+                  FROM rating
+                  WHERE driver_id IS NOT NULL
+                  GROUP BY driver_id) s
+            WHERE d.id = s.driver_id
+            """, nativeQuery = true)
+    int backfillRatingCounters();
 }
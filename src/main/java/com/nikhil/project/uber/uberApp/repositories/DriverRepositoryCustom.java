@@ -0,0 +1,9 @@
+package com.nikhil.project.uber.uberApp.repositories;
+
+import com.nikhil.project.uber.uberApp.dto.DriverLocationUpdate;
+
+import java.util.List;
+
+public interface DriverRepositoryCustom {
+    int[][] batchUpdateLocations(List<DriverLocationUpdate> locationUpdates, int batchSize);
+}
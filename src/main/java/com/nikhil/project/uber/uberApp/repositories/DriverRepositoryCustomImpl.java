@@ -0,0 +1,32 @@
+package com.nikhil.project.uber.uberApp.repositories;
+
+import com.nikhil.project.uber.uberApp.dto.DriverLocationUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/*
+ * Plain JDBC on purpose: one prepared statement executed as a JDBC batch, without loading
+ * the Driver entities into a persistence context first.
+ */
+@RequiredArgsConstructor
+public class DriverRepositoryCustomImpl implements DriverRepositoryCustom {
+
+    private static final String UPDATE_LOCATION_SQL = """
+            UPDATE driver
+            SET current_location = ST_SetSRID(ST_MakePoint(?, ?), 4326)
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[][] batchUpdateLocations(List<DriverLocationUpdate> locationUpdates, int batchSize) {
+        return jdbcTemplate.batchUpdate(UPDATE_LOCATION_SQL, locationUpdates, batchSize, (ps, update) -> {
+            ps.setDouble(1, update.longitude());
+            ps.setDouble(2, update.latitude());
+            ps.setLong(3, update.driverId());
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.nikhil.project.uber.uberApp.repositories;
+
+import com.nikhil.project.uber.uberApp.entities.PaymentSettlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface PaymentSettlementRepository extends JpaRepository<PaymentSettlement,Long> {
+
+    /*
+     * Claims the oldest due settlement for the current transaction. SKIP LOCKED makes
+     * concurrent workers pass over rows another worker already holds instead of queueing
+     * behind its lock, so each worker gets a different row.
+     */
+    @Query(value = """
+            SELECT * FROM payment_settlement
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    Optional<PaymentSettlement> claimNextDue(@Param("now") LocalDateTime now);
+}
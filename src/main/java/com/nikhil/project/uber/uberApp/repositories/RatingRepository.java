@@ -1,17 +1,26 @@
 package com.nikhil.project.uber.uberApp.repositories;
 
-import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.Rating;
 import com.nikhil.project.uber.uberApp.entities.Ride;
-import com.nikhil.project.uber.uberApp.entities.Rider;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface RatingRepository extends JpaRepository<Rating, Long> {
-    List<Rating> findByRider(Rider rider);
-    List<Rating> findByDriver(Driver driver);
 
     Optional<Rating> findByRide(Ride ride);
+
+    boolean existsByRide(Ride ride);
+
+    // Sets the rating only if it has not been given yet; 0 rows = no rating row or already rated.
+    @Modifying
+    @Query("UPDATE Rating r SET r.driverRating = :rating WHERE r.ride = :ride AND r.driverRating IS NULL")
+    int setDriverRatingIfAbsent(@Param("ride") Ride ride, @Param("rating") Integer rating);
+
+    @Modifying
+    @Query("UPDATE Rating r SET r.riderRating = :rating WHERE r.ride = :ride AND r.riderRating IS NULL")
+    int setRiderRatingIfAbsent(@Param("ride") Ride ride, @Param("rating") Integer rating);
 }
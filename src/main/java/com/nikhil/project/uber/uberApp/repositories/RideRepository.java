@@ -1,15 +1,89 @@
 package com.nikhil.project.uber.uberApp.repositories;
 
-import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.Ride;
-import com.nikhil.project.uber.uberApp.entities.Rider;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.nikhil.project.uber.uberApp.projections.RideHistoryProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface RideRepository extends JpaRepository<Ride,Long> {
-    Page<Ride> findByRider(Rider rider, Pageable pageRequest);
-    Page<Ride> findByDriver(Driver driver, Pageable pageRequest);
+
+    /*
+     * Ride history, newest first, by keyset on (created_time, id): a page starts right after the
+     * last ride of the previous one. Served by the (rider_id | driver_id, created_time DESC, id DESC)
+     * indexes as a plain index range scan, so page 100 costs the same as page 1, and no count(*) runs.
+     *
+     * Read-only, so it selects the columns the response needs instead of Ride entities: one statement
+     * per page (users and roles are joined in, nothing lazy is left to load), no entities in the
+     * persistence context, no dirty checking, and the points arrive as plain doubles.
+     */
+    String RIDE_HISTORY_SELECT = """
+            SELECT r.id AS id,
+                   ST_X(r.pickup_location) AS pickupLongitude,
+                   ST_Y(r.pickup_location) AS pickupLatitude,
+                   ST_X(r.drop_off_location) AS dropOffLongitude,
+                   ST_Y(r.drop_off_location) AS dropOffLatitude,
+                   r.created_time AS createdTime,
+                   r.payment_method AS paymentMethod,
+                   r.ride_status AS rideStatus,
+                   r.otp AS otp,
+                   r.fare AS fare,
+                   r.started_at AS startedAt,
+                   r.ended_at AS endedAt,
+                   rd.id AS riderId,
+                   rd.rating AS riderRating,
+                   ru.name AS riderName,
+                   ru.email AS riderEmail,
+                   (SELECT string_agg(ur.roles, ',') FROM user_roles ur WHERE ur.user_id = ru.id) AS riderRoles,
+                   d.id AS driverId,
+                   d.rating AS driverRating,
+                   d.available AS driverAvailable,
+                   d.vehicle_id AS driverVehicleId,
+                   du.name AS driverName,
+                   du.email AS driverEmail,
+                   (SELECT string_agg(ur.roles, ',') FROM user_roles ur WHERE ur.user_id = du.id) AS driverRoles
+            FROM ride r
+            JOIN rider rd ON rd.id = r.rider_id
+            JOIN users ru ON ru.id = rd.user_id
+            LEFT JOIN driver d ON d.id = r.driver_id
+            LEFT JOIN users du ON du.id = d.user_id
+            """;
+
+    // A row comparison, not "a < x OR (a = x AND b < y)": only this form becomes an index condition,
+    // the OR form would scan from the newest ride and filter out everything above the cursor.
+    String BEFORE_CURSOR = """
+              AND (r.created_time, r.id) < (:beforeTime, :beforeId)
+            """;
+
+    String NEWEST_FIRST = """
+            ORDER BY r.created_time DESC, r.id DESC
+            LIMIT :limit
+            """;
+
+    @Query(value = RIDE_HISTORY_SELECT + "WHERE r.rider_id = :riderId\n" + NEWEST_FIRST, nativeQuery = true)
+    List<RideHistoryProjection> findLatestByRiderId(@Param("riderId") Long riderId,
+                                                    @Param("limit") int limit);
+
+    @Query(value = RIDE_HISTORY_SELECT + "WHERE r.rider_id = :riderId\n" + BEFORE_CURSOR + NEWEST_FIRST,
+            nativeQuery = true)
+    List<RideHistoryProjection> findByRiderIdBefore(@Param("riderId") Long riderId,
+                                                    @Param("beforeTime") LocalDateTime beforeTime,
+                                                    @Param("beforeId") Long beforeId,
+                                                    @Param("limit") int limit);
+
+    @Query(value = RIDE_HISTORY_SELECT + "WHERE r.driver_id = :driverId\n" + NEWEST_FIRST, nativeQuery = true)
+    List<RideHistoryProjection> findLatestByDriverId(@Param("driverId") Long driverId,
+                                                     @Param("limit") int limit);
+
+    @Query(value = RIDE_HISTORY_SELECT + "WHERE r.driver_id = :driverId\n" + BEFORE_CURSOR + NEWEST_FIRST,
+            nativeQuery = true)
+    List<RideHistoryProjection> findByDriverIdBefore(@Param("driverId") Long driverId,
+                                                     @Param("beforeTime") LocalDateTime beforeTime,
+                                                     @Param("beforeId") Long beforeId,
+                                                     @Param("limit") int limit);
 }
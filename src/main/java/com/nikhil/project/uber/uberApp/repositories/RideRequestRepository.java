@@ -1,9 +1,17 @@
 package com.nikhil.project.uber.uberApp.repositories;
 
 import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface RideRequestRepository extends JpaRepository<RideRequest,Long> {
+
+    @Query("SELECT r.rideRequestStatus FROM RideRequest r WHERE r.id = :rideRequestId")
+    Optional<RideRequestStatus> findRideRequestStatusById(@Param("rideRequestId") Long rideRequestId);
 }
@@ -2,8 +2,44 @@ package com.nikhil.project.uber.uberApp.repositories;
 
 import com.nikhil.project.uber.uberApp.entities.Rider;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface RiderRepository extends JpaRepository<Rider,Long> {
+
+    @Query("SELECT r.id FROM Rider r WHERE r.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    // Same as DriverRepository.addRating, see there.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Rider r
+            SET r.ratingCount = r.ratingCount + 1,
+                r.ratingSum = r.ratingSum + :rating,
+                r.rating = (r.ratingSum + :rating) * 1.0 / (r.ratingCount + 1)
+            WHERE r.id = :id
+            """)
+    int addRating(@Param("id") Long id, @Param("rating") int rating);
+
+    // One-off: rebuilds the counters from the rating table (RatingCountersBackfillRunner).
+    @Modifying
+    @Query(value = """
+            UPDATE rider r
+            SET rating_count = s.rating_count,
+                rating_sum = s.rating_sum,
+                rating = CASE WHEN s.rating_count > 0
+                              THEN CAST(s.rating_sum AS DOUBLE PRECISION) / s.rating_count
+                              ELSE r.rating END
+            FROM (SELECT rider_id, COUNT(rider_rating) AS rating_count, COALESCE(SUM(rider_rating), 0) AS rating_sum
+                  FROM rating
+                  WHERE rider_id IS NOT NULL
+                  GROUP BY rider_id) s
+            WHERE r.id = s.rider_id
+            """, nativeQuery = true)
+    int backfillRatingCounters();
 }
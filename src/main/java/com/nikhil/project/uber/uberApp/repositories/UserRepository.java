@@ -1,12 +1,32 @@
 package com.nikhil.project.uber.uberApp.repositories;
 
 import com.nikhil.project.uber.uberApp.entities.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User,Long> {
     Optional<User> findByEmail(String email);
+
+    // With the roles, so they can be read after the lookup's transaction has ended (login).
+    @EntityGraph(attributePaths = "roles")
+    Optional<User> findWithRolesByEmail(String email);
+
+    // Passwords still stored as plain text, from before signup hashed them (AuthServiceImpl.backfillPasswordHashes).
+    @Query("SELECT u FROM User u WHERE u.password NOT LIKE '{bcrypt}%'")
+    List<User> findAllWithUnhashedPassword();
+
+    // Replaces an outdated password hash (AuthServiceImpl.login, backfillPasswordHashes).
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -3,6 +3,9 @@ package com.nikhil.project.uber.uberApp.repositories;
 import com.nikhil.project.uber.uberApp.entities.User;
 import com.nikhil.project.uber.uberApp.entities.Wallet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +13,56 @@ import java.util.Optional;
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet,Long> {
     Optional<Wallet> findByUser(User user);
+
+    /*
+     * Balance change and ledger row in ONE statement: the UPDATE locks the wallet row and
+     * adds to the balance in the database (no read-modify-write in Java), and the INSERT takes
+     * the wallet id from the updated row. Either both happen or neither, so the ledger can never
+     * drift from the balance, however many nodes pay into the same wallet.
+     *
+     * With checkBalance the UPDATE only matches while the new balance stays >= 0, so concurrent
+     * debits cannot overdraw the wallet: the row lock serializes them and each one re-checks the
+     * balance it is about to change.
+     *
+     * Returns the number of ledger rows written: 0 means the user has no wallet, or (checkBalance)
+     * the balance is too low.
+     */
+    String APPLY_TRANSACTION_QUERY = """
+            WITH updated_wallet AS (
+                UPDATE wallet
+                SET balance = balance + CAST(:balanceChange AS DOUBLE PRECISION)
+                WHERE user_id = :userId
+                  AND (NOT CAST(:checkBalance AS BOOLEAN)
+                       OR balance + CAST(:balanceChange AS DOUBLE PRECISION) >= 0)
+                RETURNING id
+            )
+            INSERT INTO wallet_transaction
+                (amount, transaction_type, transaction_method, ride_id, transaction_id, wallet_id, time_stamp)
+            SELECT CAST(:amount AS DOUBLE PRECISION),
+                   CAST(:transactionType AS VARCHAR),
+                   CAST(:transactionMethod AS VARCHAR),
+                   CAST(:rideId AS BIGINT),
+                   CAST(:transactionId AS VARCHAR),
+                   updated_wallet.id,
+                   LOCALTIMESTAMP
+            FROM updated_wallet
+            """;
+
+    // Wallet entities already loaded in the same persistence context keep their old balance.
+    @Modifying
+    @Query(value = APPLY_TRANSACTION_QUERY, nativeQuery = true)
+    int applyTransaction(@Param("userId") Long userId,
+                         @Param("balanceChange") double balanceChange,
+                         @Param("amount") double amount,
+                         @Param("transactionType") String transactionType,
+                         @Param("transactionMethod") String transactionMethod,
+                         @Param("rideId") Long rideId,
+                         @Param("transactionId") String transactionId,
+                         @Param("checkBalance") boolean checkBalance);
+
+    boolean existsByUserId(Long userId);
+
+    // Wallet history filters on wallet_id, the leading column of its index (WalletTransactionServiceImpl).
+    @Query("SELECT w.id FROM Wallet w WHERE w.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
 }
@@ -1,9 +1,43 @@
 package com.nikhil.project.uber.uberApp.repositories;
 
 import com.nikhil.project.uber.uberApp.entities.WalletTransaction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface WalletTransactionRepository extends JpaRepository<WalletTransaction,Long> {
+
+    /*
+     * Wallet history, newest first, by keyset instead of OFFSET: the next page starts strictly
+     * after the last (timeStamp, id) the client has seen, so page 500 is read off the
+     * (wallet_id, time_stamp DESC, id DESC) index just like page 1. The id breaks ties between
+     * transactions written in the same microsecond.
+     *
+     * Filters on the wallet id itself, the index's leading column, and compares the cursor as a
+     * row: the "a < x OR (a = x AND b < y)" form is only a filter, and a deep page would scan
+     * every newer transaction first.
+     */
+    @Query("""
+            SELECT t FROM WalletTransaction t
+            WHERE t.wallet.id = :walletId
+            ORDER BY t.timeStamp DESC, t.id DESC
+            """)
+    List<WalletTransaction> findLatestByWalletId(@Param("walletId") Long walletId, Limit limit);
+
+    @Query("""
+            SELECT t FROM WalletTransaction t
+            WHERE t.wallet.id = :walletId
+              AND (t.timeStamp, t.id) < (:beforeTime, :beforeId)
+            ORDER BY t.timeStamp DESC, t.id DESC
+            """)
+    List<WalletTransaction> findByWalletIdBefore(@Param("walletId") Long walletId,
+                                                 @Param("beforeTime") LocalDateTime beforeTime,
+                                                 @Param("beforeId") Long beforeId,
+                                                 Limit limit);
 }
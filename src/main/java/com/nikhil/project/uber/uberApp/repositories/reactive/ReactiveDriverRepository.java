@@ -0,0 +1,60 @@
+package com.nikhil.project.uber.uberApp.repositories.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Point;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/*
+ * Same matching queries as DriverRepository (geography casts, partial GiST index on available
+ * drivers, KNN order for the nearest drivers), returning only the ids that dispatch needs.
+ * R2DBC has no codec for PostGIS geometries, so the pickup point is built in SQL from its coordinates.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveDriverRepository {
+
+    private static final String PICKUP = "CAST(ST_SetSRID(ST_MakePoint(:longitude, :latitude), 4326) AS geography)";
+
+    private static final String NEAREST_DRIVER_IDS = """
+            SELECT d.id
+            FROM driver d
+            WHERE d.available = true
+              AND ST_DWithin(CAST(d.current_location AS geography), %1$s, :radiusMeters)
+            ORDER BY CAST(d.current_location AS geography) <-> %1$s
+            LIMIT :limit
+            """.formatted(PICKUP);
+
+    private static final String TOP_RATED_DRIVER_IDS = """
+            SELECT d.id
+            FROM driver d
+            WHERE d.available = true
+              AND ST_DWithin(CAST(d.current_location AS geography), %1$s, :radiusMeters)
+            ORDER BY d.rating DESC
+            LIMIT :limit
+            """.formatted(PICKUP);
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    public Mono<List<Long>> findNearestDriverIds(Point pickupLocation, double radiusMeters, int limit) {
+        return findDriverIds(NEAREST_DRIVER_IDS, pickupLocation, radiusMeters, limit);
+    }
+
+    public Mono<List<Long>> findNearByTopRatedDriverIds(Point pickupLocation, double radiusMeters, int limit) {
+        return findDriverIds(TOP_RATED_DRIVER_IDS, pickupLocation, radiusMeters, limit);
+    }
+
+    private Mono<List<Long>> findDriverIds(String sql, Point pickupLocation, double radiusMeters, int limit) {
+        return reactiveDatabaseClient.sql(sql)
+                .bind("longitude", pickupLocation.getX())
+                .bind("latitude", pickupLocation.getY())
+                .bind("radiusMeters", radiusMeters)
+                .bind("limit", limit)
+                .map(row -> row.get("id", Long.class))
+                .all()
+                .collectList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.nikhil.project.uber.uberApp.repositories.reactive;
+
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRideRequestRepository {
+
+    /*
+     * Ids come from the sequence Hibernate uses for RideRequest. Hibernate reserves blocks of 50
+     * ending at the value it fetched, so a value taken here directly is never handed out by Hibernate.
+     */
+    private static final String INSERT = """
+            INSERT INTO ride_request (id, pickup_location, drop_off_location, requested_time, rider_id,
+                                      payment_method, ride_request_status, fare)
+            VALUES (nextval('ride_request_seq'),
+                    ST_SetSRID(ST_MakePoint(:pickupLongitude, :pickupLatitude), 4326),
+                    ST_SetSRID(ST_MakePoint(:dropOffLongitude, :dropOffLatitude), 4326),
+                    :requestedTime, :riderId, :paymentMethod, :rideRequestStatus, :fare)
+            RETURNING id
+            """;
+
+    private final DatabaseClient reactiveDatabaseClient;
+    private final Clock clock;
+
+    // Sets the generated id and the requested time on the given ride request and emits it.
+    public Mono<RideRequest> insert(RideRequest rideRequest) {
+        LocalDateTime requestedTime = LocalDateTime.now(clock);
+        DatabaseClient.GenericExecuteSpec spec = reactiveDatabaseClient.sql(INSERT)
+                .bind("pickupLongitude", rideRequest.getPickupLocation().getX())
+                .bind("pickupLatitude", rideRequest.getPickupLocation().getY())
+                .bind("dropOffLongitude", rideRequest.getDropOffLocation().getX())
+                .bind("dropOffLatitude", rideRequest.getDropOffLocation().getY())
+                .bind("requestedTime", requestedTime)
+                .bind("riderId", rideRequest.getRider().getId())
+                .bind("rideRequestStatus", rideRequest.getRideRequestStatus().name())
+                .bind("fare", rideRequest.getFare());
+        spec = rideRequest.getPaymentMethod() == null
+                ? spec.bindNull("paymentMethod", String.class)
+                : spec.bind("paymentMethod", rideRequest.getPaymentMethod().name());
+
+        return spec.map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    rideRequest.setId(id);
+                    rideRequest.setRequestedTime(requestedTime);
+                    return rideRequest;
+                });
+    }
+}
@@ -0,0 +1,45 @@
+package com.nikhil.project.uber.uberApp.repositories.reactive;
+
+import com.nikhil.project.uber.uberApp.entities.Rider;
+import com.nikhil.project.uber.uberApp.entities.User;
+import com.nikhil.project.uber.uberApp.mappers.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveRiderRepository {
+
+    // The rider with its user and roles in one statement; the password is never selected.
+    private static final String FIND_BY_ID = """
+            SELECT r.id, r.rating, u.id AS user_id, u.name, u.email,
+                   (SELECT string_agg(ur.roles, ',') FROM user_roles ur WHERE ur.user_id = u.id) AS roles
+            FROM rider r
+            JOIN users u ON u.id = r.user_id
+            WHERE r.id = :riderId
+            """;
+
+    private final DatabaseClient reactiveDatabaseClient;
+
+    // Detached Rider / User objects, only for building the response.
+    public Mono<Rider> findById(Long riderId) {
+        return reactiveDatabaseClient.sql(FIND_BY_ID)
+                .bind("riderId", riderId)
+                .map(row -> {
+                    User user = new User();
+                    user.setId(row.get("user_id", Long.class));
+                    user.setName(row.get("name", String.class));
+                    user.setEmail(row.get("email", String.class));
+                    user.setRoles(UserMapper.toRoles(row.get("roles", String.class)));
+
+                    Rider rider = new Rider();
+                    rider.setId(row.get("id", Long.class));
+                    rider.setRating(row.get("rating", Double.class));
+                    rider.setUser(user);
+                    return rider;
+                })
+                .one();
+    }
+}
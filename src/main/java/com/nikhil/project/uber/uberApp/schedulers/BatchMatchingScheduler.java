@@ -0,0 +1,20 @@
+package com.nikhil.project.uber.uberApp.schedulers;
+
+import com.nikhil.project.uber.uberApp.services.BatchMatchingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "uber.matching.batch.enabled", havingValue = "true")
+public class BatchMatchingScheduler {
+
+    private final BatchMatchingService batchMatchingService;
+
+    @Scheduled(fixedDelayString = "${uber.matching.batch.window-ms:2000}")
+    public void runMatchingRound() {
+        batchMatchingService.runMatchingRound();
+    }
+}
@@ -0,0 +1,25 @@
+package com.nikhil.project.uber.uberApp.schedulers;
+
+import com.nikhil.project.uber.uberApp.services.DriverLocationService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class DriverLocationFlushScheduler {
+
+    private final DriverLocationService driverLocationService;
+
+    @Scheduled(fixedDelayString = "${uber.driver-location.flush-interval-ms:1000}")
+    public void flushDriverLocations() {
+        driverLocationService.flushPendingLocations();
+    }
+
+    // Write whatever is still buffered before the application context goes away.
+    @PreDestroy
+    public void flushOnShutdown() {
+        driverLocationService.flushPendingLocations();
+    }
+}
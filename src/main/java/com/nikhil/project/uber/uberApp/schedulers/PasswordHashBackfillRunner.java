@@ -0,0 +1,25 @@
+package com.nikhil.project.uber.uberApp.schedulers;
+
+import com.nikhil.project.uber.uberApp.services.AuthService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+ * One-off job: hashes passwords stored as plain text before signup hashed them. Those users
+ * cannot log in until this has run. Enable it for a single start, then switch it off again.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "uber.auth.password.backfill-on-startup", havingValue = "true")
+public class PasswordHashBackfillRunner implements ApplicationRunner {
+
+    private final AuthService authService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        authService.backfillPasswordHashes();
+    }
+}
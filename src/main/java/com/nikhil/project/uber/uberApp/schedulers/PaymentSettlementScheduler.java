@@ -0,0 +1,20 @@
+package com.nikhil.project.uber.uberApp.schedulers;
+
+import com.nikhil.project.uber.uberApp.services.PaymentSettlementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentSettlementScheduler {
+
+    private final PaymentSettlementService paymentSettlementService;
+
+    // New settlements wake the workers right after commit; the poll picks up retries and
+    // rows written by other instances.
+    @Scheduled(fixedDelayString = "${uber.payment.settlement.poll-interval-ms:1000}")
+    public void startSettlementWorkers() {
+        paymentSettlementService.startWorkers();
+    }
+}
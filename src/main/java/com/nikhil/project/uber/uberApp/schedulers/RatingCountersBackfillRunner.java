@@ -0,0 +1,26 @@
+package com.nikhil.project.uber.uberApp.schedulers;
+
+import com.nikhil.project.uber.uberApp.services.RatingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/*
+ * One-off job: rebuilds Driver/Rider ratingCount and ratingSum from the rating table, for data
+ * that existed before the counters. Enable it for a single start, while no ratings are coming in
+ * (a rating committed during the rebuild can be missed), then switch it off again.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "uber.rating.backfill-on-startup", havingValue = "true")
+public class RatingCountersBackfillRunner implements ApplicationRunner {
+
+    private final RatingService ratingService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        ratingService.backfillRatingCounters();
+    }
+}
@@ -0,0 +1,19 @@
+package com.nikhil.project.uber.uberApp.schedulers;
+
+import com.nikhil.project.uber.uberApp.services.DriverNotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RideOfferPurgeScheduler {
+
+    private final DriverNotificationService driverNotificationService;
+
+    // Drivers that stopped polling would otherwise keep their expired offers.
+    @Scheduled(fixedDelayString = "${uber.dispatch.offers.purge-interval-ms:30000}")
+    public void purgeExpiredOffers() {
+        driverNotificationService.purgeExpiredOffers();
+    }
+}
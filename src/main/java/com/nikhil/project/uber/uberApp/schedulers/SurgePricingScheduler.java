@@ -0,0 +1,18 @@
+package com.nikhil.project.uber.uberApp.schedulers;
+
+import com.nikhil.project.uber.uberApp.services.SurgePricingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SurgePricingScheduler {
+
+    private final SurgePricingService surgePricingService;
+
+    @Scheduled(fixedDelayString = "${uber.surge.recompute-interval-ms:10000}")
+    public void recomputeSurgeMultipliers() {
+        surgePricingService.recomputeSurgeMultipliers();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nikhil.project.uber.uberApp.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nikhil.project.uber.uberApp.advices.ApiError;
+import com.nikhil.project.uber.uberApp.advices.ApiResponse;
+import com.nikhil.project.uber.uberApp.services.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Requires "Authorization: Bearer <access token>" and puts the caller into CurrentUserContext.
+ * Verification is an HMAC check on the token, no database access. Registered for the rider and
+ * driver endpoints only, see AuthConfig.
+ *
+ * Runs before the DispatcherServlet, so it answers 401 itself, in the usual ApiResponse format.
+ */
+@RequiredArgsConstructor
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final JwtService jwtService;
+    private final CurrentUserContext currentUserContext;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            unauthorized(response, "Missing bearer token");
+            return;
+        }
+
+        Optional<AuthenticatedUser> user = jwtService.parseToken(header.substring(BEARER.length()).trim());
+        if (user.isEmpty()) {
+            unauthorized(response, "Invalid or expired access token");
+            return;
+        }
+
+        currentUserContext.authenticate(user.get());
+        chain.doFilter(request, response);
+    }
+
+    private void unauthorized(HttpServletResponse response, String message) throws IOException {
+        ApiError apiError = ApiError.builder()
+                .httpStatus(HttpStatus.UNAUTHORIZED)
+                .message(message)
+                .subErrors(List.of("Log in via POST /auth/login and send the token as Authorization: Bearer <token>"))
+                .build();
+
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(apiError));
+    }
+}
@@ -0,0 +1,12 @@
+package com.nikhil.project.uber.uberApp.security;
+
+import com.nikhil.project.uber.uberApp.enums.Role;
+
+import java.util.Set;
+
+/*
+ * Who is calling, as carried by the access token. riderId / driverId are null when the user
+ * has no rider / driver profile (yet): onboarding as a driver needs a new login.
+ */
+public record AuthenticatedUser(Long userId, Set<Role> roles, Long riderId, Long driverId) {
+}
@@ -0,0 +1,57 @@
+package com.nikhil.project.uber.uberApp.security;
+
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.entities.Rider;
+import com.nikhil.project.uber.uberApp.exceptions.AccessDeniedException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.function.Supplier;
+
+/*
+ * The caller of the current HTTP request: set by AuthTokenFilter from the access token, read by the
+ * services instead of looking the user up. The Rider / Driver entity is loaded at most once per
+ * request, the first time a service asks for it.
+ *
+ * Request scoped, so it only works on the request thread: read the ids before handing work to
+ * other threads (see RiderServiceImpl.requestRide).
+ */
+@Component
+@RequestScope
+public class CurrentUserContext {
+
+    private AuthenticatedUser user;
+    private Rider rider;
+    private Driver driver;
+
+    public void authenticate(AuthenticatedUser user) {
+        this.user = user;
+    }
+
+    public AuthenticatedUser getUser() {
+        if (user == null) throw new IllegalStateException("Request is not authenticated");
+        return user;
+    }
+
+    public Long getRiderId() {
+        Long riderId = getUser().riderId();
+        if (riderId == null) throw new AccessDeniedException("User " + user.userId() + " is not a rider");
+        return riderId;
+    }
+
+    public Long getDriverId() {
+        Long driverId = getUser().driverId();
+        if (driverId == null) throw new AccessDeniedException("User " + user.userId() + " is not a driver");
+        return driverId;
+    }
+
+    public Rider getRider(Supplier<Rider> loader) {
+        if (rider == null) rider = loader.get();
+        return rider;
+    }
+
+    public Driver getDriver(Supplier<Driver> loader) {
+        if (driver == null) driver = loader.get();
+        return driver;
+    }
+}
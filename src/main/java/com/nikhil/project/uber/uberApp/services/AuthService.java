@@ -1,11 +1,13 @@
 package com.nikhil.project.uber.uberApp.services;
 
 import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.LoginResponseDto;
 import com.nikhil.project.uber.uberApp.dto.SignUpDto;
 import com.nikhil.project.uber.uberApp.dto.UserDto;
 
 public interface AuthService {
-    String login(String email,String password);
+    LoginResponseDto login(String email, String password);
     UserDto signUp(SignUpDto signUpDto);
     DriverDto onboardNewDriver(Long userId, String vehicleId);
+    void backfillPasswordHashes();
 }
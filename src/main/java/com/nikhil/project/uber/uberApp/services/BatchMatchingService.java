@@ -0,0 +1,9 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+
+public interface BatchMatchingService {
+    void enqueueRideRequest(RideRequest rideRequest);
+    int runMatchingRound();
+    int getPendingRideRequestCount();
+}
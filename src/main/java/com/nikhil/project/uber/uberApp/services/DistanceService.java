@@ -2,6 +2,35 @@ package com.nikhil.project.uber.uberApp.services;
 
 import org.locationtech.jts.geom.Point;
 
+import java.util.List;
+
 public interface DistanceService {
+
+    /*
+     * Road distance in km. Implementations may answer with an estimate when the routing
+     * backend is unavailable, so a fare can always be quoted.
+     */
     double calculateDistance(Point src, Point dest);
+
+    /*
+     * Same as calculateDistance but never an estimate: throws DistanceCalculationException instead.
+     * For callers that keep the result (e.g. caches), where an estimate would outlive the outage.
+     */
+    default double calculateExactDistance(Point src, Point dest) {
+        return calculateDistance(src, dest);
+    }
+
+    /*
+     * Road distances in km from every source to every destination: result[i][j] is sources[i] -> destinations[j],
+     * Double.POSITIVE_INFINITY where there is no route. Lets e.g. all candidate drivers be ranked in one call.
+     */
+    default double[][] calculateDistanceMatrix(List<Point> sources, List<Point> destinations) {
+        double[][] distances = new double[sources.size()][destinations.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            for (int j = 0; j < destinations.size(); j++) {
+                distances[i][j] = calculateDistance(sources.get(i), destinations.get(j));
+            }
+        }
+        return distances;
+    }
 }
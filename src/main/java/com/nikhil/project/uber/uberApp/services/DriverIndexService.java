@@ -0,0 +1,17 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import org.locationtech.jts.geom.Point;
+
+import java.util.List;
+import java.util.Map;
+
+public interface DriverIndexService {
+    void upsertDriver(Driver driver);
+    void updateDriverLocation(Long driverId, double longitude, double latitude);
+    void removeDriver(Long driverId);
+    List<Long> findNearestDriverIds(Point location, int limit, double radiusKm);
+    List<Long> findTopRatedDriverIds(Point location, int limit, double radiusKm);
+    Point getDriverLocation(Long driverId);
+    Map<Long, Integer> countAvailableDriversByCell(double cellSizeDegrees);
+}
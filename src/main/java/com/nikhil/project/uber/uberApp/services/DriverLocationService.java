@@ -0,0 +1,7 @@
+package com.nikhil.project.uber.uberApp.services;
+
+public interface DriverLocationService {
+    void recordLocation(Long driverId, double longitude, double latitude);
+    int flushPendingLocations();
+    int getPendingLocationCount();
+}
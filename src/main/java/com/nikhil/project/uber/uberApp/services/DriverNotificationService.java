@@ -0,0 +1,15 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.dto.RideOfferDto;
+
+import java.util.List;
+
+public interface DriverNotificationService {
+    void sendRideOffer(RideOfferDto rideOffer);
+
+    // The driver's offers that have not expired yet; each offer is handed out once.
+    List<RideOfferDto> drainRideOffers(Long driverId);
+
+    // Drops expired offers of every driver, returns how many.
+    int purgeExpiredOffers();
+}
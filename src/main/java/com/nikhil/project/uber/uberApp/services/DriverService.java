@@ -1,11 +1,16 @@
 package com.nikhil.project.uber.uberApp.services;
 
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
 import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.PointDto;
 import com.nikhil.project.uber.uberApp.dto.RideDto;
+import com.nikhil.project.uber.uberApp.dto.RideOfferDto;
 import com.nikhil.project.uber.uberApp.dto.RiderDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
 import com.nikhil.project.uber.uberApp.entities.Driver;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface DriverService {
     RideDto acceptRide(Long rideRequestId);
@@ -14,8 +19,12 @@ public interface DriverService {
     RideDto endRide(Long rideId);
     RiderDto rateRider(Long rideId,Integer rating);
     DriverDto getMyProfile();
-    Page<RideDto> getAllMyRides(PageRequest pageRequest);
+    CursorSliceDto<RideDto> getAllMyRides(LocalDateTime beforeTime, Long beforeId, Integer size);
+    CursorSliceDto<WalletTransactionDto> getMyWalletTransactions(LocalDateTime beforeTime, Long beforeId, Integer size);
     Driver getCurrentDriver();
+    Long getCurrentDriverId();
+    void updateCurrentLocation(PointDto location);
+    List<RideOfferDto> getMyRideOffers();
     Driver updateDriverAvailability(Driver driver, boolean available);
     Driver createNewDriver(Driver driver);
 }
@@ -0,0 +1,13 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.dto.FareQuoteDto;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+
+import java.util.Optional;
+
+public interface FareQuoteService {
+    FareQuoteDto createQuote(RideRequest rideRequest);
+
+    // The quoted fare for this rider and trip, at most once per quote: a redeemed quote is gone.
+    Optional<Double> redeemQuotedFare(String quoteToken, RideRequest rideRequest);
+}
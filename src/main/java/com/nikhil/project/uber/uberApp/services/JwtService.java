@@ -0,0 +1,12 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.security.AuthenticatedUser;
+
+import java.util.Optional;
+
+public interface JwtService {
+    String generateToken(AuthenticatedUser user);
+
+    // Empty for a malformed, forged or expired token. Never touches the database.
+    Optional<AuthenticatedUser> parseToken(String token);
+}
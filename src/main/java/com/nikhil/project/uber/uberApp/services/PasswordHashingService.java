@@ -0,0 +1,15 @@
+package com.nikhil.project.uber.uberApp.services;
+
+public interface PasswordHashingService {
+    // "{bcrypt}$2a$10$...": the algorithm and work factor travel with the hash.
+    String hash(String rawPassword);
+
+    // False for a null or non-bcrypt stored value, after doing the same work as a real check.
+    boolean matches(String rawPassword, String storedHash);
+
+    // True for hashes made with another algorithm or a lower work factor than configured.
+    boolean needsRehash(String storedHash);
+
+    // False for anything but a "{bcrypt}" hash, e.g. a password stored as plain text.
+    boolean isHashed(String storedValue);
+}
@@ -0,0 +1,9 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.entities.Ride;
+
+public interface PaymentSettlementService {
+    void enqueueSettlement(Ride ride);
+    void startWorkers();
+    boolean settleNextPayment();
+}
@@ -11,4 +11,6 @@ public interface RatingService {
     RiderDto rateRider(Ride ride, Integer rating);
 
     void createNewRating(Ride ride);
+
+    void backfillRatingCounters();
 }
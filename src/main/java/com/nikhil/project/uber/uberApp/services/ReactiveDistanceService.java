@@ -0,0 +1,13 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import org.locationtech.jts.geom.Point;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveDistanceService {
+
+    /*
+     * Road distance in km, like DistanceService.calculateDistance, without holding a thread while
+     * the routing backend answers. Falls back to an estimate instead of failing.
+     */
+    Mono<Double> calculateDistance(Point src, Point dest);
+}
@@ -0,0 +1,9 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRiderService {
+
+    Mono<RideRequestDto> requestRide(RideRequestDto rideRequestDto);
+}
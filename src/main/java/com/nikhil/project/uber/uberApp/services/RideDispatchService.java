@@ -0,0 +1,11 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+
+import java.util.List;
+
+public interface RideDispatchService {
+    void dispatchRideRequest(RideRequest rideRequest, List<Driver> candidateDrivers);
+    void dispatchToDrivers(RideRequest rideRequest, List<Long> candidateDriverIds);
+}
@@ -1,17 +1,18 @@
 package com.nikhil.project.uber.uberApp.services;
 
+import com.nikhil.project.uber.uberApp.dto.RideDto;
 import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.Ride;
 import com.nikhil.project.uber.uberApp.entities.RideRequest;
-import com.nikhil.project.uber.uberApp.entities.Rider;
 import com.nikhil.project.uber.uberApp.enums.RideStatus;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface RideService {
     Ride getRideById(Long rideId);
     Ride createNewRide(RideRequest rideRequest, Driver driver);
     Ride updateRideStatus(Ride ride, RideStatus rideStatus);
-    Page<Ride> getAllRidesOfRider(Rider rider, PageRequest pageRequest);
-    Page<Ride> getAllRidesOfDriver(Driver driver, PageRequest pageRequest);
+    List<RideDto> getRideHistoryOfRider(Long riderId, LocalDateTime beforeTime, Long beforeId, int limit);
+    List<RideDto> getRideHistoryOfDriver(Long driverId, LocalDateTime beforeTime, Long beforeId, int limit);
 }
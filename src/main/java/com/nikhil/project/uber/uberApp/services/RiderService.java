@@ -1,21 +1,27 @@
 package com.nikhil.project.uber.uberApp.services;
 
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
 import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.FareQuoteDto;
 import com.nikhil.project.uber.uberApp.dto.RideDto;
 import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
 import com.nikhil.project.uber.uberApp.dto.RiderDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
 import com.nikhil.project.uber.uberApp.entities.Rider;
 import com.nikhil.project.uber.uberApp.entities.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
 
 public interface RiderService {
+    FareQuoteDto estimateFare(RideRequestDto rideRequestDto);
     RideRequestDto requestRide(RideRequestDto rideRequestDto);
     RideDto cancelRide(Long rideId);
     RideDto endRide(Long rideId);
     DriverDto rateDriver(Long rideId, Integer rating);
     RiderDto getMyProfile();
-    Page<RideDto> getAllMyRides(PageRequest pageRequest);
+    CursorSliceDto<RideDto> getAllMyRides(LocalDateTime beforeTime, Long beforeId, Integer size);
+    CursorSliceDto<WalletTransactionDto> getMyWalletTransactions(LocalDateTime beforeTime, Long beforeId, Integer size);
     Rider createNewRider(User user);
     Rider getCurrentRider();
+    Long getCurrentRiderId();
 }
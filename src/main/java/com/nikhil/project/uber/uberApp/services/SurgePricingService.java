@@ -0,0 +1,9 @@
+package com.nikhil.project.uber.uberApp.services;
+
+import org.locationtech.jts.geom.Point;
+
+public interface SurgePricingService {
+    void recordRideRequest(Point pickupLocation);
+    double getSurgeMultiplier(Point location);
+    void recomputeSurgeMultipliers();
+}
@@ -6,11 +6,23 @@ import com.nikhil.project.uber.uberApp.entities.Wallet;
 import com.nikhil.project.uber.uberApp.enums.TransactionMethod;
 
 public interface WalletService {
-    Wallet addMoneyToWallet(User user, double amount, String transactionId, Ride ride,
-                            TransactionMethod transactionMethod);
+    void addMoneyToWallet(User user, double amount, String transactionId, Ride ride,
+                          TransactionMethod transactionMethod);
 
+    // User-initiated debits: fails with InsufficientWalletBalanceException rather than take the balance below zero.
     void deductMoneyFromWallet(User user, double amount, String transactionId, Ride ride,
                                TransactionMethod transactionMethod);
+
+    /*
+     * Settles a ride that has already happened, so it may take the balance below zero: what the
+     * rider cannot cover is owed to the platform and is paid off by the next top-up.
+     */
+    void chargeRideToWallet(User user, double amount, String transactionId, Ride ride,
+                            TransactionMethod transactionMethod);
+
+    // May take the balance below zero: a driver paid in cash owes the platform its commission.
+    void deductCommissionFromWallet(User user, double amount, String transactionId, Ride ride,
+                                    TransactionMethod transactionMethod);
     void withDrawAllMoneyFromWallet();
     Wallet findWalletById(Long walletId);
     Wallet createNewWallet(User user);
@@ -1,7 +1,14 @@
 package com.nikhil.project.uber.uberApp.services;
 
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
+import com.nikhil.project.uber.uberApp.entities.User;
 import com.nikhil.project.uber.uberApp.entities.WalletTransaction;
 
+import java.time.LocalDateTime;
+
 public interface WalletTransactionService {
     void createNewWalletTransaction(WalletTransaction walletTransaction);
+    CursorSliceDto<WalletTransactionDto> getWalletTransactions(User user, LocalDateTime beforeTime, Long beforeId,
+                                                               Integer size);
 }
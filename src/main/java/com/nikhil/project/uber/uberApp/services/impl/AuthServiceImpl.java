@@ -1,58 +1,104 @@
 package com.nikhil.project.uber.uberApp.services.impl;
 
 import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.LoginResponseDto;
 import com.nikhil.project.uber.uberApp.dto.SignUpDto;
 import com.nikhil.project.uber.uberApp.dto.UserDto;
 import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.User;
 import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.exceptions.InvalidCredentialsException;
 import com.nikhil.project.uber.uberApp.exceptions.UserAlreadyExistsException;
+import com.nikhil.project.uber.uberApp.mappers.DriverMapper;
+import com.nikhil.project.uber.uberApp.mappers.UserMapper;
+import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
+import com.nikhil.project.uber.uberApp.repositories.RiderRepository;
 import com.nikhil.project.uber.uberApp.repositories.UserRepository;
+import com.nikhil.project.uber.uberApp.security.AuthenticatedUser;
 import com.nikhil.project.uber.uberApp.services.AuthService;
 import com.nikhil.project.uber.uberApp.services.DriverService;
+import com.nikhil.project.uber.uberApp.services.JwtService;
+import com.nikhil.project.uber.uberApp.services.PasswordHashingService;
 import com.nikhil.project.uber.uberApp.services.RiderService;
 import com.nikhil.project.uber.uberApp.services.WalletService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 import static com.nikhil.project.uber.uberApp.enums.Role.DRIVER;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthServiceImpl implements AuthService {
 
-    private final ModelMapper modelMapper;
     private final UserRepository userRepository;
     private final RiderService riderService;
     private final WalletService walletService;
     private final DriverService driverService;
-
+    private final RiderRepository riderRepository;
+    private final DriverRepository driverRepository;
+    private final JwtService jwtService;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
+
+    /*
+     * Issues an access token carrying the user id, roles and rider / driver ids, so later requests
+     * know who is calling without a lookup (AuthTokenFilter, CurrentUserContext).
+     *
+     * Not transactional: the password check takes tens of milliseconds and must not hold a
+     * database connection meanwhile. A hash from before the current work factor is replaced now
+     * that the raw password is at hand.
+     */
     @Override
-    public String login(String email, String password) {
-        return "";
+    public LoginResponseDto login(String email, String password) {
+        User user = userRepository.findWithRolesByEmail(email).orElse(null);
+        if (!passwordHashingService.matches(password, user == null ? null : user.getPassword())) {
+            throw new InvalidCredentialsException("Invalid email or password");
+        }
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordHashingService.hash(password));
+        }
+
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        roles.addAll(user.getRoles());
+        Long riderId = roles.contains(Role.RIDER) ? riderRepository.findIdByUserId(user.getId()).orElse(null) : null;
+        Long driverId = roles.contains(DRIVER) ? driverRepository.findIdByUserId(user.getId()).orElse(null) : null;
+
+        String accessToken = jwtService.generateToken(new AuthenticatedUser(user.getId(), roles, riderId, driverId));
+        return new LoginResponseDto(accessToken);
     }
 
+    /*
+     * The password is hashed before the transaction starts, so no connection is held while bcrypt
+     * runs. The email check comes first so a duplicate signup costs no hashing; a concurrent
+     * duplicate still fails on the unique email column.
+     */
     @Override
-    @Transactional
     public UserDto signUp(SignUpDto signUpDto) {
 
         if (userRepository.findByEmail(signUpDto.getEmail()).isPresent()) {
             throw new UserAlreadyExistsException("User already exists with this email " + signUpDto.getEmail());
         }
 
-        User user = modelMapper.map(signUpDto, User.class);
-        user.setRoles(Set.of(Role.RIDER));
+        String passwordHash = passwordHashingService.hash(signUpDto.getPassword());
 
-        User savedUser = userRepository.save(user);
+        return transactionTemplate.execute(status -> {
+            User user = UserMapper.toUser(signUpDto, passwordHash);
+            user.setRoles(Set.of(Role.RIDER));
 
-        riderService.createNewRider(savedUser);
-        walletService.createNewWallet(savedUser);
+            User savedUser = userRepository.save(user);
 
-        return modelMapper.map(savedUser, UserDto.class);
+            riderService.createNewRider(savedUser);
+            walletService.createNewWallet(savedUser);
+
+            return UserMapper.toUserDto(savedUser);
+        });
     }
 
     @Override
@@ -72,6 +118,19 @@ public class AuthServiceImpl implements AuthService {
         user.getRoles().add(DRIVER);
         userRepository.save(user);
         Driver savedDriver = driverService.createNewDriver(createDriver);
-        return modelMapper.map(savedDriver, DriverDto.class);
+        return DriverMapper.toDriverDto(savedDriver);
+    }
+
+    /*
+     * One-off (PasswordHashBackfillRunner): hashes the passwords still stored as plain text, which
+     * can no longer be used to log in. One UPDATE per user, so no long transaction.
+     */
+    @Override
+    public void backfillPasswordHashes() {
+        List<User> users = userRepository.findAllWithUnhashedPassword();
+        for (User user : users) {
+            userRepository.updatePassword(user.getId(), passwordHashingService.hash(user.getPassword()));
+        }
+        log.info("Hashed the plain text passwords of {} users", users.size());
     }
 }
@@ -0,0 +1,208 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.exceptions.RideDispatchCapacityExceededException;
+import com.nikhil.project.uber.uberApp.services.BatchMatchingService;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.services.RideDispatchService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import com.nikhil.project.uber.uberApp.utils.HungarianAlgorithm;
+import com.nikhil.project.uber.uberApp.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Batch matching: instead of giving every ride request its nearest driver on arrival, requests are
+ * collected for one window and then assigned together so that the TOTAL pickup distance of the
+ * batch is minimal (Hungarian algorithm on a request x driver cost matrix).
+ *
+ * Candidates come from the in-memory driver index, so one round costs no database query.
+ * Requests that got no driver stay for the next round; after `maxRounds` they fall back to a
+ * normal dispatch to their nearest candidates, so nobody waits forever for a perfect batch.
+ *
+ * An assigned request is offered to its assigned driver first and then, in later waves, to its
+ * other candidates, so a driver who does not accept does not leave it PENDING. The assigned driver
+ * is left out of the following rounds until they answer (accepting takes them out of the index)
+ * or their offer lapses after one wave timeout, so no driver gets overlapping offers.
+ *
+ * A round that fails puts the requests it has not handed off back in the queue.
+ */
+@Service
+@Slf4j
+public class BatchMatchingServiceImpl implements BatchMatchingService {
+
+    // Cost for pairs outside the search radius; finite so the algorithm stays well defined.
+    private static final double UNREACHABLE_COST = 1_000_000;
+
+    private final DriverIndexService driverIndexService;
+    private final RideDispatchService rideDispatchService;
+    private final int candidatesPerRequest;
+    private final double radiusKm;
+    private final int maxRounds;
+    private final int maxPendingRequests;
+    private final Duration offerTimeout;
+
+    private final ConcurrentLinkedQueue<PendingRideRequest> pendingRideRequests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reservedSlots = new AtomicInteger();
+    // Drivers with an open batch offer, until when they are left out of later rounds.
+    private final Map<Long, Instant> offeredDriversUntil = new ConcurrentHashMap<>();
+
+    public BatchMatchingServiceImpl(DriverIndexService driverIndexService,
+                                    RideDispatchService rideDispatchService,
+                                    @Value("${uber.matching.batch.candidates-per-request:10}") int candidatesPerRequest,
+                                    @Value("${uber.matching.nearest.radius-km:10}") double radiusKm,
+                                    @Value("${uber.matching.batch.max-rounds:3}") int maxRounds,
+                                    @Value("${uber.matching.batch.max-pending:5000}") int maxPendingRequests,
+                                    @Value("${uber.dispatch.wave-timeout-ms:15000}") long offerTimeoutMs) {
+        this.driverIndexService = driverIndexService;
+        this.rideDispatchService = rideDispatchService;
+        this.candidatesPerRequest = candidatesPerRequest;
+        this.radiusKm = radiusKm;
+        this.maxRounds = maxRounds;
+        this.maxPendingRequests = maxPendingRequests;
+        this.offerTimeout = Duration.ofMillis(offerTimeoutMs);
+    }
+
+    @Override
+    public void enqueueRideRequest(RideRequest rideRequest) {
+        if (reservedSlots.incrementAndGet() > maxPendingRequests) {
+            reservedSlots.decrementAndGet();
+            throw new RideDispatchCapacityExceededException(
+                    "Too many ride requests are waiting for a driver, please try again shortly");
+        }
+        // Only committed requests may be offered to drivers.
+        TransactionUtils.runAfterCommit(
+                () -> pendingRideRequests.add(new PendingRideRequest(rideRequest, 1)),
+                reservedSlots::decrementAndGet);
+    }
+
+    @Override
+    public int runMatchingRound() {
+        List<PendingRideRequest> batch = new ArrayList<>();
+        PendingRideRequest pending;
+        while ((pending = pendingRideRequests.poll()) != null) {
+            batch.add(pending);
+        }
+        if (batch.isEmpty()) return 0;
+
+        Instant now = Instant.now();
+        offeredDriversUntil.values().removeIf(until -> !until.isAfter(now));
+
+        int assigned = 0;
+        int handedOff = 0;
+        try {
+            // Candidate drivers of every request, and the union of them as matrix columns.
+            List<List<Long>> candidatesByRequest = new ArrayList<>(batch.size());
+            Map<Long, Integer> columnByDriverId = new LinkedHashMap<>();
+            for (PendingRideRequest request : batch) {
+                List<Long> candidates = driverIndexService.findNearestDriverIds(
+                                request.rideRequest().getPickupLocation(), candidatesPerRequest, radiusKm)
+                        .stream()
+                        .filter(driverId -> !offeredDriversUntil.containsKey(driverId))
+                        .toList();
+                candidatesByRequest.add(candidates);
+                for (Long driverId : candidates) {
+                    columnByDriverId.putIfAbsent(driverId, columnByDriverId.size());
+                }
+            }
+
+            List<Long> driverIds = new ArrayList<>(columnByDriverId.keySet());
+            List<Point> driverLocations = driverIds.stream().map(driverIndexService::getDriverLocation).toList();
+
+            // Pickup distance as ETA proxy, limited to each request's own candidates.
+            double[][] cost = new double[batch.size()][driverIds.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                Arrays.fill(cost[i], UNREACHABLE_COST);
+                Point pickup = batch.get(i).rideRequest().getPickupLocation();
+                for (Long driverId : candidatesByRequest.get(i)) {
+                    int column = columnByDriverId.get(driverId);
+                    Point driverLocation = driverLocations.get(column);
+                    if (driverLocation != null) {
+                        cost[i][column] = GeometryUtils.haversineDistanceKm(pickup, driverLocation);
+                    }
+                }
+            }
+
+            int[] assignment = HungarianAlgorithm.solve(cost);
+
+            for (; handedOff < batch.size(); handedOff++) {
+                PendingRideRequest request = batch.get(handedOff);
+                int column = assignment[handedOff];
+                if (column >= 0 && cost[handedOff][column] < UNREACHABLE_COST) {
+                    Long driverId = driverIds.get(column);
+                    offeredDriversUntil.put(driverId, now.plus(offerTimeout));
+                    dispatch(request, assignedDriverFirst(driverId, candidatesByRequest.get(handedOff)));
+                    assigned++;
+                } else if (request.round() < maxRounds) {
+                    pendingRideRequests.add(new PendingRideRequest(request.rideRequest(), request.round() + 1));
+                } else {
+                    dispatch(request, candidatesByRequest.get(handedOff));
+                }
+            }
+
+            log.debug("Batch matching round: {} requests, {} drivers, {} assigned",
+                    batch.size(), driverIds.size(), assigned);
+        } catch (RuntimeException ex) {
+            log.error("Batch matching round failed, {} of {} ride requests go back to the queue",
+                    batch.size() - handedOff, batch.size(), ex);
+            for (PendingRideRequest request : batch.subList(handedOff, batch.size())) {
+                requeueAfterFailure(request);
+            }
+        }
+        return assigned;
+    }
+
+    @Override
+    public int getPendingRideRequestCount() {
+        return pendingRideRequests.size();
+    }
+
+    private void dispatch(PendingRideRequest request, List<Long> driverIds) {
+        reservedSlots.decrementAndGet();
+        try {
+            rideDispatchService.dispatchToDrivers(request.rideRequest(), driverIds);
+        } catch (RideDispatchCapacityExceededException ex) {
+            log.warn("Dispatch capacity exhausted, ride request {} was not offered to any driver",
+                    request.rideRequest().getId());
+        } catch (RuntimeException ex) {
+            log.error("Dispatch of ride request {} failed, it was not offered to any driver",
+                    request.rideRequest().getId(), ex);
+        }
+    }
+
+    // A request that keeps failing its rounds is dropped after `maxRounds`, so it cannot hold its slot forever.
+    private void requeueAfterFailure(PendingRideRequest request) {
+        if (request.round() < maxRounds) {
+            pendingRideRequests.add(new PendingRideRequest(request.rideRequest(), request.round() + 1));
+        } else {
+            reservedSlots.decrementAndGet();
+            log.error("Ride request {} dropped from batch matching after {} failed rounds",
+                    request.rideRequest().getId(), request.round());
+        }
+    }
+
+    private static List<Long> assignedDriverFirst(Long assignedDriverId, List<Long> candidates) {
+        List<Long> driverIds = new ArrayList<>(candidates.size());
+        driverIds.add(assignedDriverId);
+        for (Long driverId : candidates) {
+            if (!driverId.equals(assignedDriverId)) driverIds.add(driverId);
+        }
+        return driverIds;
+    }
+
+    private record PendingRideRequest(RideRequest rideRequest, int round) {
+    }
+}
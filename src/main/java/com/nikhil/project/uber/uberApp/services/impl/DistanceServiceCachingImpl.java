@@ -0,0 +1,156 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nikhil.project.uber.uberApp.exceptions.DistanceCalculationException;
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * Caching decorator in front of the configured distance provider (OSRM or the offline road graph).
+ *
+ * Pickup and drop-off points are snapped to a grid (uber.distance.cache.grid-degrees) before they
+ * are used as a key, so "airport -> central station" hits the same entry no matter where exactly
+ * in the terminal the rider stands. The cached distance is the one between the snapped points.
+ *
+ * The cache holds futures: the first caller of a missing key runs the lookup itself and every
+ * concurrent caller for the same key waits on that one future instead of looking it up again.
+ * When the lookup fails, the callers get straight-line distance x road factor. Such estimates are
+ * never cached, so the next request for the key retries the real lookup. A waiter gives up after
+ * uber.distance.cache.wait-timeout-ms and takes the estimate as well, so a stuck lookup cannot
+ * hold every request for its key.
+ */
+@Service
+@Slf4j
+@Primary
+@ConditionalOnProperty(name = "uber.distance.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class DistanceServiceCachingImpl implements DistanceService {
+
+    private final DistanceService delegate;
+    private final double gridDegrees;
+    private final double roadFactor;
+    private final long waitTimeoutMs;
+    private final AsyncCache<DistanceKey, Double> cache;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter fallbacks;
+
+    public DistanceServiceCachingImpl(ObjectProvider<DistanceServiceOfflineImpl> offlineDistanceService,
+                                      ObjectProvider<DistanceServiceOSRMImpl> osrmDistanceService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${uber.distance.cache.grid-degrees:0.001}") double gridDegrees,
+                                      @Value("${uber.distance.cache.max-size:100000}") long maxSize,
+                                      @Value("${uber.distance.cache.ttl-seconds:1800}") long ttlSeconds,
+                                      @Value("${uber.distance.fallback.road-factor:1.4}") double roadFactor,
+                                      @Value("${uber.distance.cache.wait-timeout-ms:3000}") long waitTimeoutMs) {
+        // Exactly one of them exists, depending on uber.distance.provider.
+        DistanceService offline = offlineDistanceService.getIfAvailable();
+        this.delegate = offline != null ? offline : osrmDistanceService.getObject();
+        this.gridDegrees = gridDegrees;
+        this.roadFactor = roadFactor;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .buildAsync();
+
+        this.hits = Counter.builder("uber.distance.cache.requests")
+                .tag("result", "hit")
+                .description("Distance lookups answered from the cache, including waits on an in-flight lookup")
+                .register(meterRegistry);
+        this.misses = Counter.builder("uber.distance.cache.requests")
+                .tag("result", "miss")
+                .description("Distance lookups that had to call the routing service")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("uber.distance.cache.fallbacks")
+                .description("Cache misses answered with the straight-line estimate because the lookup failed")
+                .register(meterRegistry);
+        Gauge.builder("uber.distance.cache.size", cache, c -> c.synchronous().estimatedSize())
+                .description("Entries currently held in the distance cache")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public double calculateDistance(Point src, Point dest) {
+        DistanceKey key = new DistanceKey(
+                snap(src.getX()), snap(src.getY()),
+                snap(dest.getX()), snap(dest.getY()));
+
+        CompletableFuture<Double> loading = new CompletableFuture<>();
+        CompletableFuture<Double> existing = cache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            hits.increment();
+            return await(existing, src, dest);
+        }
+
+        // This thread owns the miss. The lookup runs outside any cache lock, other keys are never blocked.
+        misses.increment();
+        try {
+            loading.complete(delegate.calculateExactDistance(
+                    GeometryUtils.createPoint(key.srcLongitude() * gridDegrees, key.srcLatitude() * gridDegrees),
+                    GeometryUtils.createPoint(key.destLongitude() * gridDegrees, key.destLatitude() * gridDegrees)));
+        } catch (RuntimeException ex) {
+            // Everyone waiting on this key gets the estimate, but it is not cached:
+            // the next request for the key tries the real lookup again.
+            cache.asMap().remove(key, loading);
+            fallbacks.increment();
+            log.warn("Falling back to estimated distance: {}", ex.getMessage());
+            loading.complete(GeometryUtils.estimateRoadDistanceKm(src, dest, roadFactor));
+        } catch (Error error) {
+            // Nothing sensible to answer with, but the waiters must not block on a future nobody completes.
+            cache.asMap().remove(key, loading);
+            loading.completeExceptionally(error);
+            throw error;
+        }
+        return await(loading, src, dest);
+    }
+
+    // Distance matrices are driver -> pickup ETAs; drivers move constantly, so they are not cached.
+    @Override
+    public double[][] calculateDistanceMatrix(List<Point> sources, List<Point> destinations) {
+        return delegate.calculateDistanceMatrix(sources, destinations);
+    }
+
+    private long snap(double degrees) {
+        return Math.round(degrees / gridDegrees);
+    }
+
+    private double await(CompletableFuture<Double> future, Point src, Point dest) {
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // The owner is still looking it up and will cache the result; this caller does not wait for it.
+            fallbacks.increment();
+            log.warn("Falling back to estimated distance: lookup still running after {} ms", waitTimeoutMs);
+            return GeometryUtils.estimateRoadDistanceKm(src, dest, roadFactor);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            throw new DistanceCalculationException("Error while calculating distance", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DistanceCalculationException("Interrupted while waiting for distance", ex);
+        }
+    }
+
+    // Grid cell numbers, not degrees: exact long equality avoids floating point key mismatches.
+    private record DistanceKey(long srcLongitude, long srcLatitude, long destLongitude, long destLatitude) {
+    }
+}
@@ -2,53 +2,200 @@ package com.nikhil.project.uber.uberApp.services.impl;
 
 import com.nikhil.project.uber.uberApp.exceptions.DistanceCalculationException;
 import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.utils.CircuitBreaker;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
 import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+/*
+ * Road distances from an OSRM server.
+ *
+ * One RestClient for the whole application, on top of the JDK HttpClient, which keeps
+ * connections to OSRM alive between calls. Connect and read timeouts are short on purpose:
+ * a fare quote must not hang on a slow routing server.
+ *
+ * Failures feed a circuit breaker. While it is open (and for any failed call) calculateDistance
+ * answers with straight-line distance x road factor instead, so riders still get a fare.
+ */
 @Service
+@Slf4j
+@ConditionalOnProperty(name = "uber.distance.provider", havingValue = "osrm", matchIfMissing = true)
 public class DistanceServiceOSRMImpl implements DistanceService {
 
-    private static final String OSRM_API_BASE_URL =
-            "http://router.project-osrm.org/route/v1/driving/";
+    private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final double roadFactor;
+    private final Counter fallbacks;
+
+    public DistanceServiceOSRMImpl(RestClient.Builder restClientBuilder,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${uber.distance.osrm.base-url:http://router.project-osrm.org}") String baseUrl,
+                                   @Value("${uber.distance.osrm.connect-timeout-ms:500}") long connectTimeoutMs,
+                                   @Value("${uber.distance.osrm.read-timeout-ms:1500}") long readTimeoutMs,
+                                   @Value("${uber.distance.osrm.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                   @Value("${uber.distance.osrm.circuit-breaker.open-ms:30000}") long openMs,
+                                   @Value("${uber.distance.fallback.road-factor:1.4}") double roadFactor) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        this.restClient = restClientBuilder
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .build();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openMs));
+        this.roadFactor = roadFactor;
+        this.fallbacks = Counter.builder("uber.distance.osrm.fallbacks")
+                .description("Distances answered with the straight-line estimate because OSRM failed or the circuit was open")
+                .register(meterRegistry);
+    }
 
     @Override
     public double calculateDistance(Point src, Point dest) {
+        try {
+            return calculateExactDistance(src, dest);
+        } catch (DistanceCalculationException ex) {
+            fallbacks.increment();
+            log.warn("Falling back to estimated distance: {}", ex.getMessage());
+            return estimateDistance(src, dest);
+        }
+    }
 
-        String uri = src.getX() + "," + src.getY() + ";" +
-                dest.getX() + "," + dest.getY();
+    @Override
+    public double calculateExactDistance(Point src, Point dest) {
+        OSRMResponseDto osrmResponseDto = call("/route/v1/driving/" + coordinates(List.of(src, dest))
+                + "?overview=false", OSRMResponseDto.class);
 
-        try {
-            OSRMResponseDto osrmResponseDto = RestClient.builder()
-                    .baseUrl(OSRM_API_BASE_URL)
-                    .build()
-                    .get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(OSRMResponseDto.class);
+        if (osrmResponseDto.getRoutes() == null || osrmResponseDto.getRoutes().isEmpty()
+                || osrmResponseDto.getRoutes().get(0).getDistance() == null) {
+            throw new DistanceCalculationException("Empty response received from OSRM");
+        }
+        return osrmResponseDto.getRoutes().get(0).getDistance() / 1000.0;
+    }
 
-            if (osrmResponseDto == null ||
-                    osrmResponseDto.getRoutes() == null ||
-                    osrmResponseDto.getRoutes().isEmpty()) {
-                throw new DistanceCalculationException("Empty response received from OSRM");
+    @Override
+    public double[][] calculateDistanceMatrix(List<Point> sources, List<Point> destinations) {
+        if (sources.isEmpty() || destinations.isEmpty()) {
+            return new double[sources.size()][destinations.size()];
+        }
+        try {
+            return fetchDistanceMatrix(sources, destinations);
+        } catch (DistanceCalculationException ex) {
+            fallbacks.increment();
+            log.warn("Falling back to estimated distance matrix: {}", ex.getMessage());
+            double[][] distances = new double[sources.size()][destinations.size()];
+            for (int i = 0; i < sources.size(); i++) {
+                for (int j = 0; j < destinations.size(); j++) {
+                    distances[i][j] = estimateDistance(sources.get(i), destinations.get(j));
+                }
             }
+            return distances;
+        }
+    }
 
-            return osrmResponseDto.getRoutes().get(0).getDistance() / 1000.0;
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    // One /table call: sources are the first coordinates, destinations the rest.
+    private double[][] fetchDistanceMatrix(List<Point> sources, List<Point> destinations) {
+        List<Point> points = new ArrayList<>(sources);
+        points.addAll(destinations);
+        String sourceIndexes = indexes(0, sources.size());
+        String destinationIndexes = indexes(sources.size(), points.size());
+
+        OSRMTableResponseDto tableResponseDto = call("/table/v1/driving/" + coordinates(points)
+                + "?sources=" + sourceIndexes + "&destinations=" + destinationIndexes
+                + "&annotations=distance", OSRMTableResponseDto.class);
+
+        List<List<Double>> rows = tableResponseDto.getDistances();
+        if (rows == null || rows.size() != sources.size()) {
+            throw new DistanceCalculationException("Incomplete distance table received from OSRM");
+        }
+        double[][] distances = new double[sources.size()][destinations.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            List<Double> row = rows.get(i);
+            if (row == null || row.size() != destinations.size()) {
+                throw new DistanceCalculationException("Incomplete distance table received from OSRM");
+            }
+            for (int j = 0; j < destinations.size(); j++) {
+                Double meters = row.get(j);
+                distances[i][j] = meters == null ? Double.POSITIVE_INFINITY : meters / 1000.0;
+            }
+        }
+        return distances;
+    }
 
+    private <T extends OSRMBaseResponseDto> T call(String uri, Class<T> responseType) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new DistanceCalculationException("OSRM circuit breaker is open");
+        }
+        T response;
+        try {
+            response = restClient.get()
+                    .uri(uri)
+                    .retrieve()
+                    .body(responseType);
         } catch (Exception ex) {
+            circuitBreaker.recordFailure();
             throw new DistanceCalculationException(
                     "Error while calling OSRM API for distance calculation",
                     ex
             );
         }
+        // OSRM answered, so it is healthy even if it found no route.
+        circuitBreaker.recordSuccess();
+
+        if (response == null || !"Ok".equals(response.getCode())) {
+            throw new DistanceCalculationException("Unexpected response received from OSRM: "
+                    + (response == null ? "empty body" : response.getCode()));
+        }
+        return response;
+    }
+
+    private double estimateDistance(Point src, Point dest) {
+        return GeometryUtils.estimateRoadDistanceKm(src, dest, roadFactor);
+    }
+
+    private static String coordinates(List<Point> points) {
+        return points.stream()
+                .map(point -> point.getX() + "," + point.getY())
+                .collect(Collectors.joining(";"));
+    }
+
+    private static String indexes(int fromInclusive, int toExclusive) {
+        return IntStream.range(fromInclusive, toExclusive)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(";"));
     }
 }
 
 @Data
-class OSRMResponseDto {
+class OSRMBaseResponseDto {
+    private String code;
+}
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+class OSRMResponseDto extends OSRMBaseResponseDto {
     private List<OSRMRoute> routes;
 }
 
@@ -56,3 +203,9 @@ class OSRMResponseDto {
 class OSRMRoute {
     private Double distance;
 }
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+class OSRMTableResponseDto extends OSRMBaseResponseDto {
+    private List<List<Double>> distances;
+}
@@ -0,0 +1,73 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.exceptions.DistanceCalculationException;
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.utils.AltRouter;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import com.nikhil.project.uber.uberApp.utils.RoadGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Road distances computed in-process from a local road graph, no HTTP call per fare.
+ *
+ * The graph file (see RoadGraph for the format) is loaded once on startup. If it does not exist
+ * yet but CSV exports of an OSM extract are configured, the graph is built from them and written
+ * to graph-file, so the conversion only happens on the first start.
+ *
+ * Both points are snapped to their nearest road node; the short straight lines from the points
+ * to those nodes are added to the road distance between the nodes.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "uber.distance.provider", havingValue = "offline")
+public class DistanceServiceOfflineImpl implements DistanceService {
+
+    private final AltRouter router;
+    private final double maxSnapDistanceKm;
+
+    public DistanceServiceOfflineImpl(@Value("${uber.distance.offline.graph-file}") Path graphFile,
+                                      @Value("${uber.distance.offline.nodes-csv:}") String nodesCsv,
+                                      @Value("${uber.distance.offline.edges-csv:}") String edgesCsv,
+                                      @Value("${uber.distance.offline.landmarks:16}") int landmarks,
+                                      @Value("${uber.distance.offline.max-snap-distance-km:0.5}") double maxSnapDistanceKm) {
+        long startedAt = System.currentTimeMillis();
+        RoadGraph graph;
+        if (Files.exists(graphFile) || nodesCsv.isBlank() || edgesCsv.isBlank()) {
+            graph = RoadGraph.load(graphFile);
+        } else {
+            graph = RoadGraph.fromCsv(Path.of(nodesCsv), Path.of(edgesCsv));
+            graph.writeTo(graphFile);
+            log.info("Road graph built from {} and {}, written to {}", nodesCsv, edgesCsv, graphFile);
+        }
+        this.router = new AltRouter(graph, landmarks);
+        this.maxSnapDistanceKm = maxSnapDistanceKm;
+        log.info("Road graph ready: {} nodes, {} edges, {} landmarks in {} ms",
+                graph.getNodeCount(), graph.getEdgeCount(), router.getLandmarkCount(), System.currentTimeMillis() - startedAt);
+    }
+
+    @Override
+    public double calculateDistance(Point src, Point dest) {
+        RoadGraph graph = router.getGraph();
+        int source = graph.findNearestNode(src.getX(), src.getY(), maxSnapDistanceKm);
+        int target = graph.findNearestNode(dest.getX(), dest.getY(), maxSnapDistanceKm);
+        if (source == -1 || target == -1) {
+            throw new DistanceCalculationException("Location is not close to any road in the road graph");
+        }
+
+        int meters = router.shortestPathMeters(source, target);
+        if (meters == AltRouter.UNREACHABLE) {
+            throw new DistanceCalculationException("No road route between pickup and drop-off location");
+        }
+
+        return meters / 1000.0
+                + GeometryUtils.haversineDistanceKm(src.getX(), src.getY(), graph.longitude(source), graph.latitude(source))
+                + GeometryUtils.haversineDistanceKm(dest.getX(), dest.getY(), graph.longitude(target), graph.latitude(target));
+    }
+}
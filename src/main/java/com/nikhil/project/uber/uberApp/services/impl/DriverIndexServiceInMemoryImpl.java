@@ -0,0 +1,282 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.projections.DriverLocationProjection;
+import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/*
+ * In-process spatial grid of drivers.
+ *
+ * The world is split into square lon/lat cells (see GeometryUtils.cellKey). Every known driver
+ * has one entry with its last location; only AVAILABLE drivers are registered in a cell, so a
+ * query only ever touches the cells around the pickup point and the drivers that can take a ride.
+ *
+ * The database stays the source of truth: the grid is rebuilt from it on startup and kept current
+ * by DriverService (availability, location pings) and RatingService (rating changes). A driver
+ * onboarded without a location joins the grid with its first ping.
+ */
+@Service
+@Slf4j
+public class DriverIndexServiceInMemoryImpl implements DriverIndexService {
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private final DriverRepository driverRepository;
+    private final double cellSizeDegrees;
+
+    private final ConcurrentHashMap<Long, IndexedDriver> driversById = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<Long>> availableDriverIdsByCell = new ConcurrentHashMap<>();
+
+    public DriverIndexServiceInMemoryImpl(DriverRepository driverRepository,
+                                          @Value("${uber.matching.driver-index.cell-size-degrees:0.01}")
+                                          double cellSizeDegrees) {
+        this.driverRepository = driverRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadDrivers() {
+        List<DriverLocationProjection> drivers = driverRepository.findAllDriverLocations();
+        for (DriverLocationProjection driver : drivers) {
+            put(new IndexedDriver(driver.getId(),
+                    driver.getCurrentLocation().getX(),
+                    driver.getCurrentLocation().getY(),
+                    driver.getRating() == null ? 0.0 : driver.getRating(),
+                    Boolean.TRUE.equals(driver.getAvailable())));
+        }
+        log.info("Driver index loaded with {} drivers", drivers.size());
+    }
+
+    @Override
+    public void upsertDriver(Driver driver) {
+        driversById.compute(driver.getId(), (driverId, existing) -> {
+            // Location pings reach the index before they are flushed to the driver table,
+            // so a location already held here is never older than the one on the entity.
+            double longitude;
+            double latitude;
+            if (existing != null) {
+                longitude = existing.longitude();
+                latitude = existing.latitude();
+            } else if (driver.getCurrentLocation() != null) {
+                longitude = driver.getCurrentLocation().getX();
+                latitude = driver.getCurrentLocation().getY();
+            } else {
+                return null;
+            }
+
+            IndexedDriver updated = new IndexedDriver(driverId, longitude, latitude,
+                    driver.getRating() == null ? 0.0 : driver.getRating(),
+                    Boolean.TRUE.equals(driver.getAvailable()));
+            moveBetweenCells(existing, updated);
+            return updated;
+        });
+    }
+
+    @Override
+    public void updateDriverLocation(Long driverId, double longitude, double latitude) {
+        IndexedDriver moved = driversById.computeIfPresent(driverId, (id, existing) -> {
+            IndexedDriver updated = new IndexedDriver(id, longitude, latitude,
+                    existing.rating(), existing.available());
+            moveBetweenCells(existing, updated);
+            return updated;
+        });
+        if (moved != null) return;
+
+        // A driver without a location (just onboarded) has no entry until its first ping.
+        // Rating and availability come from the table, read outside compute so the map is not blocked on it.
+        driverRepository.findDriverLocationById(driverId).ifPresent(driver ->
+                driversById.compute(driverId, (id, existing) -> {
+                    IndexedDriver added = existing != null
+                            ? new IndexedDriver(id, longitude, latitude, existing.rating(), existing.available())
+                            : new IndexedDriver(id, longitude, latitude,
+                                    driver.getRating() == null ? 0.0 : driver.getRating(),
+                                    Boolean.TRUE.equals(driver.getAvailable()));
+                    moveBetweenCells(existing, added);
+                    return added;
+                }));
+    }
+
+    @Override
+    public void removeDriver(Long driverId) {
+        driversById.computeIfPresent(driverId, (id, existing) -> {
+            moveBetweenCells(existing, null);
+            return null;
+        });
+    }
+
+    @Override
+    public List<Long> findNearestDriverIds(Point location, int limit, double radiusKm) {
+        if (limit <= 0) return List.of();
+
+        double longitude = location.getX();
+        double latitude = location.getY();
+
+        // Max-heap on distance, so the farthest of the current best `limit` is evicted first.
+        PriorityQueue<Candidate> best = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::distanceKm).reversed());
+
+        int centerColumn = GeometryUtils.cellIndex(longitude, cellSizeDegrees);
+        int centerRow = GeometryUtils.cellIndex(latitude, cellSizeDegrees);
+        double minCellSizeKm = minCellSizeKm(latitude);
+        int maxRing = (int) Math.ceil(radiusKm / minCellSizeKm);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            forEachDriverInRing(centerColumn, centerRow, ring, driver -> {
+                double distanceKm = GeometryUtils.haversineDistanceKm(
+                        longitude, latitude, driver.longitude(), driver.latitude());
+                if (distanceKm > radiusKm) return;
+                best.offer(new Candidate(driver, distanceKm));
+                if (best.size() > limit) best.poll();
+            });
+
+            // Every driver in ring r + 1 is at least r cells away from the pickup point,
+            // so once the current worst candidate is closer than that the search can stop.
+            if (best.size() == limit && best.peek().distanceKm() <= ring * minCellSizeKm) {
+                break;
+            }
+        }
+
+        return drainSorted(best, Comparator.comparingDouble(Candidate::distanceKm));
+    }
+
+    @Override
+    public List<Long> findTopRatedDriverIds(Point location, int limit, double radiusKm) {
+        if (limit <= 0) return List.of();
+
+        double longitude = location.getX();
+        double latitude = location.getY();
+
+        // Min-heap on (rating, -distance), so the lowest rated (then farthest) driver is evicted first.
+        Comparator<Candidate> ranking = Comparator
+                .comparingDouble((Candidate c) -> c.driver().rating())
+                .thenComparing(Comparator.comparingDouble(Candidate::distanceKm).reversed());
+        PriorityQueue<Candidate> best = new PriorityQueue<>(ranking);
+
+        int centerColumn = GeometryUtils.cellIndex(longitude, cellSizeDegrees);
+        int centerRow = GeometryUtils.cellIndex(latitude, cellSizeDegrees);
+        int maxRing = (int) Math.ceil(radiusKm / minCellSizeKm(latitude));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            forEachDriverInRing(centerColumn, centerRow, ring, driver -> {
+                double distanceKm = GeometryUtils.haversineDistanceKm(
+                        longitude, latitude, driver.longitude(), driver.latitude());
+                if (distanceKm > radiusKm) return;
+                best.offer(new Candidate(driver, distanceKm));
+                if (best.size() > limit) best.poll();
+            });
+        }
+
+        return drainSorted(best, ranking.reversed());
+    }
+
+    @Override
+    public Point getDriverLocation(Long driverId) {
+        IndexedDriver driver = driversById.get(driverId);
+        return driver == null ? null : GeometryUtils.createPoint(driver.longitude(), driver.latitude());
+    }
+
+    @Override
+    public Map<Long, Integer> countAvailableDriversByCell(double cellSizeDegrees) {
+        // Cells of the caller's size, which need not match the index grid, so this is a full pass.
+        Map<Long, Integer> counts = new HashMap<>();
+        for (IndexedDriver driver : driversById.values()) {
+            if (!driver.available()) continue;
+            counts.merge(GeometryUtils.cellKey(driver.longitude(), driver.latitude(), cellSizeDegrees), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private void put(IndexedDriver driver) {
+        driversById.compute(driver.driverId(), (id, existing) -> {
+            moveBetweenCells(existing, driver);
+            return driver;
+        });
+    }
+
+    // Called only from inside driversById.compute*, which serialises updates of the same driver.
+    private void moveBetweenCells(IndexedDriver previous, IndexedDriver current) {
+        long previousCell = previous != null && previous.available() ? cellOf(previous) : Long.MIN_VALUE;
+        long currentCell = current != null && current.available() ? cellOf(current) : Long.MIN_VALUE;
+        if (previousCell == currentCell) return;
+
+        if (previousCell != Long.MIN_VALUE) {
+            Set<Long> driverIds = availableDriverIdsByCell.get(previousCell);
+            if (driverIds != null) driverIds.remove(previous.driverId());
+        }
+        if (currentCell != Long.MIN_VALUE) {
+            availableDriverIdsByCell
+                    .computeIfAbsent(currentCell, cell -> ConcurrentHashMap.newKeySet())
+                    .add(current.driverId());
+        }
+    }
+
+    private void forEachDriverInRing(int centerColumn, int centerRow, int ring, Consumer<IndexedDriver> action) {
+        if (ring == 0) {
+            forEachDriverInCell(centerColumn, centerRow, action);
+            return;
+        }
+        // Only the border of the (2 * ring + 1) square belongs to this ring, the inside was visited already.
+        for (int column = centerColumn - ring; column <= centerColumn + ring; column++) {
+            forEachDriverInCell(column, centerRow - ring, action);
+            forEachDriverInCell(column, centerRow + ring, action);
+        }
+        for (int row = centerRow - ring + 1; row <= centerRow + ring - 1; row++) {
+            forEachDriverInCell(centerColumn - ring, row, action);
+            forEachDriverInCell(centerColumn + ring, row, action);
+        }
+    }
+
+    private void forEachDriverInCell(int column, int row, Consumer<IndexedDriver> action) {
+        Set<Long> driverIds = availableDriverIdsByCell.get(GeometryUtils.cellKey(column, row));
+        if (driverIds == null) return;
+        for (Long driverId : driverIds) {
+            IndexedDriver driver = driversById.get(driverId);
+            if (driver != null && driver.available()) action.accept(driver);
+        }
+    }
+
+    private long cellOf(IndexedDriver driver) {
+        return GeometryUtils.cellKey(driver.longitude(), driver.latitude(), cellSizeDegrees);
+    }
+
+    private double minCellSizeKm(double latitude) {
+        // A cell is narrower east-west than north-south everywhere except on the equator.
+        return cellSizeDegrees * KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+    }
+
+    private static List<Long> drainSorted(PriorityQueue<Candidate> heap, Comparator<Candidate> order) {
+        List<Candidate> candidates = new ArrayList<>(heap);
+        candidates.sort(order);
+        // A driver that moved cells during the scan can be seen twice, keep its best position only.
+        Set<Long> driverIds = new LinkedHashSet<>();
+        for (Candidate candidate : candidates) {
+            driverIds.add(candidate.driver().driverId());
+        }
+        return new ArrayList<>(driverIds);
+    }
+
+    private record IndexedDriver(Long driverId, double longitude, double latitude, double rating, boolean available) {
+    }
+
+    private record Candidate(IndexedDriver driver, double distanceKm) {
+    }
+}
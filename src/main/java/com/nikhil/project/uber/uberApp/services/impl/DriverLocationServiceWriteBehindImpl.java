@@ -0,0 +1,108 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.DriverLocationUpdate;
+import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.services.DriverLocationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Write-behind buffer for driver location pings.
+ *
+ * A ping only replaces the driver's entry in a map (latest wins) and moves the driver in the
+ * in-memory index, so the HTTP thread never touches the database. A scheduler drains the map
+ * periodically and writes everything in JDBC batches, i.e. at most one row update per driver
+ * per flush no matter how often the driver app pings.
+ */
+@Service
+@Slf4j
+public class DriverLocationServiceWriteBehindImpl implements DriverLocationService {
+
+    private final DriverRepository driverRepository;
+    private final DriverIndexService driverIndexService;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<Long, DriverLocationUpdate> pendingLocations = new ConcurrentHashMap<>();
+
+    private final Counter receivedPings;
+    private final Counter flushedLocations;
+    private final Counter failedFlushes;
+    private final Timer flushTimer;
+
+    public DriverLocationServiceWriteBehindImpl(DriverRepository driverRepository,
+                                                DriverIndexService driverIndexService,
+                                                MeterRegistry meterRegistry,
+                                                @Value("${uber.driver-location.flush-batch-size:500}") int batchSize) {
+        this.driverRepository = driverRepository;
+        this.driverIndexService = driverIndexService;
+        this.batchSize = batchSize;
+
+        Gauge.builder("uber.driver.location.pending", pendingLocations, ConcurrentHashMap::size)
+                .description("Drivers with a location ping that is not yet written to the database")
+                .register(meterRegistry);
+        this.receivedPings = Counter.builder("uber.driver.location.pings")
+                .description("Location pings received from driver apps")
+                .register(meterRegistry);
+        this.flushedLocations = Counter.builder("uber.driver.location.flushed")
+                .description("Driver rows updated by the write-behind flush")
+                .register(meterRegistry);
+        this.failedFlushes = Counter.builder("uber.driver.location.flush.failures")
+                .description("Flushes that failed and were put back in the buffer")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("uber.driver.location.flush")
+                .description("Time taken to write one drained buffer to the database")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void recordLocation(Long driverId, double longitude, double latitude) {
+        pendingLocations.put(driverId, new DriverLocationUpdate(driverId, longitude, latitude));
+        driverIndexService.updateDriverLocation(driverId, longitude, latitude);
+        receivedPings.increment();
+    }
+
+    @Override
+    public int flushPendingLocations() {
+        if (pendingLocations.isEmpty()) return 0;
+
+        // remove() hands each entry to exactly one flush; a ping arriving afterwards
+        // simply lands in the map again and goes out with the next flush.
+        List<DriverLocationUpdate> drained = new ArrayList<>(pendingLocations.size());
+        for (Long driverId : pendingLocations.keySet()) {
+            DriverLocationUpdate update = pendingLocations.remove(driverId);
+            if (update != null) drained.add(update);
+        }
+        if (drained.isEmpty()) return 0;
+
+        Timer.Sample sample = Timer.start();
+        try {
+            driverRepository.batchUpdateLocations(drained, batchSize);
+            flushedLocations.increment(drained.size());
+            return drained.size();
+        } catch (RuntimeException ex) {
+            // Put the drained pings back unless a newer ping for the same driver arrived meanwhile.
+            drained.forEach(update -> pendingLocations.putIfAbsent(update.driverId(), update));
+            failedFlushes.increment();
+            log.error("Failed to flush {} driver locations, will retry on next flush", drained.size(), ex);
+            return 0;
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    @Override
+    public int getPendingLocationCount() {
+        return pendingLocations.size();
+    }
+}
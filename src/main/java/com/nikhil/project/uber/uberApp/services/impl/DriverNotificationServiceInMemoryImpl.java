@@ -0,0 +1,97 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.RideOfferDto;
+import com.nikhil.project.uber.uberApp.services.DriverNotificationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Pull delivery: offers wait in memory per driver until the driver app polls
+ * GET /drivers/getMyRideOffers, which drains them. A push implementation (FCM, WebSocket, ...)
+ * can replace this bean without any change to the dispatch pipeline.
+ *
+ * Bounded so drivers that stop polling cannot grow it forever: at most `maxOffersPerDriver` are
+ * kept per driver (the oldest is dropped), and an offer expires after `offerTtl`. Expired offers
+ * are dropped when the driver polls or gets a new offer, and by RideOfferPurgeScheduler for
+ * drivers that do neither.
+ */
+@Service
+@Slf4j
+public class DriverNotificationServiceInMemoryImpl implements DriverNotificationService {
+
+    private final Clock clock;
+    private final int maxOffersPerDriver;
+    private final Duration offerTtl;
+
+    // Each deque is only touched inside offersByDriver.compute*, which serialises access per driver.
+    private final ConcurrentHashMap<Long, Deque<PendingOffer>> offersByDriver = new ConcurrentHashMap<>();
+
+    public DriverNotificationServiceInMemoryImpl(Clock clock,
+                                                 @Value("${uber.dispatch.offers.max-per-driver:20}") int maxOffersPerDriver,
+                                                 @Value("${uber.dispatch.offers.ttl-ms:60000}") long offerTtlMs) {
+        this.clock = clock;
+        this.maxOffersPerDriver = maxOffersPerDriver;
+        this.offerTtl = Duration.ofMillis(offerTtlMs);
+    }
+
+    @Override
+    public void sendRideOffer(RideOfferDto rideOffer) {
+        Instant now = clock.instant();
+        offersByDriver.compute(rideOffer.getDriverId(), (driverId, offers) -> {
+            Deque<PendingOffer> pending = offers == null ? new ArrayDeque<>() : offers;
+            dropExpired(pending, now);
+            if (pending.size() >= maxOffersPerDriver) pending.pollFirst();
+            pending.addLast(new PendingOffer(rideOffer, now.plus(offerTtl)));
+            return pending;
+        });
+        log.debug("Ride request {} offered to driver {} (wave {})",
+                rideOffer.getRideRequestId(), rideOffer.getDriverId(), rideOffer.getWave());
+    }
+
+    @Override
+    public List<RideOfferDto> drainRideOffers(Long driverId) {
+        Deque<PendingOffer> offers = offersByDriver.remove(driverId);
+        if (offers == null) return List.of();
+        Instant now = clock.instant();
+        return offers.stream()
+                .filter(offer -> offer.expiresAt().isAfter(now))
+                .map(PendingOffer::rideOffer)
+                .toList();
+    }
+
+    @Override
+    public int purgeExpiredOffers() {
+        Instant now = clock.instant();
+        AtomicInteger purged = new AtomicInteger();
+        for (Long driverId : offersByDriver.keySet()) {
+            offersByDriver.computeIfPresent(driverId, (id, offers) -> {
+                purged.addAndGet(dropExpired(offers, now));
+                return offers.isEmpty() ? null : offers;
+            });
+        }
+        return purged.get();
+    }
+
+    // Offers are appended in time order with the same TTL, so the expired ones are at the head.
+    private static int dropExpired(Deque<PendingOffer> offers, Instant now) {
+        int dropped = 0;
+        while (!offers.isEmpty() && !offers.peekFirst().expiresAt().isAfter(now)) {
+            offers.pollFirst();
+            dropped++;
+        }
+        return dropped;
+    }
+
+    private record PendingOffer(RideOfferDto rideOffer, Instant expiresAt) {
+    }
+}
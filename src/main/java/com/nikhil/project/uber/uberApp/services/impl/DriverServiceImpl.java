@@ -1,27 +1,41 @@
 package com.nikhil.project.uber.uberApp.services.impl;
 
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
 import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.PointDto;
 import com.nikhil.project.uber.uberApp.dto.RideDto;
+import com.nikhil.project.uber.uberApp.dto.RideOfferDto;
 import com.nikhil.project.uber.uberApp.dto.RiderDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
 import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.Ride;
 import com.nikhil.project.uber.uberApp.entities.RideRequest;
 import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
 import com.nikhil.project.uber.uberApp.enums.RideStatus;
 import com.nikhil.project.uber.uberApp.exceptions.*;
+import com.nikhil.project.uber.uberApp.mappers.DriverMapper;
+import com.nikhil.project.uber.uberApp.mappers.RideMapper;
 import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
+import com.nikhil.project.uber.uberApp.security.CurrentUserContext;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.services.DriverLocationService;
+import com.nikhil.project.uber.uberApp.services.DriverNotificationService;
 import com.nikhil.project.uber.uberApp.services.DriverService;
 import com.nikhil.project.uber.uberApp.services.PaymentService;
+import com.nikhil.project.uber.uberApp.services.PaymentSettlementService;
+import com.nikhil.project.uber.uberApp.services.RatingService;
 import com.nikhil.project.uber.uberApp.services.RideRequestService;
 import com.nikhil.project.uber.uberApp.services.RideService;
+import com.nikhil.project.uber.uberApp.services.WalletTransactionService;
+import com.nikhil.project.uber.uberApp.utils.KeysetPaginationUtils;
+import com.nikhil.project.uber.uberApp.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -30,8 +44,14 @@ public class DriverServiceImpl implements DriverService {
     private final RideRequestService rideRequestService;
     private final DriverRepository driverRepository;
     private final RideService rideService;
-    private final ModelMapper modelMapper;
     private final PaymentService paymentService;
+    private final PaymentSettlementService paymentSettlementService;
+    private final RatingService ratingService;
+    private final DriverIndexService driverIndexService;
+    private final DriverLocationService driverLocationService;
+    private final DriverNotificationService driverNotificationService;
+    private final WalletTransactionService walletTransactionService;
+    private final CurrentUserContext currentUserContext;
 
     @Override
     @Transactional
@@ -52,7 +72,7 @@ public class DriverServiceImpl implements DriverService {
 
         Ride newRide = rideService.createNewRide(rideRequest, currentDriver);
 
-        return modelMapper.map(newRide,RideDto.class);
+        return RideMapper.toRideDto(newRide);
     }
 
     @Override
@@ -75,7 +95,7 @@ public class DriverServiceImpl implements DriverService {
         rideService.updateRideStatus(ride,RideStatus.CANCELLED);
         updateDriverAvailability(currentDriver, true);
         driverRepository.save(currentDriver);
-        return modelMapper.map(ride,RideDto.class);
+        return RideMapper.toRideDto(ride);
     }
 
     @Override
@@ -105,8 +125,10 @@ public class DriverServiceImpl implements DriverService {
 
         Ride saveRide = rideService.updateRideStatus(ride, RideStatus.ONGOING);
         paymentService.createNewPayment(saveRide);
+        // Empty rating row for the ride; rateDriver / rateRider fill it in after the ride.
+        ratingService.createNewRating(saveRide);
 
-        return modelMapper.map(saveRide,RideDto.class);
+        return RideMapper.toRideDto(saveRide);
     }
 
     @Override
@@ -130,8 +152,9 @@ public class DriverServiceImpl implements DriverService {
         Ride savedRide = rideService.updateRideStatus(ride, RideStatus.ENDED);
         updateDriverAvailability(currentDriver, true);
 
-        paymentService.processPayment(ride);
-        return modelMapper.map(savedRide,RideDto.class);
+        // Money moves in the background (payment_settlement outbox), not on the driver's request.
+        paymentSettlementService.enqueueSettlement(ride);
+        return RideMapper.toRideDto(savedRide);
     }
 
     @Override
@@ -141,34 +164,65 @@ public class DriverServiceImpl implements DriverService {
 
     @Override
     public DriverDto getMyProfile() {
-        return modelMapper.map(getCurrentDriver(),DriverDto.class);
+        return DriverMapper.toDriverDto(getCurrentDriver());
     }
 
     @Override
     @Transactional
-    public Page<RideDto> getAllMyRides(PageRequest pageRequest) {
+    public CursorSliceDto<RideDto> getAllMyRides(LocalDateTime beforeTime, Long beforeId, Integer size) {
+        int pageSize = KeysetPaginationUtils.pageSize(size);
+        List<RideDto> rides = rideService.getRideHistoryOfDriver(getCurrentDriverId(), beforeTime, beforeId, pageSize + 1);
+        return KeysetPaginationUtils.toSlice(rides, pageSize,
+                Function.identity(),
+                RideDto::getCreatedTime,
+                RideDto::getId);
+    }
+
+    @Override
+    public CursorSliceDto<WalletTransactionDto> getMyWalletTransactions(LocalDateTime beforeTime, Long beforeId,
+                                                                        Integer size) {
         Driver currentDriver = getCurrentDriver();
-        return rideService.getAllRidesOfDriver(currentDriver, pageRequest).map(
-                ride -> modelMapper.map(ride, RideDto.class)
-        );
+        return walletTransactionService.getWalletTransactions(currentDriver.getUser(), beforeTime, beforeId, size);
     }
 
+    // Loaded once per request; the id itself comes from the access token.
     @Override
     public Driver getCurrentDriver() {
-        return driverRepository.findById(2L).orElseThrow(() ->
-                    new DriverNotFoundException("Driver not found with id " + 2)
-                );
+        Long driverId = getCurrentDriverId();
+        return currentUserContext.getDriver(() -> driverRepository.findById(driverId).orElseThrow(() ->
+                    new DriverNotFoundException("Driver not found with id " + driverId)
+                ));
+    }
+
+    @Override
+    public Long getCurrentDriverId() {
+        return currentUserContext.getDriverId();
+    }
+
+    @Override
+    public void updateCurrentLocation(PointDto location) {
+        // Buffered and written in batches, see DriverLocationServiceWriteBehindImpl.
+        driverLocationService.recordLocation(getCurrentDriverId(),
+                location.getCoordinates()[0], location.getCoordinates()[1]);
+    }
+
+    @Override
+    public List<RideOfferDto> getMyRideOffers() {
+        return driverNotificationService.drainRideOffers(getCurrentDriverId());
     }
 
     @Override
     public Driver updateDriverAvailability(Driver driver, boolean available) {
         driver.setAvailable(available);
         driverRepository.save(driver);
+        TransactionUtils.runAfterCommit(() -> driverIndexService.upsertDriver(driver));
         return driver;
     }
 
     @Override
     public Driver createNewDriver(Driver driver) {
-        return driverRepository.save(driver);
+        Driver savedDriver = driverRepository.save(driver);
+        TransactionUtils.runAfterCommit(() -> driverIndexService.upsertDriver(savedDriver));
+        return savedDriver;
     }
 }
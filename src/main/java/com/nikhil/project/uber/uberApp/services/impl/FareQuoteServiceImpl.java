@@ -0,0 +1,143 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nikhil.project.uber.uberApp.dto.FareQuoteDto;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.services.FareQuoteService;
+import com.nikhil.project.uber.uberApp.strategies.RideFareCalculationStrategy;
+import com.nikhil.project.uber.uberApp.strategies.RideStrategyManager;
+import com.nikhil.project.uber.uberApp.utils.HmacUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Fare quotes: the full fare calculation (road distance + current strategy) runs once per quote,
+ * the result is kept for a short TTL and requestRide reuses it instead of calculating again.
+ *
+ * Token = base64url("quoteId:riderId:expiresAtMillis") + "." + HMAC-SHA256 signature.
+ * The signature stops riders from inventing quote ids or stretching the expiry, and the rider id
+ * binds a quote to the rider who asked for it. The quote itself stays on the server, so the fare
+ * cannot be tampered with either.
+ *
+ * A quote is single-use: redeeming removes it, so one token cannot price any number of requests
+ * until it expires. If the ride request then fails, the rider's next attempt is simply priced anew.
+ */
+@Service
+@Slf4j
+public class FareQuoteServiceImpl implements FareQuoteService {
+
+    // Same points as quoted, allowing for float noise from JSON round trips (~1 cm).
+    private static final double SAME_POINT_DEGREES = 1e-7;
+
+    private final DistanceService distanceService;
+    private final RideStrategyManager rideStrategyManager;
+    private final Clock clock;
+    private final byte[] signingKey;
+    private final Duration ttl;
+    private final Cache<String, FareQuote> quotes;
+
+    public FareQuoteServiceImpl(DistanceService distanceService,
+                                RideStrategyManager rideStrategyManager,
+                                Clock clock,
+                                @Value("${uber.fare-quote.signing-secret:}") String signingSecret,
+                                @Value("${uber.fare-quote.ttl-seconds:120}") long ttlSeconds,
+                                @Value("${uber.fare-quote.max-size:100000}") long maxSize) {
+        this.distanceService = distanceService;
+        this.rideStrategyManager = rideStrategyManager;
+        this.clock = clock;
+        this.signingKey = signingSecret.isBlank() ? randomKey() : signingSecret.getBytes(StandardCharsets.UTF_8);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.quotes = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public FareQuoteDto createQuote(RideRequest rideRequest) {
+        double distanceKm = distanceService.calculateDistance(
+                rideRequest.getPickupLocation(), rideRequest.getDropOffLocation());
+        RideFareCalculationStrategy strategy = rideStrategyManager.rideFareCalculationStrategy(rideRequest);
+        double fare = strategy.calculateFare(rideRequest, distanceKm);
+
+        String quoteId = UUID.randomUUID().toString();
+        Instant expiresAt = clock.instant().plus(ttl);
+        quotes.put(quoteId, new FareQuote(rideRequest.getPickupLocation(), rideRequest.getDropOffLocation(), fare));
+
+        String payload = quoteId + ":" + rideRequest.getRider().getId() + ":" + expiresAt.toEpochMilli();
+        String encodedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        String token = encodedPayload + "." + HmacUtils.signHmacSha256(signingKey, encodedPayload);
+
+        return new FareQuoteDto(token, fare, distanceKm, strategy.getClass().getSimpleName(), expiresAt);
+    }
+
+    @Override
+    public Optional<Double> redeemQuotedFare(String quoteToken, RideRequest rideRequest) {
+        if (quoteToken == null || quoteToken.isBlank()) return Optional.empty();
+
+        int separator = quoteToken.indexOf('.');
+        if (separator < 0) return rejected("malformed token");
+        String encodedPayload = quoteToken.substring(0, separator);
+        if (!HmacUtils.verifyHmacSha256(signingKey, encodedPayload, quoteToken.substring(separator + 1))) {
+            return rejected("bad signature");
+        }
+
+        String[] fields;
+        try {
+            fields = new String(Base64.getUrlDecoder().decode(encodedPayload), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException ex) {
+            return rejected("malformed token");
+        }
+        if (fields.length != 3) return rejected("malformed token");
+
+        Long riderId = rideRequest.getRider().getId();
+        if (!fields[1].equals(String.valueOf(riderId))) return rejected("issued to another rider");
+        if (clock.millis() > Long.parseLong(fields[2])) return rejected("expired");
+
+        FareQuote quote = quotes.getIfPresent(fields[0]);
+        if (quote == null) return rejected("no longer cached or already used");
+        if (!samePoint(quote.pickupLocation(), rideRequest.getPickupLocation())
+                || !samePoint(quote.dropOffLocation(), rideRequest.getDropOffLocation())) {
+            return rejected("locations changed");
+        }
+        // Conditional remove: of two concurrent requests with the same token only one gets the fare.
+        if (!quotes.asMap().remove(fields[0], quote)) return rejected("already used");
+        return Optional.of(quote.fare());
+    }
+
+    // An unusable token is not an error for the rider: requestRide just prices the ride again.
+    private static Optional<Double> rejected(String reason) {
+        log.debug("Fare quote not used: {}", reason);
+        return Optional.empty();
+    }
+
+    private static boolean samePoint(Point a, Point b) {
+        return Math.abs(a.getX() - b.getX()) <= SAME_POINT_DEGREES
+                && Math.abs(a.getY() - b.getY()) <= SAME_POINT_DEGREES;
+    }
+
+    // Without a configured secret, tokens are only valid on this instance until it restarts,
+    // which is also true of the cached quotes themselves.
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+
+    private record FareQuote(Point pickupLocation, Point dropOffLocation, double fare) {
+    }
+}
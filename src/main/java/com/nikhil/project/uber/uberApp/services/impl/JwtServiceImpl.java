@@ -0,0 +1,118 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.security.AuthenticatedUser;
+import com.nikhil.project.uber.uberApp.services.JwtService;
+import com.nikhil.project.uber.uberApp.utils.HmacUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/*
+ * HS256 JSON Web Tokens: base64url(header) + "." + base64url(claims) + "." + HMAC-SHA256 signature.
+ *
+ * Claims: sub (user id), roles, riderId, driverId, iat, exp (epoch seconds). Everything a request
+ * needs to know who is calling is in the token, so verifying it is one HMAC and a JSON parse.
+ *
+ * Only tokens with exactly our header are accepted, which rules out "alg": "none" and algorithm
+ * confusion without parsing the header.
+ */
+@Service
+@Slf4j
+public class JwtServiceImpl implements JwtService {
+
+    private static final String HEADER = base64Url("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final byte[] signingKey;
+    private final Duration ttl;
+
+    public JwtServiceImpl(ObjectMapper objectMapper,
+                          Clock clock,
+                          @Value("${uber.auth.token.signing-secret:}") String signingSecret,
+                          @Value("${uber.auth.token.ttl-minutes:60}") long ttlMinutes) {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.signingKey = signingSecret.isBlank() ? randomKey() : signingSecret.getBytes(StandardCharsets.UTF_8);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+    }
+
+    @Override
+    public String generateToken(AuthenticatedUser user) {
+        long issuedAt = clock.instant().getEpochSecond();
+
+        ObjectNode claims = objectMapper.createObjectNode();
+        claims.put("sub", String.valueOf(user.userId()));
+        ArrayNode roles = claims.putArray("roles");
+        user.roles().forEach(role -> roles.add(role.name()));
+        claims.put("riderId", user.riderId());
+        claims.put("driverId", user.driverId());
+        claims.put("iat", issuedAt);
+        claims.put("exp", issuedAt + ttl.toSeconds());
+
+        String unsigned = HEADER + "." + base64Url(claims.toString().getBytes(StandardCharsets.UTF_8));
+        return unsigned + "." + HmacUtils.signHmacSha256(signingKey, unsigned);
+    }
+
+    @Override
+    public Optional<AuthenticatedUser> parseToken(String token) {
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < 0 || !token.startsWith(HEADER + ".")) return rejected("malformed token");
+
+        String unsigned = token.substring(0, signatureStart);
+        if (!HmacUtils.verifyHmacSha256(signingKey, unsigned, token.substring(signatureStart + 1))) {
+            return rejected("bad signature");
+        }
+
+        try {
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(unsigned.substring(HEADER.length() + 1)));
+            if (clock.instant().getEpochSecond() >= claims.path("exp").asLong()) return rejected("expired");
+
+            Set<Role> roles = EnumSet.noneOf(Role.class);
+            for (JsonNode role : claims.path("roles")) {
+                roles.add(Role.valueOf(role.asText()));
+            }
+            return Optional.of(new AuthenticatedUser(
+                    Long.valueOf(claims.path("sub").asText()),
+                    roles,
+                    optionalLong(claims.path("riderId")),
+                    optionalLong(claims.path("driverId"))));
+        } catch (IOException | IllegalArgumentException ex) {
+            return rejected("malformed claims");
+        }
+    }
+
+    private static Long optionalLong(JsonNode node) {
+        return node.isIntegralNumber() ? node.asLong() : null;
+    }
+
+    private static Optional<AuthenticatedUser> rejected(String reason) {
+        log.debug("Access token rejected: {}", reason);
+        return Optional.empty();
+    }
+
+    private static String base64Url(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+}
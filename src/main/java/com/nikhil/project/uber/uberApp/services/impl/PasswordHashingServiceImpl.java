@@ -0,0 +1,109 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.exceptions.PasswordHashingCapacityExceededException;
+import com.nikhil.project.uber.uberApp.services.PasswordHashingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * bcrypt through DelegatingPasswordEncoder, so every stored hash names its algorithm and carries
+ * its work factor: "{bcrypt}$2a$10$<salt><hash>". Raising uber.auth.password.bcrypt-strength
+ * only changes new hashes; needsRehash tells login which old ones to replace.
+ *
+ * A stored value that is not a "{bcrypt}" hash never matches. Passwords stored as plain text
+ * before hashing existed are converted once with uber.auth.password.backfill-on-startup
+ * (PasswordHashBackfillRunner).
+ *
+ * The hashing itself runs on passwordHashingExecutor, never on the request thread, so a signup
+ * storm is limited to that pool's cores. The request thread waits for the result, but only if it
+ * got a place: a full pool rejects at once (PasswordHashingCapacityExceededException, 503).
+ */
+@Service
+@Slf4j
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String BCRYPT_PREFIX = "{" + BCRYPT + "}";
+
+    private final PasswordEncoder passwordEncoder;
+    private final AsyncTaskExecutor passwordHashingExecutor;
+    private final long hashTimeoutMillis;
+    private final String unknownUserHash;
+
+    public PasswordHashingServiceImpl(@Qualifier("passwordHashingExecutor") AsyncTaskExecutor passwordHashingExecutor,
+                                      @Value("${uber.auth.password.bcrypt-strength:10}") int bcryptStrength,
+                                      @Value("${uber.auth.password.hash-timeout-ms:2000}") long hashTimeoutMillis) {
+        this.passwordEncoder =
+                new DelegatingPasswordEncoder(BCRYPT, Map.of(BCRYPT, new BCryptPasswordEncoder(bcryptStrength)));
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.hashTimeoutMillis = hashTimeoutMillis;
+        // Checked against for unknown emails, so the response time does not tell which emails exist.
+        this.unknownUserHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return runBounded(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String storedHash) {
+        if (rawPassword == null) return false;
+        boolean usable = isHashed(storedHash);
+        if (storedHash != null && !usable) {
+            log.warn("Stored password is not a {} hash and cannot match, run the password hash backfill", BCRYPT);
+        }
+        String hash = usable ? storedHash : unknownUserHash;
+        boolean matches = runBounded(() -> passwordEncoder.matches(rawPassword, hash));
+        return matches && usable;
+    }
+
+    @Override
+    public boolean isHashed(String storedValue) {
+        return storedValue != null && storedValue.startsWith(BCRYPT_PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        return storedHash != null && passwordEncoder.upgradeEncoding(storedHash);
+    }
+
+    private <T> T runBounded(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = passwordHashingExecutor.submit(task);
+        } catch (RejectedExecutionException ex) {
+            throw new PasswordHashingCapacityExceededException("Too many passwords are being hashed, please try again shortly");
+        }
+
+        try {
+            return result.get(hashTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            result.cancel(true);
+            throw new PasswordHashingCapacityExceededException(
+                    "Password hashing did not finish within " + hashTimeoutMillis + " ms, please try again shortly");
+        } catch (InterruptedException ex) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingCapacityExceededException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.Payment;
+import com.nikhil.project.uber.uberApp.entities.PaymentSettlement;
+import com.nikhil.project.uber.uberApp.entities.Ride;
+import com.nikhil.project.uber.uberApp.enums.PaymentStatus;
+import com.nikhil.project.uber.uberApp.enums.SettlementStatus;
+import com.nikhil.project.uber.uberApp.exceptions.InsufficientWalletBalanceException;
+import com.nikhil.project.uber.uberApp.exceptions.PaymentNotFoundException;
+import com.nikhil.project.uber.uberApp.exceptions.WalletNotFoundException;
+import com.nikhil.project.uber.uberApp.repositories.PaymentRepository;
+import com.nikhil.project.uber.uberApp.repositories.PaymentSettlementRepository;
+import com.nikhil.project.uber.uberApp.services.PaymentSettlementService;
+import com.nikhil.project.uber.uberApp.strategies.PaymentStrategyManager;
+import com.nikhil.project.uber.uberApp.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Settles payments outside the end-ride request, from the payment_settlement outbox.
+ *
+ * Each settlement runs in its own transaction: claim one due row (FOR UPDATE SKIP LOCKED),
+ * run the payment strategy, mark the row COMPLETED. The wallet writes and the outbox update
+ * commit together, so a crash in between simply leaves the row PENDING for the next worker.
+ *
+ * Idempotency, keyed on the payment id:
+ * - one outbox row per payment (unique payment_id),
+ * - a payment that is already CONFIRMED is not charged again, only its row is completed,
+ * - the strategies derive ledger transaction ids from the payment id, so even a duplicate
+ *   run would hit the unique transaction_id constraint instead of moving money twice.
+ *
+ * A failed attempt is rolled back and recorded in a separate transaction with exponential
+ * backoff; after maxAttempts the row is left FAILED for someone to look at. Business failures
+ * (a missing payment or wallet, a refused balance) fail the row at once: retrying cannot fix them.
+ */
+@Service
+@Slf4j
+public class PaymentSettlementServiceImpl implements PaymentSettlementService {
+
+    private final PaymentSettlementRepository paymentSettlementRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentStrategyManager paymentStrategyManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor paymentSettlementExecutor;
+    private final Clock clock;
+    private final int workers;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+
+    private final AtomicInteger runningWorkers = new AtomicInteger();
+
+    public PaymentSettlementServiceImpl(PaymentSettlementRepository paymentSettlementRepository,
+                                        PaymentRepository paymentRepository,
+                                        PaymentStrategyManager paymentStrategyManager,
+                                        TransactionTemplate transactionTemplate,
+                                        @Qualifier("paymentSettlementExecutor") TaskExecutor paymentSettlementExecutor,
+                                        Clock clock,
+                                        @Value("${uber.payment.settlement.workers:4}") int workers,
+                                        @Value("${uber.payment.settlement.max-attempts:5}") int maxAttempts,
+                                        @Value("${uber.payment.settlement.retry-backoff-ms:2000}") long retryBackoffMs) {
+        this.paymentSettlementRepository = paymentSettlementRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentStrategyManager = paymentStrategyManager;
+        this.transactionTemplate = transactionTemplate;
+        this.paymentSettlementExecutor = paymentSettlementExecutor;
+        this.clock = clock;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+    }
+
+    @Override
+    public void enqueueSettlement(Ride ride) {
+        Payment payment = paymentRepository.findByRide(ride).orElseThrow(() ->
+                new PaymentNotFoundException("Payment not found for ride with id: " + ride.getId())
+        );
+
+        PaymentSettlement paymentSettlement = new PaymentSettlement();
+        paymentSettlement.setPaymentId(payment.getId());
+        paymentSettlement.setStatus(SettlementStatus.PENDING);
+        paymentSettlement.setNextAttemptAt(LocalDateTime.now(clock));
+        paymentSettlementRepository.save(paymentSettlement);
+
+        // Don't wait for the next poll, but only once the row is actually visible to the workers.
+        TransactionUtils.runAfterCommit(this::startWorkers);
+    }
+
+    @Override
+    public void startWorkers() {
+        while (true) {
+            int running = runningWorkers.get();
+            if (running >= workers) return;
+            if (!runningWorkers.compareAndSet(running, running + 1)) continue;
+            try {
+                paymentSettlementExecutor.execute(this::drainDueSettlements);
+            } catch (TaskRejectedException ex) {
+                runningWorkers.decrementAndGet();
+                log.warn("Payment settlement executor rejected a worker, the next poll will retry");
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean settleNextPayment() {
+        AtomicReference<Long> claimedId = new AtomicReference<>();
+        try {
+            Boolean settled = transactionTemplate.execute(status ->
+                    paymentSettlementRepository.claimNextDue(LocalDateTime.now(clock))
+                            .map(paymentSettlement -> {
+                                claimedId.set(paymentSettlement.getId());
+                                settle(paymentSettlement);
+                                return true;
+                            })
+                            .orElse(false));
+            return Boolean.TRUE.equals(settled);
+        } catch (RuntimeException ex) {
+            if (claimedId.get() == null) throw ex;
+            recordFailedAttempt(claimedId.get(), ex);
+            return true;
+        }
+    }
+
+    private void drainDueSettlements() {
+        try {
+            while (settleNextPayment()) {
+                // keep going until nothing is due
+            }
+        } catch (RuntimeException ex) {
+            log.error("Payment settlement worker stopped", ex);
+        } finally {
+            runningWorkers.decrementAndGet();
+        }
+    }
+
+    private void settle(PaymentSettlement paymentSettlement) {
+        Payment payment = paymentRepository.findById(paymentSettlement.getPaymentId()).orElseThrow(() ->
+                new PaymentNotFoundException("Payment not found with id: " + paymentSettlement.getPaymentId())
+        );
+
+        if (payment.getPaymentStatus() == PaymentStatus.CONFIRMED) {
+            log.info("Payment {} was already settled, completing its outbox entry", payment.getId());
+        } else {
+            paymentStrategyManager.paymentStrategy(payment.getPaymentMethod()).processPayment(payment);
+        }
+
+        paymentSettlement.setAttempts(paymentSettlement.getAttempts() + 1);
+        paymentSettlement.setStatus(SettlementStatus.COMPLETED);
+        paymentSettlement.setLastError(null);
+    }
+
+    private void recordFailedAttempt(Long paymentSettlementId, RuntimeException cause) {
+        transactionTemplate.executeWithoutResult(status ->
+                paymentSettlementRepository.findById(paymentSettlementId)
+                        .filter(paymentSettlement -> paymentSettlement.getStatus() == SettlementStatus.PENDING)
+                        .ifPresent(paymentSettlement -> {
+                            int attempts = paymentSettlement.getAttempts() + 1;
+                            paymentSettlement.setAttempts(attempts);
+                            paymentSettlement.setLastError(truncate(String.valueOf(cause.getMessage())));
+                            if (!isRetryable(cause)) {
+                                paymentSettlement.setStatus(SettlementStatus.FAILED);
+                                log.error("Settlement of payment {} cannot succeed, not retrying",
+                                        paymentSettlement.getPaymentId(), cause);
+                            } else if (attempts >= maxAttempts) {
+                                paymentSettlement.setStatus(SettlementStatus.FAILED);
+                                log.error("Giving up on payment {} after {} attempts",
+                                        paymentSettlement.getPaymentId(), attempts, cause);
+                            } else {
+                                long backoffMs = retryBackoffMs << Math.min(attempts - 1, 16);
+                                paymentSettlement.setNextAttemptAt(LocalDateTime.now(clock).plus(Duration.ofMillis(backoffMs)));
+                                log.warn("Settlement of payment {} failed (attempt {}), retrying in {} ms",
+                                        paymentSettlement.getPaymentId(), attempts, backoffMs, cause);
+                            }
+                        }));
+    }
+
+    // Anything else (lost connection, lock timeout, ...) may well succeed on the next attempt.
+    private static boolean isRetryable(RuntimeException failure) {
+        return !(failure instanceof PaymentNotFoundException
+                || failure instanceof WalletNotFoundException
+                || failure instanceof InsufficientWalletBalanceException);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
@@ -6,66 +6,71 @@ import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.Rating;
 import com.nikhil.project.uber.uberApp.entities.Ride;
 import com.nikhil.project.uber.uberApp.entities.Rider;
+import com.nikhil.project.uber.uberApp.exceptions.DriverNotFoundException;
+import com.nikhil.project.uber.uberApp.exceptions.RiderNotFoundException;
+import com.nikhil.project.uber.uberApp.mappers.DriverMapper;
+import com.nikhil.project.uber.uberApp.mappers.RiderMapper;
 import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
 import com.nikhil.project.uber.uberApp.repositories.RatingRepository;
 import com.nikhil.project.uber.uberApp.repositories.RiderRepository;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
 import com.nikhil.project.uber.uberApp.services.RatingService;
+import com.nikhil.project.uber.uberApp.utils.TransactionUtils;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+/*
+ * A new rating is O(1) regardless of history: the rating row is set with a conditional UPDATE
+ * (only if not rated yet, so a double submit cannot count twice) and the driver's / rider's
+ * ratingCount, ratingSum and average are bumped in one atomic UPDATE. Nothing reads the old ratings.
+ */
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RatingServiceImpl implements RatingService {
 
     private final RatingRepository ratingRepository;
     private final DriverRepository driverRepository;
     private final RiderRepository riderRepository;
-    private final ModelMapper modelMapper;
+    private final DriverIndexService driverIndexService;
 
     @Override
+    @Transactional
     public DriverDto rateDriver(Ride ride, Integer rating) {
-        Driver driver = ride.getDriver();
-        Rating ratingObj = ratingRepository.findByRide(ride)
-                .orElseThrow(() -> new RuntimeException("Rating not found for ride with id: "+ride.getId()));
+        validateRating(rating);
+        Long driverId = ride.getDriver().getId();
 
-        if(ratingObj.getDriverRating() != null)
-            throw new RuntimeException("Driver has already been rated, cannot rate again");
+        if (ratingRepository.setDriverRatingIfAbsent(ride, rating) == 0) {
+            throw ratingRepository.existsByRide(ride)
+                    ? new RuntimeException("Driver has already been rated, cannot rate again")
+                    : new RuntimeException("Rating not found for ride with id: "+ride.getId());
+        }
+        driverRepository.addRating(driverId, rating);
 
-        ratingObj.setDriverRating(rating);
-
-        ratingRepository.save(ratingObj);
-
-        Double newRating = ratingRepository.findByDriver(driver)
-                .stream()
-                .mapToDouble(Rating::getDriverRating)
-                .average().orElse(0.0);
-        driver.setRating(newRating);
-
-        Driver savedDriver = driverRepository.save(driver);
-        return modelMapper.map(savedDriver, DriverDto.class);
+        Driver savedDriver = driverRepository.findById(driverId).orElseThrow(() ->
+                new DriverNotFoundException("Driver not found with id " + driverId));
+        TransactionUtils.runAfterCommit(() -> driverIndexService.upsertDriver(savedDriver));
+        return DriverMapper.toDriverDto(savedDriver);
     }
 
     @Override
+    @Transactional
     public RiderDto rateRider(Ride ride, Integer rating) {
-        Rider rider = ride.getRider();
-        Rating ratingObj = ratingRepository.findByRide(ride)
-                .orElseThrow(() -> new RuntimeException("Rating not found for ride with id: "+ride.getId()));
-        if(ratingObj.getRiderRating() != null)
-            throw new RuntimeException("Rider has already been rated, cannot rate again");
-
-        ratingObj.setRiderRating(rating);
-
-        ratingRepository.save(ratingObj);
+        validateRating(rating);
+        Long riderId = ride.getRider().getId();
 
-        Double newRating = ratingRepository.findByRider(rider)
-                .stream()
-                .mapToDouble(Rating::getRiderRating)
-                .average().orElse(0.0);
-        rider.setRating(newRating);
+        if (ratingRepository.setRiderRatingIfAbsent(ride, rating) == 0) {
+            throw ratingRepository.existsByRide(ride)
+                    ? new RuntimeException("Rider has already been rated, cannot rate again")
+                    : new RuntimeException("Rating not found for ride with id: "+ride.getId());
+        }
+        riderRepository.addRating(riderId, rating);
 
-        Rider savedRider = riderRepository.save(rider);
-        return modelMapper.map(savedRider, RiderDto.class);
+        Rider savedRider = riderRepository.findById(riderId).orElseThrow(() ->
+                new RiderNotFoundException("Rider not found with id: " + riderId));
+        return RiderMapper.toRiderDto(savedRider);
     }
 
     @Override
@@ -77,4 +82,19 @@ public class RatingServiceImpl implements RatingService {
                 .build();
         ratingRepository.save(rating);
     }
+
+    @Override
+    @Transactional
+    public void backfillRatingCounters() {
+        int drivers = driverRepository.backfillRatingCounters();
+        int riders = riderRepository.backfillRatingCounters();
+        log.info("Rating counters rebuilt for {} drivers and {} riders", drivers, riders);
+    }
+
+    // The counters add up raw values, so a bad value would stay in the average forever.
+    private static void validateRating(Integer rating) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new RuntimeException("Rating must be between 1 and 5, got: " + rating);
+        }
+    }
 }
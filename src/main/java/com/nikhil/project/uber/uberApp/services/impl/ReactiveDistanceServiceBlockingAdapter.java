@@ -0,0 +1,28 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.services.ReactiveDistanceService;
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Point;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * For distance providers without a non-blocking client (offline road graph, test stubs): runs the
+ * blocking DistanceService on Reactor's bounded elastic scheduler so it never blocks an event loop.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${uber.distance.provider:osrm}' != 'osrm'")
+public class ReactiveDistanceServiceBlockingAdapter implements ReactiveDistanceService {
+
+    private final DistanceService distanceService;
+
+    @Override
+    public Mono<Double> calculateDistance(Point src, Point dest) {
+        return Mono.fromCallable(() -> distanceService.calculateDistance(src, dest))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,104 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.exceptions.DistanceCalculationException;
+import com.nikhil.project.uber.uberApp.services.ReactiveDistanceService;
+import com.nikhil.project.uber.uberApp.utils.CircuitBreaker;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/*
+ * Non-blocking counterpart of DistanceServiceOSRMImpl for the reactive booking path: the same
+ * OSRM route call, timeouts, circuit breaker settings and straight-line fallback, on WebClient
+ * (Reactor Netty), so thousands of pending OSRM calls cost no threads.
+ *
+ * It has its own circuit breaker; both count into the uber.distance.osrm.fallbacks metric.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "uber.distance.provider", havingValue = "osrm", matchIfMissing = true)
+public class ReactiveDistanceServiceOSRMImpl implements ReactiveDistanceService {
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final double roadFactor;
+    private final Counter fallbacks;
+
+    public ReactiveDistanceServiceOSRMImpl(WebClient.Builder webClientBuilder,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${uber.distance.osrm.base-url:http://router.project-osrm.org}") String baseUrl,
+                                           @Value("${uber.distance.osrm.connect-timeout-ms:500}") int connectTimeoutMs,
+                                           @Value("${uber.distance.osrm.read-timeout-ms:1500}") long readTimeoutMs,
+                                           @Value("${uber.distance.osrm.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                           @Value("${uber.distance.osrm.circuit-breaker.open-ms:30000}") long openMs,
+                                           @Value("${uber.distance.fallback.road-factor:1.4}") double roadFactor) {
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+
+        this.webClient = webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, Duration.ofMillis(openMs));
+        this.roadFactor = roadFactor;
+        this.fallbacks = Counter.builder("uber.distance.osrm.fallbacks")
+                .description("Distances answered with the straight-line estimate because OSRM failed or the circuit was open")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Double> calculateDistance(Point src, Point dest) {
+        return calculateExactDistance(src, dest)
+                .onErrorResume(DistanceCalculationException.class, ex -> {
+                    fallbacks.increment();
+                    log.warn("Falling back to estimated distance: {}", ex.getMessage());
+                    return Mono.just(GeometryUtils.estimateRoadDistanceKm(src, dest, roadFactor));
+                });
+    }
+
+    private Mono<Double> calculateExactDistance(Point src, Point dest) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new DistanceCalculationException("OSRM circuit breaker is open"));
+            }
+            return webClient.get()
+                    .uri("/route/v1/driving/{src};{dest}?overview=false",
+                            src.getX() + "," + src.getY(), dest.getX() + "," + dest.getY())
+                    .retrieve()
+                    .bodyToMono(OSRMResponseDto.class)
+                    .onErrorMap(ex -> {
+                        circuitBreaker.recordFailure();
+                        return new DistanceCalculationException("Error while calling OSRM API for distance calculation", ex);
+                    })
+                    // OSRM answered, so it is healthy even if it found no route.
+                    .doOnNext(response -> circuitBreaker.recordSuccess())
+                    .switchIfEmpty(Mono.error(() -> new DistanceCalculationException(
+                            "Unexpected response received from OSRM: empty body")))
+                    .map(ReactiveDistanceServiceOSRMImpl::toKilometers);
+        });
+    }
+
+    private static double toKilometers(OSRMResponseDto response) {
+        if (!"Ok".equals(response.getCode())) {
+            throw new DistanceCalculationException("Unexpected response received from OSRM: " + response.getCode());
+        }
+        if (response.getRoutes() == null || response.getRoutes().isEmpty()
+                || response.getRoutes().get(0).getDistance() == null) {
+            throw new DistanceCalculationException("Empty response received from OSRM");
+        }
+        return response.getRoutes().get(0).getDistance() / 1000.0;
+    }
+}
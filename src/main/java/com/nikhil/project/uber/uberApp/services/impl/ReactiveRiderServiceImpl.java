@@ -0,0 +1,118 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.entities.Rider;
+import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
+import com.nikhil.project.uber.uberApp.exceptions.RideRequestTimeoutException;
+import com.nikhil.project.uber.uberApp.exceptions.RiderNotFoundException;
+import com.nikhil.project.uber.uberApp.mappers.RideRequestMapper;
+import com.nikhil.project.uber.uberApp.repositories.reactive.ReactiveDriverRepository;
+import com.nikhil.project.uber.uberApp.repositories.reactive.ReactiveRideRequestRepository;
+import com.nikhil.project.uber.uberApp.repositories.reactive.ReactiveRiderRepository;
+import com.nikhil.project.uber.uberApp.services.FareQuoteService;
+import com.nikhil.project.uber.uberApp.services.ReactiveDistanceService;
+import com.nikhil.project.uber.uberApp.services.ReactiveRiderService;
+import com.nikhil.project.uber.uberApp.services.RideDispatchService;
+import com.nikhil.project.uber.uberApp.services.RiderService;
+import com.nikhil.project.uber.uberApp.services.SurgePricingService;
+import com.nikhil.project.uber.uberApp.strategies.RideStrategyManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * requestRide without blocking a thread anywhere: R2DBC for the rider, the driver lookup and the
+ * insert, WebClient for OSRM. The rider and the fare are fetched at the same time and the driver
+ * lookup starts as soon as the rider's rating is known; the insert waits for all three.
+ *
+ * Differences from RiderServiceImpl.requestRide, on purpose for the experiment:
+ * - drivers are always matched with the PostGIS queries (no in-memory index, no batch matching);
+ * - there is no distance cache in front of OSRM;
+ * - rider, fare and drivers are read without a transaction, the insert is a single statement.
+ * Surge demand, fare quotes and dispatch are the shared in-memory services.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveRiderServiceImpl implements ReactiveRiderService {
+
+    private final RiderService riderService;
+    private final ReactiveRiderRepository reactiveRiderRepository;
+    private final ReactiveDriverRepository reactiveDriverRepository;
+    private final ReactiveRideRequestRepository reactiveRideRequestRepository;
+    private final ReactiveDistanceService reactiveDistanceService;
+    private final RideStrategyManager rideStrategyManager;
+    private final FareQuoteService fareQuoteService;
+    private final SurgePricingService surgePricingService;
+    private final RideDispatchService rideDispatchService;
+
+    @Value("${uber.matching.nearest.radius-km:10}")
+    private double nearestRadiusKm;
+
+    @Value("${uber.matching.top-rated.radius-km:15}")
+    private double topRatedRadiusKm;
+
+    @Value("${uber.matching.max-candidates:10}")
+    private int maxCandidates;
+
+    @Value("${uber.ride-request.deadline-ms:3000}")
+    private long requestDeadlineMillis;
+
+    @Override
+    public Mono<RideRequestDto> requestRide(RideRequestDto rideRequestDto) {
+        // Read on the request thread, before anything runs on other threads.
+        Long riderId = riderService.getCurrentRiderId();
+
+        RideRequest rideRequest = RideRequestMapper.toRideRequest(rideRequestDto);
+        rideRequest.setRideRequestStatus(RideRequestStatus.PENDING);
+
+        // only the id is needed for the fare quote check, the rider is loaded below
+        Rider riderReference = new Rider();
+        riderReference.setId(riderId);
+        rideRequest.setRider(riderReference);
+
+        // demand signal for surge pricing of the pickup area
+        surgePricingService.recordRideRequest(rideRequest.getPickupLocation());
+
+        Mono<Rider> rider = reactiveRiderRepository.findById(riderId)
+                .switchIfEmpty(Mono.error(() -> new RiderNotFoundException("Rider not found with id: " + riderId)))
+                .cache();
+        Mono<Double> fare = calculateFare(rideRequestDto.getQuoteToken(), rideRequest);
+        Mono<List<Long>> matchingDriverIds = rider.flatMap(r -> findMatchingDriverIds(rideRequest, r.getRating()));
+
+        return Mono.zip(rider, fare, matchingDriverIds)
+                .flatMap(results -> {
+                    rideRequest.setRider(results.getT1());
+                    rideRequest.setFare(results.getT2());
+                    return reactiveRideRequestRepository.insert(rideRequest)
+                            .doOnNext(saved -> rideDispatchService.dispatchToDrivers(saved, results.getT3()));
+                })
+                .map(RideRequestMapper::toRideRequestDto)
+                .timeout(Duration.ofMillis(requestDeadlineMillis), Mono.error(() -> new RideRequestTimeoutException(
+                        "Ride request timed out after " + requestDeadlineMillis + " ms")));
+    }
+
+    // Calculate fare, unless the rider books with a still valid quote for the same trip
+    private Mono<Double> calculateFare(String quoteToken, RideRequest rideRequest) {
+        return Mono.defer(() -> fareQuoteService.redeemQuotedFare(quoteToken, rideRequest)
+                .map(Mono::just)
+                .orElseGet(() -> reactiveDistanceService
+                        .calculateDistance(rideRequest.getPickupLocation(), rideRequest.getDropOffLocation())
+                        .map(distanceKm -> rideStrategyManager
+                                .rideFareCalculationStrategy(rideRequest)
+                                .calculateFare(rideRequest, distanceKm))));
+    }
+
+    private Mono<List<Long>> findMatchingDriverIds(RideRequest rideRequest, double riderRating) {
+        if (rideStrategyManager.prefersTopRatedDrivers(riderRating)) {
+            return reactiveDriverRepository.findNearByTopRatedDriverIds(
+                    rideRequest.getPickupLocation(), topRatedRadiusKm * 1000, maxCandidates);
+        }
+        return reactiveDriverRepository.findNearestDriverIds(
+                rideRequest.getPickupLocation(), nearestRadiusKm * 1000, maxCandidates);
+    }
+}
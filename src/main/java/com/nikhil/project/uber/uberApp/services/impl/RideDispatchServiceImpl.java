@@ -0,0 +1,155 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.PointDto;
+import com.nikhil.project.uber.uberApp.dto.RideOfferDto;
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.enums.DispatchMode;
+import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
+import com.nikhil.project.uber.uberApp.exceptions.RideDispatchCapacityExceededException;
+import com.nikhil.project.uber.uberApp.mappers.PointMapper;
+import com.nikhil.project.uber.uberApp.repositories.RideRequestRepository;
+import com.nikhil.project.uber.uberApp.services.DriverNotificationService;
+import com.nikhil.project.uber.uberApp.services.RideDispatchService;
+import com.nikhil.project.uber.uberApp.utils.TransactionUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/*
+ * Fans ride offers out to the matched drivers without blocking the rider's request.
+ *
+ * - WAVES:    offer to `waveSize` drivers, wait `waveTimeout`, and offer to the next wave only if
+ *             the request is still PENDING. Waiting is a scheduled timer, not a sleeping thread.
+ * - PARALLEL: offer to every candidate at once.
+ *
+ * Backpressure: every dispatch holds one permit until its last wave has gone out. When all permits
+ * are taken, new ride requests fail fast with 503 instead of queueing unbounded work.
+ */
+@Service
+@Slf4j
+public class RideDispatchServiceImpl implements RideDispatchService {
+
+    private final TaskExecutor rideDispatchExecutor;
+    private final TaskScheduler taskScheduler;
+    private final DriverNotificationService driverNotificationService;
+    private final RideRequestRepository rideRequestRepository;
+    private final DispatchMode dispatchMode;
+    private final int waveSize;
+    private final Duration waveTimeout;
+    private final Semaphore inFlightDispatches;
+
+    public RideDispatchServiceImpl(@Qualifier("rideDispatchExecutor") TaskExecutor rideDispatchExecutor,
+                                   TaskScheduler taskScheduler,
+                                   DriverNotificationService driverNotificationService,
+                                   RideRequestRepository rideRequestRepository,
+                                   @Value("${uber.dispatch.mode:WAVES}") DispatchMode dispatchMode,
+                                   @Value("${uber.dispatch.wave-size:3}") int waveSize,
+                                   @Value("${uber.dispatch.wave-timeout-ms:15000}") long waveTimeoutMs,
+                                   @Value("${uber.dispatch.max-in-flight:1000}") int maxInFlightDispatches) {
+        this.rideDispatchExecutor = rideDispatchExecutor;
+        this.taskScheduler = taskScheduler;
+        this.driverNotificationService = driverNotificationService;
+        this.rideRequestRepository = rideRequestRepository;
+        this.dispatchMode = dispatchMode;
+        this.waveSize = dispatchMode == DispatchMode.PARALLEL ? Integer.MAX_VALUE : waveSize;
+        this.waveTimeout = Duration.ofMillis(waveTimeoutMs);
+        this.inFlightDispatches = new Semaphore(maxInFlightDispatches);
+    }
+
+    @Override
+    public void dispatchRideRequest(RideRequest rideRequest, List<Driver> candidateDrivers) {
+        dispatchToDrivers(rideRequest, candidateDrivers.stream().map(Driver::getId).toList());
+    }
+
+    @Override
+    public void dispatchToDrivers(RideRequest rideRequest, List<Long> candidateDriverIds) {
+        // Empty for batch matching too, which dispatches later from BatchMatchingService.
+        if (candidateDriverIds.isEmpty()) {
+            log.debug("No drivers to dispatch for ride request {}", rideRequest.getId());
+            return;
+        }
+
+        if (!inFlightDispatches.tryAcquire()) {
+            throw new RideDispatchCapacityExceededException(
+                    "Too many ride requests are being dispatched, please try again shortly");
+        }
+
+        // Snapshot what the async side needs while the entities are still attached.
+        Dispatch dispatch = new Dispatch(
+                rideRequest.getId(),
+                PointMapper.toPointDto(rideRequest.getPickupLocation()),
+                PointMapper.toPointDto(rideRequest.getDropOffLocation()),
+                rideRequest.getFare(),
+                List.copyOf(candidateDriverIds)
+        );
+
+        // Offers go out only once the ride request is committed, drivers must be able to accept it.
+        TransactionUtils.runAfterCommit(() -> submitWave(dispatch, 1), inFlightDispatches::release);
+    }
+
+    private void submitWave(Dispatch dispatch, int wave) {
+        try {
+            rideDispatchExecutor.execute(() -> runWave(dispatch, wave));
+        } catch (TaskRejectedException ex) {
+            log.error("Dispatch executor rejected wave {} of ride request {}", wave, dispatch.rideRequestId(), ex);
+            inFlightDispatches.release();
+        }
+    }
+
+    private void runWave(Dispatch dispatch, int wave) {
+        try {
+            if (wave > 1 && !isStillPending(dispatch.rideRequestId())) {
+                inFlightDispatches.release();
+                return;
+            }
+
+            int candidates = dispatch.driverIds().size();
+            int from = (int) Math.min((long) (wave - 1) * waveSize, candidates);
+            int to = (int) Math.min((long) from + waveSize, candidates);
+            for (Long driverId : dispatch.driverIds().subList(from, to)) {
+                sendOffer(dispatch, driverId, wave);
+            }
+
+            if (to < candidates) {
+                taskScheduler.schedule(() -> submitWave(dispatch, wave + 1), Instant.now().plus(waveTimeout));
+            } else {
+                inFlightDispatches.release();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Dispatch of ride request {} failed in wave {}", dispatch.rideRequestId(), wave, ex);
+            inFlightDispatches.release();
+        }
+    }
+
+    private void sendOffer(Dispatch dispatch, Long driverId, int wave) {
+        try {
+            driverNotificationService.sendRideOffer(new RideOfferDto(
+                    dispatch.rideRequestId(), driverId,
+                    dispatch.pickupLocation(), dispatch.dropOffLocation(),
+                    dispatch.fare(), wave));
+        } catch (RuntimeException ex) {
+            // One unreachable driver must not stop the offer reaching the others.
+            log.warn("Could not offer ride request {} to driver {}", dispatch.rideRequestId(), driverId, ex);
+        }
+    }
+
+    private boolean isStillPending(Long rideRequestId) {
+        return rideRequestRepository.findRideRequestStatusById(rideRequestId)
+                .map(RideRequestStatus.PENDING::equals)
+                .orElse(false);
+    }
+
+    private record Dispatch(Long rideRequestId, PointDto pickupLocation, PointDto dropOffLocation,
+                            Double fare, List<Long> driverIds) {
+    }
+}
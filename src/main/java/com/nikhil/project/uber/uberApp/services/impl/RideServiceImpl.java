@@ -1,23 +1,24 @@
 package com.nikhil.project.uber.uberApp.services.impl;
 
+import com.nikhil.project.uber.uberApp.dto.RideDto;
 import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.Ride;
 import com.nikhil.project.uber.uberApp.entities.RideRequest;
-import com.nikhil.project.uber.uberApp.entities.Rider;
 import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
 import com.nikhil.project.uber.uberApp.enums.RideStatus;
 import com.nikhil.project.uber.uberApp.exceptions.RideNotFoundException;
+import com.nikhil.project.uber.uberApp.mappers.RideMapper;
+import com.nikhil.project.uber.uberApp.projections.RideHistoryProjection;
 import com.nikhil.project.uber.uberApp.repositories.RideRepository;
 import com.nikhil.project.uber.uberApp.services.RideRequestService;
 import com.nikhil.project.uber.uberApp.services.RideService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +26,6 @@ public class RideServiceImpl implements RideService {
 
     private final RideRepository rideRepository;
     private final RideRequestService rideRequestService;
-    private final ModelMapper modelMapper;
 
     @Override
     public Ride getRideById(Long rideId) {
@@ -39,21 +39,11 @@ public class RideServiceImpl implements RideService {
     public Ride createNewRide(RideRequest rideRequest, Driver driver) {
         rideRequest.setRideRequestStatus(RideRequestStatus.CONFIRMED);
 
-        // Map RideRequest → Ride. ModelMapper may copy ID-like fields unintentionally.
-        Ride ride = modelMapper.map(rideRequest, Ride.class);
-
+        Ride ride = RideMapper.toRide(rideRequest);
         ride.setRideStatus(RideStatus.CONFIRMED);
         ride.setDriver(driver);
         ride.setOtp(generateOtp());
 
-        /*
-         * Explicitly set the ID to null to ensure Hibernate treats this Ride as a new entity.
-         * If ModelMapper mapped an ID value from RideRequest, Hibernate would attempt to
-         * UPDATE an existing record instead of inserting a new one. Setting the ID to null
-         * guarantees an INSERT operation.
-         */
-        ride.setId(null);
-
         rideRequestService.updateRideRequest(rideRequest);
         return rideRepository.save(ride);
     }
@@ -65,14 +55,23 @@ public class RideServiceImpl implements RideService {
         return rideRepository.save(ride);
     }
 
+    // No cursor = first page.
     @Override
-    public Page<Ride> getAllRidesOfRider(Rider rider, PageRequest pageRequest) {
-        return rideRepository.findByRider(rider,pageRequest);
+    @Transactional(readOnly = true)
+    public List<RideDto> getRideHistoryOfRider(Long riderId, LocalDateTime beforeTime, Long beforeId, int limit) {
+        List<RideHistoryProjection> rows = beforeTime == null || beforeId == null
+                ? rideRepository.findLatestByRiderId(riderId, limit)
+                : rideRepository.findByRiderIdBefore(riderId, beforeTime, beforeId, limit);
+        return rows.stream().map(RideMapper::toRideDto).toList();
     }
 
     @Override
-    public Page<Ride> getAllRidesOfDriver(Driver driver, PageRequest pageRequest) {
-        return rideRepository.findByDriver(driver,pageRequest);
+    @Transactional(readOnly = true)
+    public List<RideDto> getRideHistoryOfDriver(Long driverId, LocalDateTime beforeTime, Long beforeId, int limit) {
+        List<RideHistoryProjection> rows = beforeTime == null || beforeId == null
+                ? rideRepository.findLatestByDriverId(driverId, limit)
+                : rideRepository.findByDriverIdBefore(driverId, beforeTime, beforeId, limit);
+        return rows.stream().map(RideMapper::toRideDto).toList();
     }
 
     public String generateOtp() {
@@ -1,9 +1,13 @@
 package com.nikhil.project.uber.uberApp.services.impl;
 
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
 import com.nikhil.project.uber.uberApp.dto.DriverDto;
+import com.nikhil.project.uber.uberApp.dto.FareQuoteDto;
 import com.nikhil.project.uber.uberApp.dto.RideDto;
 import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
 import com.nikhil.project.uber.uberApp.dto.RiderDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
+import com.nikhil.project.uber.uberApp.entities.Driver;
 import com.nikhil.project.uber.uberApp.entities.Ride;
 import com.nikhil.project.uber.uberApp.entities.RideRequest;
 import com.nikhil.project.uber.uberApp.entities.Rider;
@@ -11,61 +15,153 @@ import com.nikhil.project.uber.uberApp.entities.User;
 import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
 import com.nikhil.project.uber.uberApp.enums.RideStatus;
 import com.nikhil.project.uber.uberApp.exceptions.RideCanNotBeCancelledException;
+import com.nikhil.project.uber.uberApp.exceptions.RideRequestTimeoutException;
 import com.nikhil.project.uber.uberApp.exceptions.RiderNotFoundException;
+import com.nikhil.project.uber.uberApp.mappers.RideMapper;
+import com.nikhil.project.uber.uberApp.mappers.RideRequestMapper;
+import com.nikhil.project.uber.uberApp.mappers.RiderMapper;
 import com.nikhil.project.uber.uberApp.repositories.RideRequestRepository;
 import com.nikhil.project.uber.uberApp.repositories.RiderRepository;
+import com.nikhil.project.uber.uberApp.security.CurrentUserContext;
 import com.nikhil.project.uber.uberApp.services.DriverService;
+import com.nikhil.project.uber.uberApp.services.FareQuoteService;
 import com.nikhil.project.uber.uberApp.services.RatingService;
+import com.nikhil.project.uber.uberApp.services.RideDispatchService;
 import com.nikhil.project.uber.uberApp.services.RideService;
 import com.nikhil.project.uber.uberApp.services.RiderService;
+import com.nikhil.project.uber.uberApp.services.SurgePricingService;
+import com.nikhil.project.uber.uberApp.services.WalletTransactionService;
+import com.nikhil.project.uber.uberApp.strategies.DriverMatchingStrategy;
 import com.nikhil.project.uber.uberApp.strategies.RideStrategyManager;
+import com.nikhil.project.uber.uberApp.utils.KeysetPaginationUtils;
+import com.nikhil.project.uber.uberApp.utils.TaskScope;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RiderServiceImpl implements RiderService {
 
-    private final ModelMapper modelMapper;
     private final RideStrategyManager rideStrategyManager;
     private final RideRequestRepository rideRequestRepository;
     private final RiderRepository riderRepository;
     private final RideService rideService;
     private final DriverService driverService;
     private final RatingService ratingService;
+    private final RideDispatchService rideDispatchService;
+    private final SurgePricingService surgePricingService;
+    private final FareQuoteService fareQuoteService;
+    private final WalletTransactionService walletTransactionService;
+    private final TaskExecutor rideRequestExecutor;
+    private final CurrentUserContext currentUserContext;
+
+    @Value("${uber.ride-request.parallel.enabled:true}")
+    private boolean parallelRequestEnabled;
+
+    @Value("${uber.ride-request.deadline-ms:3000}")
+    private long requestDeadlineMillis;
 
+    @Override
+    public FareQuoteDto estimateFare(RideRequestDto rideRequestDto) {
+        RideRequest rideRequest = RideRequestMapper.toRideRequest(rideRequestDto);
+        rideRequest.setRider(getCurrentRider());
+
+        return fareQuoteService.createQuote(rideRequest);
+    }
+
+    /*
+     * Fare calculation (an OSRM call) does not depend on the rider or the matched drivers and never
+     * touches the database, so it is forked and runs while the rider is validated and candidate
+     * drivers are matched on the request thread. Matching stays here because it does use the database
+     * (the PostGIS queries, or the repository proxies of the index strategies): forked, it would take a
+     * second pool connection while this transaction holds the first, and enough concurrent requests
+     * doing that starve the pool.
+     *
+     * The deadline counts from the start of the request. Matching on this thread is not interrupted,
+     * but the fare is waited for only until the deadline, then cancelled.
+     */
     @Override
     @Transactional
     public RideRequestDto requestRide(RideRequestDto rideRequestDto) {
 
-        Rider rider = getCurrentRider();
+        long deadline = System.nanoTime() + Duration.ofMillis(requestDeadlineMillis).toNanos();
+        Long riderId = getCurrentRiderId();
 
-        RideRequest rideRequest = modelMapper.map(rideRequestDto, RideRequest.class);
+        RideRequest rideRequest = RideRequestMapper.toRideRequest(rideRequestDto);
         rideRequest.setRideRequestStatus(RideRequestStatus.PENDING);
 
-        rideRequest.setRider(rider);
-
-        // Calculate fare
-        Double fare = rideStrategyManager
-                .rideFareCalculationStrategy()
-                .calculateFare(rideRequest);
+        // the fare quote check only reads the rider id; the rider is loaded below. Not getReferenceById:
+        // that proxy would be what findById returns below too, and the response cannot serialise it.
+        Rider riderWithId = new Rider();
+        riderWithId.setId(riderId);
+        rideRequest.setRider(riderWithId);
+
+        // demand signal for surge pricing of the pickup area
+        surgePricingService.recordRideRequest(rideRequest.getPickupLocation());
+
+        boolean matchAfterSave = rideStrategyManager.isBatchMatchingEnabled();
+        Rider rider;
+        DriverMatchingStrategy driverMatchingStrategy;
+        Double fare;
+        List<Driver> matchingDrivers = null;
+
+        Executor stepExecutor = parallelRequestEnabled ? rideRequestExecutor : Runnable::run;
+        try (TaskScope scope = new TaskScope(stepExecutor)) {
+            TaskScope.Subtask<Double> fareTask = scope.fork(() -> calculateFare(rideRequestDto, rideRequest));
+
+            rider = getCurrentRider();
+            driverMatchingStrategy = rideStrategyManager.driverMatchingStrategy(rider.getRating());
+            if (!matchAfterSave) {
+                matchingDrivers = driverMatchingStrategy.findMatchingDrivers(rideRequest);
+            }
+
+            scope.join(Duration.ofNanos(Math.max(deadline - System.nanoTime(), 0))).throwIfFailed();
+            fare = fareTask.get();
+        } catch (TaskRejectedException ex) {
+            throw new RideRequestTimeoutException("Too many ride requests are being priced, please try again shortly", ex);
+        } catch (TimeoutException ex) {
+            throw new RideRequestTimeoutException("Ride request timed out after " + requestDeadlineMillis + " ms", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RideRequestTimeoutException("Ride request was interrupted", ex);
+        }
 
+        rideRequest.setRider(rider);
         rideRequest.setFare(fare);
 
         RideRequest savedRideRequest = rideRequestRepository.save(rideRequest);
 
-        // strategy for driver matching
-        rideStrategyManager
-                .driverMatchingStrategy(rider.getRating())
-                .findMatchingDrivers(savedRideRequest);
+        // batch matching queues the saved request and dispatches later, returning no drivers here
+        if (matchAfterSave) {
+            matchingDrivers = driverMatchingStrategy.findMatchingDrivers(savedRideRequest);
+        }
+
+        // offers are sent asynchronously once this transaction commits
+        rideDispatchService.dispatchRideRequest(savedRideRequest, matchingDrivers);
 
-        return modelMapper.map(savedRideRequest, RideRequestDto.class);
+        return RideRequestMapper.toRideRequestDto(savedRideRequest);
+    }
+
+    // Calculate fare, unless the rider books with a still valid quote for the same trip
+    private Double calculateFare(RideRequestDto rideRequestDto, RideRequest rideRequest) {
+        return fareQuoteService
+                .redeemQuotedFare(rideRequestDto.getQuoteToken(), rideRequest)
+                .orElseGet(() -> rideStrategyManager
+                        .rideFareCalculationStrategy(rideRequest)
+                        .calculateFare(rideRequest));
     }
 
 
@@ -86,7 +182,7 @@ public class RiderServiceImpl implements RiderService {
         Ride savedRide = rideService.updateRideStatus(ride, RideStatus.CANCELLED);
         driverService.updateDriverAvailability(ride.getDriver(), true);
 
-        return modelMapper.map(savedRide, RideDto.class);
+        return RideMapper.toRideDto(savedRide);
     }
 
     @Override
@@ -113,15 +209,24 @@ public class RiderServiceImpl implements RiderService {
     @Override
     public RiderDto getMyProfile() {
         Rider currentRider = getCurrentRider();
-        return modelMapper.map(currentRider, RiderDto.class);
+        return RiderMapper.toRiderDto(currentRider);
     }
 
     @Override
-    public Page<RideDto> getAllMyRides(PageRequest pageRequest) {
+    public CursorSliceDto<RideDto> getAllMyRides(LocalDateTime beforeTime, Long beforeId, Integer size) {
+        int pageSize = KeysetPaginationUtils.pageSize(size);
+        List<RideDto> rides = rideService.getRideHistoryOfRider(getCurrentRiderId(), beforeTime, beforeId, pageSize + 1);
+        return KeysetPaginationUtils.toSlice(rides, pageSize,
+                Function.identity(),
+                RideDto::getCreatedTime,
+                RideDto::getId);
+    }
+
+    @Override
+    public CursorSliceDto<WalletTransactionDto> getMyWalletTransactions(LocalDateTime beforeTime, Long beforeId,
+                                                                        Integer size) {
         Rider currentRider = getCurrentRider();
-        return rideService.getAllRidesOfRider(currentRider, pageRequest).map(
-                ride -> modelMapper.map(ride, RideDto.class)
-        );
+        return walletTransactionService.getWalletTransactions(currentRider.getUser(), beforeTime, beforeId, size);
     }
 
     @Override
@@ -133,11 +238,18 @@ public class RiderServiceImpl implements RiderService {
         return riderRepository.save(rider);
     }
 
+    // Loaded once per request; the id itself comes from the access token.
     @Override
     public Rider getCurrentRider() {
-        return riderRepository.findById(1L).orElseThrow( () ->
+        Long riderId = getCurrentRiderId();
+        return currentUserContext.getRider(() -> riderRepository.findById(riderId).orElseThrow( () ->
                 new RiderNotFoundException(
-                        "Rider not found with id: " + 1L
-                ));
+                        "Rider not found with id: " + riderId
+                )));
+    }
+
+    @Override
+    public Long getCurrentRiderId() {
+        return currentUserContext.getRiderId();
     }
 }
@@ -0,0 +1,189 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.services.SurgePricingService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Surge pricing from real supply and demand per geo cell.
+ *
+ * Demand: every ride request increments a counter of its pickup cell.
+ * Supply: on every recompute, available drivers per cell with demand are counted from the driver index.
+ * Both go into a sliding window of `bucketCount` time buckets per cell (ring buffer, lock-free).
+ *
+ * The scheduled recompute turns (requests in window) / (average available drivers in window) into a
+ * multiplier per cell and publishes all of them at once as an immutable map, so the fare path only
+ * does a single hash lookup and never waits for the recompute.
+ *
+ * All time comes from the injected Clock, so tests can drive the windows deterministically.
+ */
+@Service
+@Slf4j
+public class SurgePricingServiceImpl implements SurgePricingService {
+
+    private static final double NO_SURGE = 1.0;
+
+    private final DriverIndexService driverIndexService;
+    private final Clock clock;
+    private final double cellSizeDegrees;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final double demandSupplyThreshold;
+    private final double sensitivity;
+    private final double maxMultiplier;
+
+    private final ConcurrentHashMap<Long, CellWindow> windowsByCell = new ConcurrentHashMap<>();
+    private volatile Map<Long, Double> multipliersByCell = Map.of();
+
+    public SurgePricingServiceImpl(DriverIndexService driverIndexService,
+                                   Clock clock,
+                                   @Value("${uber.surge.cell-size-degrees:0.02}") double cellSizeDegrees,
+                                   @Value("${uber.surge.window-seconds:300}") long windowSeconds,
+                                   @Value("${uber.surge.bucket-seconds:30}") long bucketSeconds,
+                                   @Value("${uber.surge.demand-supply-threshold:1.0}") double demandSupplyThreshold,
+                                   @Value("${uber.surge.sensitivity:0.5}") double sensitivity,
+                                   @Value("${uber.surge.max-multiplier:3.0}") double maxMultiplier) {
+        this.driverIndexService = driverIndexService;
+        this.clock = clock;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.bucketMillis = bucketSeconds * 1000;
+        this.bucketCount = (int) Math.max(1, windowSeconds / bucketSeconds);
+        this.demandSupplyThreshold = demandSupplyThreshold;
+        this.sensitivity = sensitivity;
+        this.maxMultiplier = maxMultiplier;
+    }
+
+    @Override
+    public void recordRideRequest(Point pickupLocation) {
+        windowsByCell
+                .computeIfAbsent(cellOf(pickupLocation), cell -> new CellWindow(bucketCount))
+                .addDemand(currentBucket());
+    }
+
+    @Override
+    public double getSurgeMultiplier(Point location) {
+        return multipliersByCell.getOrDefault(cellOf(location), NO_SURGE);
+    }
+
+    @Override
+    public void recomputeSurgeMultipliers() {
+        long bucket = currentBucket();
+
+        // Supply only matters where there is demand, so only cells that already have a window are sampled;
+        // cells with demand but no driver at all get an explicit 0 ("no supply", not "no data").
+        Map<Long, Integer> availableDrivers = driverIndexService.countAvailableDriversByCell(cellSizeDegrees);
+        windowsByCell.forEach((cell, window) ->
+                window.addSupplySample(bucket, availableDrivers.getOrDefault(cell, 0)));
+
+        Map<Long, Double> multipliers = new HashMap<>();
+        windowsByCell.entrySet().removeIf(entry -> {
+            CellWindow window = entry.getValue();
+            long demand = window.demand(bucket);
+            if (demand == 0) {
+                // Nothing requested in the whole window: drop the cell, it is recreated on the next request.
+                return true;
+            }
+            double multiplier = multiplier(demand, window.averageSupply(bucket));
+            if (multiplier > NO_SURGE) multipliers.put(entry.getKey(), multiplier);
+            return false;
+        });
+
+        multipliersByCell = Map.copyOf(multipliers);
+        log.debug("Surge recomputed: {} active cells, {} surging", windowsByCell.size(), multipliers.size());
+    }
+
+    private double multiplier(long demand, double averageSupply) {
+        double pressure = demand / Math.max(averageSupply, 1.0);
+        double multiplier = NO_SURGE + sensitivity * (pressure - demandSupplyThreshold);
+        multiplier = Math.min(Math.max(multiplier, NO_SURGE), maxMultiplier);
+        // Steps of 0.1 so the price a rider sees does not flicker with every request.
+        return Math.round(multiplier * 10) / 10.0;
+    }
+
+    private long currentBucket() {
+        return clock.millis() / bucketMillis;
+    }
+
+    private long cellOf(Point location) {
+        return GeometryUtils.cellKey(location.getX(), location.getY(), cellSizeDegrees);
+    }
+
+    /*
+     * Ring buffer of time buckets. Slot `bucket % size` is reused once its bucket number falls out of
+     * the window; the first writer of a new bucket resets the slot with a CAS on its bucket number.
+     * A write that races with that reset can be lost, which is fine for a price signal.
+     */
+    private static class CellWindow {
+        private final int size;
+        private final AtomicLongArray slotBucket;
+        private final AtomicIntegerArray demand;
+        private final AtomicIntegerArray supplySum;
+        private final AtomicIntegerArray supplySamples;
+
+        CellWindow(int size) {
+            this.size = size;
+            this.slotBucket = new AtomicLongArray(size);
+            this.demand = new AtomicIntegerArray(size);
+            this.supplySum = new AtomicIntegerArray(size);
+            this.supplySamples = new AtomicIntegerArray(size);
+            for (int i = 0; i < size; i++) slotBucket.set(i, -1);
+        }
+
+        void addDemand(long bucket) {
+            demand.incrementAndGet(slot(bucket));
+        }
+
+        void addSupplySample(long bucket, int availableDrivers) {
+            int slot = slot(bucket);
+            supplySum.addAndGet(slot, availableDrivers);
+            supplySamples.incrementAndGet(slot);
+        }
+
+        long demand(long currentBucket) {
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                if (inWindow(i, currentBucket)) total += demand.get(i);
+            }
+            return total;
+        }
+
+        double averageSupply(long currentBucket) {
+            long sum = 0;
+            long samples = 0;
+            for (int i = 0; i < size; i++) {
+                if (inWindow(i, currentBucket)) {
+                    sum += supplySum.get(i);
+                    samples += supplySamples.get(i);
+                }
+            }
+            return samples == 0 ? 0 : (double) sum / samples;
+        }
+
+        private boolean inWindow(int slot, long currentBucket) {
+            long bucket = slotBucket.get(slot);
+            return bucket != -1 && bucket <= currentBucket && currentBucket - bucket < size;
+        }
+
+        private int slot(long bucket) {
+            int slot = (int) (bucket % size);
+            long current = slotBucket.get(slot);
+            if (current < bucket && slotBucket.compareAndSet(slot, current, bucket)) {
+                demand.set(slot, 0);
+                supplySum.set(slot, 0);
+                supplySamples.set(slot, 0);
+            }
+            return slot;
+        }
+    }
+}
@@ -3,64 +3,78 @@ package com.nikhil.project.uber.uberApp.services.impl;
 import com.nikhil.project.uber.uberApp.entities.Ride;
 import com.nikhil.project.uber.uberApp.entities.User;
 import com.nikhil.project.uber.uberApp.entities.Wallet;
-import com.nikhil.project.uber.uberApp.entities.WalletTransaction;
 import com.nikhil.project.uber.uberApp.enums.TransactionMethod;
 import com.nikhil.project.uber.uberApp.enums.TransactionType;
+import com.nikhil.project.uber.uberApp.exceptions.InsufficientWalletBalanceException;
 import com.nikhil.project.uber.uberApp.exceptions.WalletNotFoundException;
 import com.nikhil.project.uber.uberApp.repositories.WalletRepository;
 import com.nikhil.project.uber.uberApp.services.WalletService;
-import com.nikhil.project.uber.uberApp.services.WalletTransactionService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class WalletServiceImpl implements WalletService {
 
     private final WalletRepository walletRepository;
-    private final ModelMapper modelMapper;
-    private final WalletTransactionService walletTransactionService;
 
     @Override
     @Transactional
-    public Wallet addMoneyToWallet(User user, double amount, String transactionId, Ride ride,
-                                   TransactionMethod transactionMethod) {
-        Wallet wallet = findWalletByUser(user);
-        wallet.setBalance(wallet.getBalance() + amount);
-
-        WalletTransaction walletTransaction = new WalletTransaction();
-        walletTransaction.setTransactionId(transactionId);
-        walletTransaction.setRide(ride);
-        walletTransaction.setWallet(wallet);
-        walletTransaction.setTransactionType(TransactionType.CREDIT);
-        walletTransaction.setTransactionMethod(transactionMethod);
-        walletTransaction.setAmount(amount);
-
-        wallet.getTransactions().add(walletTransaction);
-
-        return walletRepository.save(wallet);
+    public void addMoneyToWallet(User user, double amount, String transactionId, Ride ride,
+                                 TransactionMethod transactionMethod) {
+        applyTransaction(user, amount, amount, TransactionType.CREDIT, transactionId, ride, transactionMethod, false);
     }
 
     @Override
     @Transactional
     public void deductMoneyFromWallet(User user, double amount, String transactionId, Ride ride,
                                       TransactionMethod transactionMethod) {
-        Wallet wallet = findWalletByUser(user);
+        applyTransaction(user, -amount, amount, TransactionType.DEBIT, transactionId, ride, transactionMethod, true);
+    }
 
-        wallet.setBalance(wallet.getBalance() - amount);
+    @Override
+    @Transactional
+    public void chargeRideToWallet(User user, double amount, String transactionId, Ride ride,
+                                   TransactionMethod transactionMethod) {
+        applyTransaction(user, -amount, amount, TransactionType.DEBIT, transactionId, ride, transactionMethod, false);
+    }
 
-        WalletTransaction walletTransaction = new WalletTransaction();
-        walletTransaction.setTransactionId(transactionId);
-        walletTransaction.setRide(ride);
-        walletTransaction.setWallet(wallet);
-        walletTransaction.setTransactionType(TransactionType.DEBIT);
-        walletTransaction.setTransactionMethod(transactionMethod);
-        walletTransaction.setAmount(amount);
-        walletTransactionService.createNewWalletTransaction(walletTransaction);
+    @Override
+    @Transactional
+    public void deductCommissionFromWallet(User user, double amount, String transactionId, Ride ride,
+                                           TransactionMethod transactionMethod) {
+        applyTransaction(user, -amount, amount, TransactionType.DEBIT, transactionId, ride, transactionMethod, false);
+    }
 
-        walletRepository.save(wallet);
+    /*
+     * The balance is never read and written back from Java: concurrent payments into the same
+     * wallet (e.g. a driver finishing rides on two nodes at once) used to overwrite each other.
+     * WalletRepository.applyTransaction adds to the balance and writes the ledger row in one statement,
+     * and with checkBalance refuses to go below zero in that same statement.
+     */
+    private void applyTransaction(User user, double balanceChange, double amount, TransactionType transactionType,
+                                  String transactionId, Ride ride, TransactionMethod transactionMethod,
+                                  boolean checkBalance) {
+        int written = walletRepository.applyTransaction(
+                user.getId(),
+                balanceChange,
+                amount,
+                transactionType.name(),
+                transactionMethod.name(),
+                ride == null ? null : ride.getId(),
+                transactionId == null ? UUID.randomUUID().toString() : transactionId,
+                checkBalance
+        );
+        if (written == 0) {
+            if (checkBalance && walletRepository.existsByUserId(user.getId())) {
+                throw new InsufficientWalletBalanceException(
+                        "Insufficient wallet balance for user with id: " + user.getId() + " to pay " + amount);
+            }
+            throw new WalletNotFoundException("Wallet not found for user with id: " + user.getId());
+        }
     }
 
     @Override
@@ -85,7 +99,7 @@ public class WalletServiceImpl implements WalletService {
 
     @Override
     public Wallet findWalletByUser(User user) {
-        return walletRepository.findById(user.getId()).orElseThrow(() ->
+        return walletRepository.findByUser(user).orElseThrow(() ->
                 new WalletNotFoundException(
                         "Wallet not found for user with id: " + user.getId()
                 ));
@@ -1,21 +1,53 @@
 package com.nikhil.project.uber.uberApp.services.impl;
 
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
+import com.nikhil.project.uber.uberApp.entities.User;
 import com.nikhil.project.uber.uberApp.entities.WalletTransaction;
+import com.nikhil.project.uber.uberApp.mappers.WalletMapper;
+import com.nikhil.project.uber.uberApp.repositories.WalletRepository;
 import com.nikhil.project.uber.uberApp.repositories.WalletTransactionRepository;
 import com.nikhil.project.uber.uberApp.services.WalletTransactionService;
+import com.nikhil.project.uber.uberApp.utils.KeysetPaginationUtils;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class WalletTransactionServiceImpl implements WalletTransactionService {
 
     private final WalletTransactionRepository walletTransactionRepository;
-    private final ModelMapper modelMapper;
+    private final WalletRepository walletRepository;
 
     @Override
     public void createNewWalletTransaction(WalletTransaction walletTransaction) {
         walletTransactionRepository.save(walletTransaction);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorSliceDto<WalletTransactionDto> getWalletTransactions(User user, LocalDateTime beforeTime,
+                                                                      Long beforeId, Integer size) {
+        int pageSize = KeysetPaginationUtils.pageSize(size);
+        Limit limit = KeysetPaginationUtils.fetchLimit(pageSize);
+        Long walletId = walletRepository.findIdByUserId(user.getId()).orElse(null);
+        List<WalletTransaction> transactions;
+        if (walletId == null) {
+            transactions = List.of();
+        } else if (beforeTime == null || beforeId == null) {
+            transactions = walletTransactionRepository.findLatestByWalletId(walletId, limit);
+        } else {
+            transactions = walletTransactionRepository.findByWalletIdBefore(walletId, beforeTime, beforeId, limit);
+        }
+
+        return KeysetPaginationUtils.toSlice(transactions, pageSize,
+                WalletMapper::toWalletTransactionDto,
+                WalletTransaction::getTimeStamp,
+                WalletTransaction::getId);
+    }
 }
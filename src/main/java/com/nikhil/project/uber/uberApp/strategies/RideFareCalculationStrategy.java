@@ -7,4 +7,7 @@ public interface RideFareCalculationStrategy {
     double RIDE_FARE_MULTIPLIER = 10;
 
     double calculateFare(RideRequest rideRequestDto);
+
+    // For callers that already know the road distance, e.g. fare quotes.
+    double calculateFare(RideRequest rideRequest, double distanceKm);
 }
@@ -1,40 +1,66 @@
 package com.nikhil.project.uber.uberApp.strategies;
 
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.services.SurgePricingService;
+import com.nikhil.project.uber.uberApp.strategies.impl.DriverMatchingBatchAssignmentStrategy;
+import com.nikhil.project.uber.uberApp.strategies.impl.DriverMatchingHighestRatedDriverIndexStrategy;
 import com.nikhil.project.uber.uberApp.strategies.impl.DriverMatchingHighestRatedDriverStrategy;
+import com.nikhil.project.uber.uberApp.strategies.impl.DriverMatchingNearestDriverIndexStrategy;
 import com.nikhil.project.uber.uberApp.strategies.impl.DriverMatchingNearestDriverStrategy;
 import com.nikhil.project.uber.uberApp.strategies.impl.RideFareDefaultFarreCalculationStrategy;
 import com.nikhil.project.uber.uberApp.strategies.impl.RideFareSurgePricingFareCalculationStrategy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalTime;
-
 @Component
 @RequiredArgsConstructor
 public class RideStrategyManager {
 
     private final DriverMatchingHighestRatedDriverStrategy highestRatedDriverStrategy;
     private final DriverMatchingNearestDriverStrategy nearestDriverStrategy;
+    private final DriverMatchingHighestRatedDriverIndexStrategy highestRatedDriverIndexStrategy;
+    private final DriverMatchingNearestDriverIndexStrategy nearestDriverIndexStrategy;
+    private final DriverMatchingBatchAssignmentStrategy batchAssignmentStrategy;
     private final RideFareDefaultFarreCalculationStrategy defaultFarreCalculationStrategy;
     private final RideFareSurgePricingFareCalculationStrategy surgePricingFareCalculationStrategy;
+    private final SurgePricingService surgePricingService;
+
+    // true → match from the in-memory driver grid, false → run the PostGIS queries on every request
+    @Value("${uber.matching.driver-index.enabled:true}")
+    private boolean driverIndexEnabled;
+
+    // true → requests are collected for a short window and assigned together, see BatchMatchingServiceImpl
+    @Value("${uber.matching.batch.enabled:false}")
+    private boolean batchMatchingEnabled;
 
     public DriverMatchingStrategy driverMatchingStrategy(double riderRating){
-        if (riderRating >= 4.8){
-            return highestRatedDriverStrategy;
+        if (batchMatchingEnabled){
+            return batchAssignmentStrategy;
+        }
+        if (prefersTopRatedDrivers(riderRating)){
+            return driverIndexEnabled ? highestRatedDriverIndexStrategy : highestRatedDriverStrategy;
         }
         else {
-            return nearestDriverStrategy;
+            return driverIndexEnabled ? nearestDriverIndexStrategy : nearestDriverStrategy;
         }
     }
 
-    public RideFareCalculationStrategy rideFareCalculationStrategy(){
-        LocalTime surgeStartTime = LocalTime.of(18,0);
-        LocalTime surgeEndTime = LocalTime.of(21,0);
-        LocalTime currentTime = LocalTime.now();
+    // Riders rated 4.8 and above are matched with the best rated drivers nearby, everyone else with the nearest.
+    public boolean prefersTopRatedDrivers(double riderRating) {
+        return riderRating >= 4.8;
+    }
+
+    // Batch matching needs the saved ride request, the other strategies only its pickup location.
+    public boolean isBatchMatchingEnabled() {
+        return batchMatchingEnabled;
+    }
 
-        boolean isSurgeTime = currentTime.isAfter(surgeStartTime) && currentTime.isBefore(surgeEndTime);
+    public RideFareCalculationStrategy rideFareCalculationStrategy(RideRequest rideRequest){
+        // O(1) lookup of the pickup cell's current multiplier, see SurgePricingServiceImpl
+        boolean isSurging = surgePricingService.getSurgeMultiplier(rideRequest.getPickupLocation()) > 1.0;
 
-        if (isSurgeTime){
+        if (isSurging){
             return surgePricingFareCalculationStrategy;
         }
         else {
@@ -23,7 +23,9 @@ public class CashPaymentStrategy implements PaymentStrategy {
 
         double platformCommission = payment.getAmount() * PLATFORM_COMMISSION;
 
-        walletService.deductMoneyFromWallet(driver.getUser(),platformCommission, null,
+        // The driver kept the cash, so the commission is owed even if it takes the wallet below zero.
+        walletService.deductCommissionFromWallet(driver.getUser(), platformCommission,
+                "PAYMENT-" + payment.getId() + "-COMMISSION",
                 payment.getRide(), TransactionMethod.RIDE);
 
         payment.setPaymentStatus(PaymentStatus.CONFIRMED);
@@ -0,0 +1,27 @@
+package com.nikhil.project.uber.uberApp.strategies.impl;
+
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.services.BatchMatchingService;
+import com.nikhil.project.uber.uberApp.strategies.DriverMatchingStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DriverMatchingBatchAssignmentStrategy implements DriverMatchingStrategy {
+
+    private final BatchMatchingService batchMatchingService;
+
+    /*
+     * Matching happens later for the whole batch, see BatchMatchingServiceImpl.
+     * Nothing is returned here because the batch round dispatches the offers itself.
+     */
+    @Override
+    public List<Driver> findMatchingDrivers(RideRequest rideRequest) {
+        batchMatchingService.enqueueRideRequest(rideRequest);
+        return List.of();
+    }
+}
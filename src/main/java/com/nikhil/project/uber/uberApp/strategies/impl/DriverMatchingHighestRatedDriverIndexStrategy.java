@@ -0,0 +1,36 @@
+package com.nikhil.project.uber.uberApp.strategies.impl;
+
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.strategies.DriverMatchingStrategy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DriverMatchingHighestRatedDriverIndexStrategy implements DriverMatchingStrategy {
+
+    private final DriverIndexService driverIndexService;
+    private final DriverRepository driverRepository;
+
+    @Value("${uber.matching.top-rated.radius-km:15}")
+    private double radiusKm;
+
+    @Value("${uber.matching.max-candidates:10}")
+    private int maxCandidates;
+
+    @Override
+    public List<Driver> findMatchingDrivers(RideRequest rideRequest) {
+        // getReferenceById returns lazy references, so matching never hits the database.
+        return driverIndexService
+                .findTopRatedDriverIds(rideRequest.getPickupLocation(), maxCandidates, radiusKm)
+                .stream()
+                .map(driverRepository::getReferenceById)
+                .toList();
+    }
+}
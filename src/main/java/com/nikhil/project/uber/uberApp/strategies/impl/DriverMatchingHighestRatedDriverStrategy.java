@@ -5,6 +5,7 @@ import com.nikhil.project.uber.uberApp.entities.RideRequest;
 import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
 import com.nikhil.project.uber.uberApp.strategies.DriverMatchingStrategy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,8 +16,14 @@ public class DriverMatchingHighestRatedDriverStrategy implements DriverMatchingS
 
     private final DriverRepository driverRepository;
 
+    @Value("${uber.matching.top-rated.radius-km:15}")
+    private double radiusKm;
+
+    @Value("${uber.matching.max-candidates:10}")
+    private int maxCandidates;
+
     @Override
     public List<Driver> findMatchingDrivers(RideRequest rideRequest) {
-        return driverRepository.findTenNearByTopRatedDrivers(rideRequest.getPickupLocation());
+        return driverRepository.findNearByTopRatedDrivers(rideRequest.getPickupLocation(), radiusKm * 1000, maxCandidates);
     }
 }
@@ -5,6 +5,7 @@ import com.nikhil.project.uber.uberApp.entities.RideRequest;
 import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
 import com.nikhil.project.uber.uberApp.strategies.DriverMatchingStrategy;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,10 +16,14 @@ public class DriverMatchingNearestDriverStrategy implements DriverMatchingStrate
 
     private final DriverRepository driverRepository;
 
+    @Value("${uber.matching.nearest.radius-km:10}")
+    private double radiusKm;
+
+    @Value("${uber.matching.max-candidates:10}")
+    private int maxCandidates;
+
     @Override
     public List<Driver> findMatchingDrivers(RideRequest rideRequest) {
-        List<Driver> findTenNearestDrivers =
-                driverRepository.findTenNearestDrivers(rideRequest.getPickupLocation());
-        return List.of();
+        return driverRepository.findNearestDrivers(rideRequest.getPickupLocation(), radiusKm * 1000, maxCandidates);
     }
 }
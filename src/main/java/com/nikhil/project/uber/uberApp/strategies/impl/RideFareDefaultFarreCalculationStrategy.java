@@ -17,6 +17,11 @@ public class RideFareDefaultFarreCalculationStrategy implements RideFareCalculat
         double distance = distanceService.calculateDistance
                 (rideRequest.getPickupLocation(), rideRequest.getDropOffLocation());
 
+        return calculateFare(rideRequest, distance);
+    }
+
+    @Override
+    public double calculateFare(RideRequest rideRequest, double distance) {
         return distance * RIDE_FARE_MULTIPLIER;
     }
 }
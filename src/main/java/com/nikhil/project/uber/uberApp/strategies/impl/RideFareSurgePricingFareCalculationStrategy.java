@@ -2,6 +2,7 @@ package com.nikhil.project.uber.uberApp.strategies.impl;
 
 import com.nikhil.project.uber.uberApp.entities.RideRequest;
 import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.services.SurgePricingService;
 import com.nikhil.project.uber.uberApp.strategies.RideFareCalculationStrategy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -11,14 +12,21 @@ import org.springframework.stereotype.Service;
 public class RideFareSurgePricingFareCalculationStrategy implements RideFareCalculationStrategy {
 
     private final DistanceService distanceService;
-
-    private static final double SURGE_FACTOR = 2;
+    private final SurgePricingService surgePricingService;
 
     @Override
     public double calculateFare(RideRequest rideRequest) {
         double distance = distanceService.calculateDistance
                 (rideRequest.getPickupLocation(), rideRequest.getDropOffLocation());
 
-        return distance * RIDE_FARE_MULTIPLIER * SURGE_FACTOR;
+        return calculateFare(rideRequest, distance);
+    }
+
+    @Override
+    public double calculateFare(RideRequest rideRequest, double distance) {
+        // Multiplier of the pickup cell, recomputed in the background from supply and demand.
+        double surgeFactor = surgePricingService.getSurgeMultiplier(rideRequest.getPickupLocation());
+
+        return distance * RIDE_FARE_MULTIPLIER * surgeFactor;
     }
 }
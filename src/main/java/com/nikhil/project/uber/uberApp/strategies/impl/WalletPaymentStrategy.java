@@ -22,11 +22,14 @@ public class WalletPaymentStrategy implements PaymentStrategy {
     public void processPayment(Payment payment) {
         Driver driver = payment.getRide().getDriver();
         Rider rider = payment.getRide().getRider();
-        walletService.deductMoneyFromWallet(rider.getUser(), payment.getAmount(), null,
+        // the ride is over: a short balance goes negative instead of blocking the driver's cut
+        walletService.chargeRideToWallet(rider.getUser(), payment.getAmount(),
+                "PAYMENT-" + payment.getId() + "-RIDER",
                 payment.getRide(), TransactionMethod.RIDE);
 
         double driverCut = payment.getAmount() * (1 - PLATFORM_COMMISSION);
-        walletService.deductMoneyFromWallet(driver.getUser(), driverCut , null,
+        walletService.addMoneyToWallet(driver.getUser(), driverCut,
+                "PAYMENT-" + payment.getId() + "-DRIVER",
                 payment.getRide(), TransactionMethod.RIDE);
 
         payment.setPaymentStatus(PaymentStatus.CONFIRMED);
@@ -0,0 +1,258 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import java.util.Arrays;
+
+/*
+ * Shortest road distances on a RoadGraph with ALT (A*, Landmarks, Triangle inequality).
+ *
+ * At construction a handful of landmarks is picked (farthest-first, so they end up around the
+ * edge of the map) and the distance from / to every node is precomputed for each of them.
+ * For a query s -> t the triangle inequality then gives a lower bound on d(v, t) for any node v:
+ *
+ *   d(v, t) >= d(L, t) - d(L, v)      and      d(v, t) >= d(v, L) - d(t, L)
+ *
+ * A* with that bound only expands nodes roughly "between" s and t instead of a whole disc around s.
+ * On the 160,000-node grid of OfflineRoutingBenchmark with 16 landmarks that is ~0.6 ms for rides
+ * up to 5 km and ~1.3 ms for rides up to 25 km (cross-city).
+ *
+ * Instances are thread-safe: query scratch space lives in a ThreadLocal and is reset lazily
+ * with a generation counter, so a query never clears arrays the size of the whole graph.
+ */
+public class AltRouter {
+
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final RoadGraph graph;
+    private final int landmarkCount;
+    // Node-major, [node * landmarkCount + landmark], so one node's bounds share a cache line.
+    private final int[] fromLandmark;
+    private final int[] toLandmark;
+    private final ThreadLocal<SearchState> searchState;
+
+    public AltRouter(RoadGraph graph, int landmarkCount) {
+        this.graph = graph;
+        RoadGraph reversed = graph.reversed();
+
+        int nodeCount = graph.getNodeCount();
+        int count = Math.min(landmarkCount, nodeCount);
+        int[][] fromLandmarkByLandmark = new int[count][];
+        int[][] toLandmarkByLandmark = new int[count][];
+
+        // Farthest-first: each new landmark is the node farthest from all landmarks chosen so far.
+        int[] closestLandmarkMeters = new int[nodeCount];
+        Arrays.fill(closestLandmarkMeters, UNREACHABLE);
+        int landmark = 0;
+        int built = 0;
+        while (built < count) {
+            fromLandmarkByLandmark[built] = dijkstra(graph, landmark);
+            toLandmarkByLandmark[built] = dijkstra(reversed, landmark);
+
+            int farthest = -1;
+            for (int node = 0; node < nodeCount; node++) {
+                int meters = fromLandmarkByLandmark[built][node];
+                if (meters < closestLandmarkMeters[node]) closestLandmarkMeters[node] = meters;
+                int candidate = closestLandmarkMeters[node];
+                if (candidate != UNREACHABLE
+                        && (farthest == -1 || candidate > closestLandmarkMeters[farthest])) {
+                    farthest = node;
+                }
+            }
+            built++;
+            // Every reachable node is a landmark already (tiny graphs): more would only repeat them.
+            if (farthest == -1 || closestLandmarkMeters[farthest] == 0) break;
+            landmark = farthest;
+        }
+
+        this.landmarkCount = built;
+        this.fromLandmark = new int[nodeCount * built];
+        this.toLandmark = new int[nodeCount * built];
+        for (int i = 0; i < built; i++) {
+            for (int node = 0; node < nodeCount; node++) {
+                fromLandmark[node * built + i] = fromLandmarkByLandmark[i][node];
+                toLandmark[node * built + i] = toLandmarkByLandmark[i][node];
+            }
+        }
+        this.searchState = ThreadLocal.withInitial(() -> new SearchState(nodeCount));
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    // Landmarks actually built; fewer than requested when the graph has fewer distinct nodes to offer.
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /*
+     * Length in meters of the shortest path from source to target, or UNREACHABLE.
+     */
+    public int shortestPathMeters(int source, int target) {
+        if (source == target) return 0;
+
+        SearchState state = searchState.get();
+        int generation = state.nextGeneration();
+        int[] distance = state.distance;
+        int[] potential = state.potential;
+        int[] seen = state.seen;
+        LongMinHeap heap = state.heap;
+
+        int sourcePotential = lowerBound(source, target);
+        if (sourcePotential == UNREACHABLE) return UNREACHABLE;
+        distance[source] = 0;
+        potential[source] = sourcePotential;
+        seen[source] = generation;
+        heap.push(sourcePotential, source);
+
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            int node = (int) entry;
+            // Skip entries that were superseded by a shorter distance pushed later.
+            if ((entry >>> 32) != (long) distance[node] + potential[node]) continue;
+            if (node == target) {
+                heap.clear();
+                return distance[node];
+            }
+
+            int nodeDistance = distance[node];
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.edgeTarget(edge);
+                int nextDistance = nodeDistance + graph.edgeLengthMeters(edge);
+                if (seen[next] != generation) {
+                    // The bound is computed once per node and query, it does not depend on the path.
+                    int bound = lowerBound(next, target);
+                    seen[next] = generation;
+                    potential[next] = bound;
+                    distance[next] = UNREACHABLE;
+                }
+                if (potential[next] == UNREACHABLE) continue; // proven dead end for this target
+                if (nextDistance < distance[next]) {
+                    distance[next] = nextDistance;
+                    heap.push((long) nextDistance + potential[next], next);
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    /*
+     * Largest landmark lower bound on d(node, target), or UNREACHABLE when a landmark proves
+     * that target cannot be reached from node at all.
+     */
+    private int lowerBound(int node, int target) {
+        int nodeRow = node * landmarkCount;
+        int targetRow = target * landmarkCount;
+        long best = 0;
+        for (int i = 0; i < landmarkCount; i++) {
+            int fromToNode = fromLandmark[nodeRow + i];
+            int fromToTarget = fromLandmark[targetRow + i];
+            int nodeToLandmark = toLandmark[nodeRow + i];
+            int targetToLandmark = toLandmark[targetRow + i];
+
+            if (fromToNode != UNREACHABLE) {
+                // L reaches node but not target, so node cannot reach target either (L -> node -> target).
+                if (fromToTarget == UNREACHABLE) return UNREACHABLE;
+                best = Math.max(best, (long) fromToTarget - fromToNode);
+            }
+            if (targetToLandmark != UNREACHABLE) {
+                // target reaches L but node does not, so node cannot reach target (node -> target -> L).
+                if (nodeToLandmark == UNREACHABLE) return UNREACHABLE;
+                best = Math.max(best, (long) nodeToLandmark - targetToLandmark);
+            }
+        }
+        return (int) best;
+    }
+
+    // Plain Dijkstra from source to every node; package-private so tests can check queries against it.
+    static int[] dijkstra(RoadGraph graph, int source) {
+        int[] distance = new int[graph.getNodeCount()];
+        Arrays.fill(distance, UNREACHABLE);
+        boolean[] settled = new boolean[graph.getNodeCount()];
+        LongMinHeap heap = new LongMinHeap();
+
+        distance[source] = 0;
+        heap.push(0, source);
+        while (!heap.isEmpty()) {
+            int node = (int) heap.pop();
+            if (settled[node]) continue;
+            settled[node] = true;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.edgeTarget(edge);
+                int nextDistance = distance[node] + graph.edgeLengthMeters(edge);
+                if (nextDistance < distance[next]) {
+                    distance[next] = nextDistance;
+                    heap.push(nextDistance, next);
+                }
+            }
+        }
+        return distance;
+    }
+
+    private static class SearchState {
+        private final int[] distance;
+        private final int[] potential;
+        private final int[] seen;
+        private final LongMinHeap heap = new LongMinHeap();
+        private int generation;
+
+        SearchState(int nodeCount) {
+            this.distance = new int[nodeCount];
+            this.potential = new int[nodeCount];
+            this.seen = new int[nodeCount];
+        }
+
+        int nextGeneration() {
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                generation = 1;
+            }
+            return generation;
+        }
+    }
+
+    /*
+     * Binary min-heap of (priority, node) packed into one long: priority in the high 32 bits,
+     * node in the low 32 bits. Decrease-key is replaced by pushing again and skipping stale entries.
+     */
+    private static class LongMinHeap {
+        private long[] entries = new long[256];
+        private int size;
+
+        void push(long priority, int node) {
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            long entry = (priority << 32) | (node & 0xffffffffL);
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (entries[parent] <= entry) break;
+                entries[i] = entries[parent];
+                i = parent;
+            }
+            entries[i] = entry;
+        }
+
+        long pop() {
+            long top = entries[0];
+            long last = entries[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && entries[child + 1] < entries[child]) child++;
+                if (entries[child] >= last) break;
+                entries[i] = entries[child];
+                i = child;
+            }
+            entries[i] = last;
+            return top;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import java.time.Duration;
+
+/*
+ * Minimal circuit breaker for calls to an external service.
+ *
+ * CLOSED    -> calls go through; `failureThreshold` consecutive failures open the circuit.
+ * OPEN      -> calls are refused right away (the caller uses its fallback) for `openDuration`.
+ * HALF_OPEN -> after that, exactly one trial call is let through: success closes the circuit,
+ *              failure opens it again for another `openDuration`.
+ *
+ * That way a dead dependency costs one timeout per `openDuration` instead of one per request.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openDurationNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /*
+     * Whether the caller may make the call now. Every true must be followed by recordSuccess or recordFailure.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) return false;
+                state = State.HALF_OPEN;
+                return true;
+            default:
+                // A trial call is already running.
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
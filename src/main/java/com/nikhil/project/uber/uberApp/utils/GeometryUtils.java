@@ -7,9 +7,58 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.PrecisionModel;
 
 public class GeometryUtils {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // GeometryFactory is immutable and thread-safe, so one instance is shared by every call.
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
     public static Point createPoint(PointDto pointDto){
-        GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(),4326);
-        Coordinate coordinate = new Coordinate(pointDto.getCoordinates()[0],pointDto.getCoordinates()[1]);
-        return geometryFactory.createPoint(coordinate);
+        return createPoint(pointDto.getCoordinates()[0], pointDto.getCoordinates()[1]);
+    }
+
+    public static Point createPoint(double longitude, double latitude) {
+        return GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+    }
+
+    /*
+     * Great-circle distance between two lon/lat pairs in kilometers.
+     * Good enough for ranking nearby drivers; it is NOT a road distance.
+     */
+    public static double haversineDistanceKm(double lon1, double lat1, double lon2, double lat2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    public static double haversineDistanceKm(Point src, Point dest) {
+        return haversineDistanceKm(src.getX(), src.getY(), dest.getX(), dest.getY());
+    }
+
+    /*
+     * Rough road distance when no router is available: roads are longer than the straight line
+     * by a fairly stable factor within a city (typically 1.2 - 1.5).
+     */
+    public static double estimateRoadDistanceKm(Point src, Point dest, double roadFactor) {
+        return haversineDistanceKm(src, dest) * roadFactor;
+    }
+
+    /*
+     * Grid cell helpers. The world is cut into square lon/lat cells of `cellSizeDegrees`
+     * and a cell is packed into a single long: high 32 bits = column, low 32 bits = row.
+     */
+    public static int cellIndex(double degrees, double cellSizeDegrees) {
+        return (int) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    public static long cellKey(int column, int row) {
+        return ((long) column << 32) | (row & 0xffffffffL);
+    }
+
+    public static long cellKey(double longitude, double latitude, double cellSizeDegrees) {
+        return cellKey(cellIndex(longitude, cellSizeDegrees), cellIndex(latitude, cellSizeDegrees));
     }
 }
@@ -0,0 +1,36 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+public class HmacUtils {
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    /*
+     * HMAC-SHA256 of `data`, base64url without padding (safe in URLs, headers and JSON).
+     */
+    public static String signHmacSha256(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(key, HMAC_SHA256));
+            byte[] signature = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+
+    /*
+     * Constant-time check, so response timing does not reveal how many leading characters of a forged
+     * signature were right.
+     */
+    public static boolean verifyHmacSha256(byte[] key, String data, String signature) {
+        byte[] expected = signHmacSha256(key, data).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, signature.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,104 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import java.util.Arrays;
+
+/*
+ * Minimum-cost assignment (Hungarian / Kuhn-Munkres with potentials), O(n^2 * m) for n <= m.
+ *
+ * cost[i][j] is the cost of giving column j to row i. Returns, for every row, the column it got,
+ * or -1 when there are more rows than columns and the row was left out.
+ * Use a large finite cost (not infinity) for pairs that must not be matched and filter them afterwards.
+ */
+public class HungarianAlgorithm {
+
+    public static int[] solve(double[][] cost) {
+        int rows = cost.length;
+        if (rows == 0) return new int[0];
+        int columns = cost[0].length;
+        if (columns == 0) {
+            int[] unassigned = new int[rows];
+            Arrays.fill(unassigned, -1);
+            return unassigned;
+        }
+
+        if (rows <= columns) {
+            return solveRowsNotAboveColumns(cost, rows, columns);
+        }
+
+        // More rows than columns: solve the transposed problem and flip the answer back.
+        double[][] transposed = new double[columns][rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                transposed[j][i] = cost[i][j];
+            }
+        }
+        int[] rowOfColumn = solveRowsNotAboveColumns(transposed, columns, rows);
+        int[] assignment = new int[rows];
+        Arrays.fill(assignment, -1);
+        for (int j = 0; j < columns; j++) {
+            if (rowOfColumn[j] >= 0) assignment[rowOfColumn[j]] = j;
+        }
+        return assignment;
+    }
+
+    private static int[] solveRowsNotAboveColumns(double[][] cost, int n, int m) {
+        // 1-based arrays, index 0 is the virtual starting column.
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] rowOfColumn = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minValue = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            rowOfColumn[0] = i;
+            int column = 0;
+            Arrays.fill(minValue, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+
+            do {
+                used[column] = true;
+                int row = rowOfColumn[column];
+                int nextColumn = 0;
+                double delta = Double.POSITIVE_INFINITY;
+
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) continue;
+                    double reduced = cost[row - 1][j - 1] - u[row] - v[j];
+                    if (reduced < minValue[j]) {
+                        minValue[j] = reduced;
+                        way[j] = column;
+                    }
+                    if (minValue[j] < delta) {
+                        delta = minValue[j];
+                        nextColumn = j;
+                    }
+                }
+
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[rowOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minValue[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+
+            // Walk the augmenting path back and flip it.
+            do {
+                int previousColumn = way[column];
+                rowOfColumn[column] = rowOfColumn[previousColumn];
+                column = previousColumn;
+            } while (column != 0);
+        }
+
+        int[] assignment = new int[n];
+        Arrays.fill(assignment, -1);
+        for (int j = 1; j <= m; j++) {
+            if (rowOfColumn[j] != 0) assignment[rowOfColumn[j] - 1] = j - 1;
+        }
+        return assignment;
+    }
+}
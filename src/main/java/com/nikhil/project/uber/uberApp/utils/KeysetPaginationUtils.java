@@ -0,0 +1,43 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * Helpers for "newest first" keyset pagination on (time, id).
+ *
+ * Queries ask for one row more than the page size (fetchLimit): if it comes back there is a next
+ * page, and no count query is needed. The last row of the page becomes the cursor of the next one.
+ */
+public class KeysetPaginationUtils {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public static int pageSize(Integer requested) {
+        return requested == null ? 10 : Math.min(Math.max(requested, 1), MAX_PAGE_SIZE);
+    }
+
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public static <E, T> CursorSliceDto<T> toSlice(List<E> rows, int pageSize,
+                                                   Function<E, T> mapper,
+                                                   Function<E, LocalDateTime> timeOf,
+                                                   Function<E, Long> idOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<E> page = hasNext ? rows.subList(0, pageSize) : rows;
+        E last = hasNext ? page.get(pageSize - 1) : null;
+
+        return new CursorSliceDto<>(
+                page.stream().map(mapper).toList(),
+                hasNext,
+                last == null ? null : timeOf.apply(last),
+                last == null ? null : idOf.apply(last)
+        );
+    }
+}
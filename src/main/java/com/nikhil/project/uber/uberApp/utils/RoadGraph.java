@@ -0,0 +1,301 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Directed road network in compressed sparse row (CSR) form.
+ *
+ * Node i sits at (longitude[i], latitude[i]) and its outgoing edges are
+ * firstEdge[i] .. firstEdge[i + 1] - 1, each with a target node and a length in meters.
+ * Plain int arrays keep a city-sized graph (a few million edges) at tens of MB with no objects per edge.
+ *
+ * Binary file layout (big-endian ints, as written by writeTo):
+ *   magic "UBRG", version, nodeCount, edgeCount,
+ *   longitudeE6[nodeCount], latitudeE6[nodeCount], firstEdge[nodeCount + 1],
+ *   edgeTarget[edgeCount], edgeLengthMeters[edgeCount]
+ *
+ * fromCsv builds the same graph from two CSV exports of an OSM extract
+ * (nodes: id,longitude,latitude / edges: fromId,toId,lengthMeters, one line per driving direction).
+ */
+public class RoadGraph {
+
+    private static final int MAGIC = 0x55425247; // "UBRG"
+    private static final int VERSION = 1;
+    private static final double SNAP_CELL_DEGREES = 0.01;
+
+    private final int[] longitudeE6;
+    private final int[] latitudeE6;
+    private final int[] firstEdge;
+    private final int[] edgeTarget;
+    private final int[] edgeLengthMeters;
+
+    // Nodes bucketed by grid cell for nearest-node lookups: sorted cell keys, bucket offsets, node ids.
+    private final long[] cellKeys;
+    private final int[] cellStart;
+    private final int[] nodesByCell;
+
+    public RoadGraph(int[] longitudeE6, int[] latitudeE6, int[] firstEdge, int[] edgeTarget, int[] edgeLengthMeters) {
+        this.longitudeE6 = longitudeE6;
+        this.latitudeE6 = latitudeE6;
+        this.firstEdge = firstEdge;
+        this.edgeTarget = edgeTarget;
+        this.edgeLengthMeters = edgeLengthMeters;
+
+        int nodeCount = longitudeE6.length;
+        long[] keys = new long[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            keys[node] = GeometryUtils.cellKey(longitude(node), latitude(node), SNAP_CELL_DEGREES);
+        }
+        Integer[] order = new Integer[nodeCount];
+        for (int i = 0; i < nodeCount; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+
+        int distinct = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            if (i == 0 || keys[order[i]] != keys[order[i - 1]]) distinct++;
+        }
+        this.cellKeys = new long[distinct];
+        this.cellStart = new int[distinct + 1];
+        this.nodesByCell = new int[nodeCount];
+        int cell = -1;
+        for (int i = 0; i < nodeCount; i++) {
+            int node = order[i];
+            if (i == 0 || keys[node] != keys[order[i - 1]]) {
+                cell++;
+                cellKeys[cell] = keys[node];
+                cellStart[cell] = i;
+            }
+            nodesByCell[i] = node;
+        }
+        cellStart[distinct] = nodeCount;
+    }
+
+    /*
+     * Builds a graph from an edge list. Edges may come in any order; they are grouped by source node here.
+     */
+    public static RoadGraph fromEdges(int[] longitudeE6, int[] latitudeE6, int[] from, int[] to, int[] lengthMeters) {
+        int nodeCount = longitudeE6.length;
+        int edgeCount = from.length;
+
+        int[] firstEdge = new int[nodeCount + 1];
+        for (int source : from) firstEdge[source + 1]++;
+        for (int node = 0; node < nodeCount; node++) firstEdge[node + 1] += firstEdge[node];
+
+        int[] next = Arrays.copyOf(firstEdge, nodeCount);
+        int[] edgeTarget = new int[edgeCount];
+        int[] edgeLength = new int[edgeCount];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            int slot = next[from[edge]]++;
+            edgeTarget[slot] = to[edge];
+            edgeLength[slot] = lengthMeters[edge];
+        }
+        return new RoadGraph(longitudeE6, latitudeE6, firstEdge, edgeTarget, edgeLength);
+    }
+
+    public static RoadGraph load(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            IntBuffer ints = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).asIntBuffer();
+            if (ints.get() != MAGIC) throw new IllegalArgumentException(file + " is not a road graph file");
+            int version = ints.get();
+            if (version != VERSION) throw new IllegalArgumentException("Unsupported road graph version " + version);
+
+            int nodeCount = ints.get();
+            int edgeCount = ints.get();
+            int[] longitudeE6 = read(ints, nodeCount);
+            int[] latitudeE6 = read(ints, nodeCount);
+            int[] firstEdge = read(ints, nodeCount + 1);
+            int[] edgeTarget = read(ints, edgeCount);
+            int[] edgeLengthMeters = read(ints, edgeCount);
+            return new RoadGraph(longitudeE6, latitudeE6, firstEdge, edgeTarget, edgeLengthMeters);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read road graph " + file, ex);
+        }
+    }
+
+    public void writeTo(Path file) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(getNodeCount());
+            out.writeInt(getEdgeCount());
+            for (int[] array : new int[][]{longitudeE6, latitudeE6, firstEdge, edgeTarget, edgeLengthMeters}) {
+                ByteBuffer buffer = ByteBuffer.allocate(array.length * Integer.BYTES);
+                buffer.asIntBuffer().put(array);
+                out.write(buffer.array());
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write road graph " + file, ex);
+        }
+    }
+
+    public static RoadGraph fromCsv(Path nodesCsv, Path edgesCsv) {
+        try {
+            Map<Long, Integer> nodeIndexById = new HashMap<>();
+            IntArrayBuilder longitudes = new IntArrayBuilder();
+            IntArrayBuilder latitudes = new IntArrayBuilder();
+            try (BufferedReader reader = Files.newBufferedReader(nodesCsv)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split(",");
+                    if (columns.length < 3 || !isNumber(columns[0])) continue; // header or blank line
+                    nodeIndexById.put(Long.parseLong(columns[0].trim()), longitudes.size());
+                    longitudes.add(toE6(Double.parseDouble(columns[1].trim())));
+                    latitudes.add(toE6(Double.parseDouble(columns[2].trim())));
+                }
+            }
+
+            IntArrayBuilder from = new IntArrayBuilder();
+            IntArrayBuilder to = new IntArrayBuilder();
+            IntArrayBuilder lengths = new IntArrayBuilder();
+            try (BufferedReader reader = Files.newBufferedReader(edgesCsv)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] columns = line.split(",");
+                    if (columns.length < 3 || !isNumber(columns[0])) continue;
+                    Integer source = nodeIndexById.get(Long.parseLong(columns[0].trim()));
+                    Integer target = nodeIndexById.get(Long.parseLong(columns[1].trim()));
+                    if (source == null || target == null) continue; // edge leaves the extract
+                    from.add(source);
+                    to.add(target);
+                    lengths.add((int) Math.round(Double.parseDouble(columns[2].trim())));
+                }
+            }
+            return fromEdges(longitudes.toArray(), latitudes.toArray(), from.toArray(), to.toArray(), lengths.toArray());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read road graph CSV", ex);
+        }
+    }
+
+    /*
+     * Same nodes with every edge reversed, i.e. the graph a backwards search runs on.
+     */
+    public RoadGraph reversed() {
+        int edgeCount = getEdgeCount();
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        for (int node = 0; node < getNodeCount(); node++) {
+            for (int edge = firstEdge[node]; edge < firstEdge[node + 1]; edge++) {
+                from[edge] = edgeTarget[edge];
+                to[edge] = node;
+            }
+        }
+        return fromEdges(longitudeE6, latitudeE6, from, to, edgeLengthMeters);
+    }
+
+    /*
+     * Closest node to the given point within maxDistanceKm, or -1 if there is none.
+     */
+    public int findNearestNode(double longitude, double latitude, double maxDistanceKm) {
+        int centerColumn = GeometryUtils.cellIndex(longitude, SNAP_CELL_DEGREES);
+        int centerRow = GeometryUtils.cellIndex(latitude, SNAP_CELL_DEGREES);
+        // Cells shrink east-west towards the poles, so size the rings by the narrower side.
+        double cellKm = SNAP_CELL_DEGREES * 111.32 * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        int maxRing = (int) Math.ceil(maxDistanceKm / cellKm);
+
+        int best = -1;
+        double bestKm = maxDistanceKm;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int column = centerColumn - ring; column <= centerColumn + ring; column++) {
+                for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                    if (Math.abs(column - centerColumn) != ring && Math.abs(row - centerRow) != ring) continue;
+                    int cell = Arrays.binarySearch(cellKeys, GeometryUtils.cellKey(column, row));
+                    if (cell < 0) continue;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int node = nodesByCell[i];
+                        double km = GeometryUtils.haversineDistanceKm(longitude, latitude, longitude(node), latitude(node));
+                        if (km <= bestKm) {
+                            bestKm = km;
+                            best = node;
+                        }
+                    }
+                }
+            }
+            // Anything in the next ring is at least `ring` cells away.
+            if (best != -1 && bestKm <= ring * cellKm) break;
+        }
+        return best;
+    }
+
+    public int getNodeCount() {
+        return longitudeE6.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    public double longitude(int node) {
+        return longitudeE6[node] / 1e6;
+    }
+
+    public double latitude(int node) {
+        return latitudeE6[node] / 1e6;
+    }
+
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int endEdge(int node) {
+        return firstEdge[node + 1];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public int edgeLengthMeters(int edge) {
+        return edgeLengthMeters[edge];
+    }
+
+    private static int[] read(IntBuffer ints, int count) {
+        int[] array = new int[count];
+        ints.get(array);
+        return array;
+    }
+
+    private static int toE6(double degrees) {
+        return (int) Math.round(degrees * 1e6);
+    }
+
+    private static boolean isNumber(String value) {
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) return false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!Character.isDigit(c) && !(i == 0 && c == '-')) return false;
+        }
+        return true;
+    }
+
+    private static class IntArrayBuilder {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/*
+ * Runs a few subtasks of one request concurrently and treats them as a unit, the way
+ * StructuredTaskScope.ShutdownOnFailure does (that API needs Java 21+ with preview features):
+ *
+ *   try (TaskScope scope = new TaskScope(executor)) {
+ *       Subtask<Double> fare = scope.fork(() -> ...);
+ *       Subtask<List<Driver>> drivers = scope.fork(() -> ...);
+ *       scope.join(deadline).throwIfFailed();
+ *       ... fare.get(), drivers.get()
+ *   }
+ *
+ * - join returns when every subtask has finished, or as soon as one has failed.
+ * - The first failure, the deadline passing, or leaving the block early all cancel the
+ *   subtasks that are still running (with interrupt).
+ * - Not thread-safe: fork, join and close belong to the thread that opened the scope.
+ */
+public class TaskScope implements AutoCloseable {
+
+    private final Executor executor;
+    private final List<Subtask<?>> subtasks = new ArrayList<>();
+    private final BlockingQueue<Subtask<?>> finished = new LinkedBlockingQueue<>();
+    private Throwable failure;
+
+    public TaskScope(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> Subtask<T> fork(Callable<T> task) {
+        Subtask<T> subtask = new Subtask<>(task);
+        subtasks.add(subtask);
+        executor.execute(subtask);
+        return subtask;
+    }
+
+    public TaskScope join(Duration timeout) throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (int done = 0; done < subtasks.size(); done++) {
+                Subtask<?> subtask = finished.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (subtask == null) {
+                    long running = subtasks.stream().filter(task -> !task.isDone()).count();
+                    throw new TimeoutException(running + " subtask(s) still running after " + timeout.toMillis() + " ms");
+                }
+                failure = subtask.exception();
+                if (failure != null) break;
+            }
+        } finally {
+            cancelUnfinished();
+        }
+        return this;
+    }
+
+    public void throwIfFailed() {
+        if (failure instanceof RuntimeException runtimeException) throw runtimeException;
+        if (failure instanceof Error error) throw error;
+        if (failure != null) throw new IllegalStateException(failure);
+    }
+
+    @Override
+    public void close() {
+        cancelUnfinished();
+    }
+
+    private void cancelUnfinished() {
+        for (Subtask<?> subtask : subtasks) {
+            subtask.cancel(true);
+        }
+    }
+
+    public class Subtask<T> extends FutureTask<T> {
+
+        private Subtask(Callable<T> callable) {
+            super(callable);
+        }
+
+        // The result once the scope is joined; fails if the subtask did not complete successfully.
+        @Override
+        public T get() {
+            if (!isDone() || isCancelled()) {
+                throw new IllegalStateException("Subtask has not completed");
+            }
+            try {
+                return super.get();
+            } catch (InterruptedException | ExecutionException | CancellationException ex) {
+                throw new IllegalStateException("Subtask did not complete successfully", ex);
+            }
+        }
+
+        private Throwable exception() {
+            if (isCancelled()) return null;
+            try {
+                super.get();
+                return null;
+            } catch (ExecutionException ex) {
+                return ex.getCause();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return ex;
+            }
+        }
+
+        @Override
+        protected void done() {
+            finished.add(this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+    /*
+     * Runs the action once the surrounding transaction has committed, or right away when
+     * there is no transaction. Used for in-memory side effects (indexes, async hand-offs)
+     * that must not observe data which could still be rolled back.
+     */
+    public static void runAfterCommit(Runnable action) {
+        runAfterCommit(action, () -> { });
+    }
+
+    /*
+     * Same as above, plus a callback for the rollback case, e.g. to give back a permit
+     * that was reserved for work which will now never be started.
+     */
+    public static void runAfterCommit(Runnable action, Runnable onRollback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    } else {
+                        onRollback.run();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,44 +1,45 @@
+-- Every seeded user logs in with the password "Password" (bcrypt hashes, see PasswordHashingServiceImpl).
 INSERT INTO users (name, email, password) VALUES
-('Aarav Sharma', 'aarav@gmail.com', 'Password'),
-('Vivaan Khanna', 'vivaan.khanna@example.com', '$2a$10$examplePasswordHash2'),
-('Aditya Verma', 'aditya.verma@example.com', '$2a$10$examplePasswordHash3'),
-('Vihaan Kapoor', 'vihaan.kapoor@example.com', '$2a$10$examplePasswordHash4'),
-('Arjun Patel', 'arjun.patel@example.com', '$2a$10$examplePasswordHash5'),
-('Sai Reddy', 'sai.reddy@example.com', '$2a$10$examplePasswordHash6'),
-('Ananya Nair', 'ananya.nair@example.com', '$2a$10$examplePasswordHash7'),
-('Ishaan Thakur', 'ishaan.thakur@example.com', '$2a$10$examplePasswordHash8'),
-('Aryan Rao', 'aryan.rao@example.com', '$2a$10$examplePasswordHash9'),
-('Diya Singh', 'diya.singh@example.com', '$2a$10$examplePasswordHash10'),
-('Kabir Joshi', 'kabir.joshi@example.com', '$2a$10$examplePasswordHash11'),
-('Krishna Iyer', 'krishna.iyer@example.com', '$2a$10$examplePasswordHash12'),
-('Reyansh Pandey', 'reyansh.pandey@example.com', '$2a$10$examplePasswordHash13'),
-('Ayaan Mehta', 'ayaan.mehta@example.com', '$2a$10$examplePasswordHash14'),
-('Anaya Mishra', 'anaya.mishra@example.com', '$2a$10$examplePasswordHash15'),
-('Navya Kulkarni', 'navya.kulkarni@example.com', '$2a$10$examplePasswordHash16'),
-('Naira Desai', 'naira.desai@example.com', '$2a$10$examplePasswordHash17'),
-('Dhruv Saxena', 'dhruv.saxena@example.com', '$2a$10$examplePasswordHash18'),
-('Sara Bajaj', 'sara.bajaj@example.com', '$2a$10$examplePasswordHash19'),
-('Arnav Malhotra', 'arnav.malhotra@example.com', '$2a$10$examplePasswordHash20'),
-('Rahul Kumar', 'rahul.kumar@example.com', '$2a$10$examplePasswordHash21'),
-('Rohit Gupta', 'rohit.gupta@example.com', '$2a$10$examplePasswordHash22'),
-('Pooja Sharma', 'pooja.sharma@example.com', '$2a$10$examplePasswordHash23'),
-('Karan Singh', 'karan.singh@example.com', '$2a$10$examplePasswordHash24'),
-('Sonia Mehta', 'sonia.mehta@example.com', '$2a$10$examplePasswordHash25'),
-('Anil Kapoor', 'anil.kapoor@example.com', '$2a$10$examplePasswordHash26'),
-('Deepak Verma', 'deepak.verma@example.com', '$2a$10$examplePasswordHash27'),
-('Sneha Jain', 'sneha.jain@example.com', '$2a$10$examplePasswordHash28'),
-('Ajay Mishra', 'ajay.mishra@example.com', '$2a$10$examplePasswordHash29'),
-('Nisha Reddy', 'nisha.reddy@example.com', '$2a$10$examplePasswordHash30'),
-('Vikas Joshi', 'vikas.joshi@example.com', '$2a$10$examplePasswordHash31'),
-('Meena Desai', 'meena.desai@example.com', '$2a$10$examplePasswordHash32'),
-('Rajesh Iyer', 'rajesh.iyer@example.com', '$2a$10$examplePasswordHash33'),
-('Suresh Nair', 'suresh.nair@example.com', '$2a$10$examplePasswordHash34'),
-('Kavita Singh', 'kavita.singh@example.com', '$2a$10$examplePasswordHash35'),
-('Ankur Saxena', 'ankur.saxena@example.com', '$2a$10$examplePasswordHash36'),
-('Geeta Bajaj', 'geeta.bajaj@example.com', '$2a$10$examplePasswordHash37'),
-('Ramesh Malhotra', 'ramesh.malhotra@example.com', '$2a$10$examplePasswordHash38'),
-('Seema Rao', 'seema.rao@example.com', '$2a$10$examplePasswordHash39'),
-('Tarun Sharma', 'tarun.sharma@example.com', '$2a$10$examplePasswordHash40');
+('Aarav Sharma', 'aarav@gmail.com', '{bcrypt}$2a$10$5xG9LqlqGapw0Pov9nD8VOq3p67pJ8dnOkn.ktk2ZoFFbyrukIRLG'),
+('Vivaan Khanna', 'vivaan.khanna@example.com', '{bcrypt}$2a$10$EPfltoFAfDQCqQ97UYSY2eiimoKvSOsHNdpaSgYv75RPexGhQd1kW'),
+('Aditya Verma', 'aditya.verma@example.com', '{bcrypt}$2a$10$FUubnkpBgbBkhgGRB3tPmemk8xfgLWVP8hZzob8zVBn/21/LaXQ4a'),
+('Vihaan Kapoor', 'vihaan.kapoor@example.com', '{bcrypt}$2a$10$kBCXGsS1S1zkmRYVq1oa8u71jZAFBSyTRf58EGRqKpUlaBYPZF9ce'),
+('Arjun Patel', 'arjun.patel@example.com', '{bcrypt}$2a$10$grKOrnQV1ssE2jtaRInXoe.fNkjaduozLDy8Zmr1sOfMjBrNkStSi'),
+('Sai Reddy', 'sai.reddy@example.com', '{bcrypt}$2a$10$dzKEuMBlYTbw1QcJ20UliO7gdk61T0SivsTHZ2wMHmOMBUXYonpzK'),
+('Ananya Nair', 'ananya.nair@example.com', '{bcrypt}$2a$10$qZpUcznYtMQtQY7yOi4j9Oq5xs3j1dLYtjKFIXYmStKcORiqMkcRm'),
+('Ishaan Thakur', 'ishaan.thakur@example.com', '{bcrypt}$2a$10$ZEhO5NC1sv9wu61vlgdPAuh8QcsB2aIy/GRN9mdDrYSia/cUqoiT.'),
+('Aryan Rao', 'aryan.rao@example.com', '{bcrypt}$2a$10$7QVvd9RpN7DcD9mrybrTqO5tQCUDrfNrAOjGvw/IGYkI8ssQQzbzW'),
+('Diya Singh', 'diya.singh@example.com', '{bcrypt}$2a$10$D2pxCI7p9un5mjFKFEQZBOYs6Yi9Dsydpxj6DkD16UrqaAV6NpxLm'),
+('Kabir Joshi', 'kabir.joshi@example.com', '{bcrypt}$2a$10$TRTmzqRp4j0a4GHOJkyo3eEziqIYXRngrXWFRw9in.74fHUNfNBKS'),
+('Krishna Iyer', 'krishna.iyer@example.com', '{bcrypt}$2a$10$Plx3ECM/eXbesR5zOfSaxeXfR8DTmu3MFsxVXS2QIgVn/T1xsQuK6'),
+('Reyansh Pandey', 'reyansh.pandey@example.com', '{bcrypt}$2a$10$TIcYxJOh9klZCYgl2KBCQeUH7oi3IdZ6WA2YVKH1N1Y1ecM.czsWa'),
+('Ayaan Mehta', 'ayaan.mehta@example.com', '{bcrypt}$2a$10$j.IZsh7iL252ptq1ANKk5.U0Crzp0bwRmPjSRVkbmGj2BNE8F5w2C'),
+('Anaya Mishra', 'anaya.mishra@example.com', '{bcrypt}$2a$10$fYmx4pwwFtYgwdJ.PZ/PyumwJWTtLPzdHAnTBWfoemYJWMClQeBjC'),
+('Navya Kulkarni', 'navya.kulkarni@example.com', '{bcrypt}$2a$10$aZuzij0QWyYGgQPwJkqyiOr.uHc8bHKK8oYHLyxenyKYx6UQIZVIu'),
+('Naira Desai', 'naira.desai@example.com', '{bcrypt}$2a$10$ocJwDosvTlMu3lWqtaB2e.TuubJ2.00iObJ9BSlFbYXJQQNaiw4O2'),
+('Dhruv Saxena', 'dhruv.saxena@example.com', '{bcrypt}$2a$10$waXffBlosRAL.EfarGvJ2eCbSkh1KxchmxAmnCO5ixiAEtPhS8iv.'),
+('Sara Bajaj', 'sara.bajaj@example.com', '{bcrypt}$2a$10$brUaGd6V3VjpnRx7DjGJbOIlNvy.0B3YDupT94HtEsrs8jKVQ3Flq'),
+('Arnav Malhotra', 'arnav.malhotra@example.com', '{bcrypt}$2a$10$BjTiRqNAdspEPOXP237mkuBn1vPJaWQJ5331Pagw5GrGfkfD0DKMu'),
+('Rahul Kumar', 'rahul.kumar@example.com', '{bcrypt}$2a$10$MfJkGyJ2hSmbHtz05J7gReiMowIAhvBJloxm67r1jfcenxHQGzC86'),
+('Rohit Gupta', 'rohit.gupta@example.com', '{bcrypt}$2a$10$L5.RO49T9U9Ps0nxaSP5GeAgaqpQZU/VA77HRNIIg3/GCs5G5xQUm'),
+('Pooja Sharma', 'pooja.sharma@example.com', '{bcrypt}$2a$10$gpq7etTLblZe1ZzhR.eE3.drLXse2yrGfBqtOXVk4HHmXLcWExZiu'),
+('Karan Singh', 'karan.singh@example.com', '{bcrypt}$2a$10$ZfyJyMMA6YZELH2pXwaYVe7nU9I67qMjajWzjY5qzgFZJMc97NLxu'),
+('Sonia Mehta', 'sonia.mehta@example.com', '{bcrypt}$2a$10$42DINEMDlmGomoTwdQFBqu0phzGL7sx5Zo7XKa4Iw5SUkwh.LLwam'),
+('Anil Kapoor', 'anil.kapoor@example.com', '{bcrypt}$2a$10$JCXg4QCSJvvpPTMy22I60uHivZaRhmWZ09V6VFUzO1wlM6Y49StW2'),
+('Deepak Verma', 'deepak.verma@example.com', '{bcrypt}$2a$10$bEfC.T0869pPhYZQOV8H..PMc46Vww/z5zjPurZ1AnVoMbPexB.Ou'),
+('Sneha Jain', 'sneha.jain@example.com', '{bcrypt}$2a$10$Am5hTgWfoV3lQTVS6P1bZOcwWO8MKNH8YPd7kfAfe/tYKUbMzanFm'),
+('Ajay Mishra', 'ajay.mishra@example.com', '{bcrypt}$2a$10$1XQO.LRKIVxyumDjACOeduXygIKJSO5.z3uHyz/.S48nL4t59VpF2'),
+('Nisha Reddy', 'nisha.reddy@example.com', '{bcrypt}$2a$10$CCw62kUwNKmxwe//v0jfheMHyCDzjW2bWmmngQt/bhz9i.kceIZm6'),
+('Vikas Joshi', 'vikas.joshi@example.com', '{bcrypt}$2a$10$s.pH0P01woBiYbG0dWsPrO5TOgUY6BQdba3/dtKEoKuWnPI7khOZS'),
+('Meena Desai', 'meena.desai@example.com', '{bcrypt}$2a$10$Cz1XFlXNmzCuSfKHKyvCtudobPF0YHhO/WHI13lZ5Xc8zpPS71OZG'),
+('Rajesh Iyer', 'rajesh.iyer@example.com', '{bcrypt}$2a$10$Bp.BLCXOJuWLdwzYzUujf.aq611ueGbDELltxcQj57cTrxNZBCxFO'),
+('Suresh Nair', 'suresh.nair@example.com', '{bcrypt}$2a$10$hf0Q.j5oC.4TMY9sOqacKeSD8PFCfIfwZgN0kYxLZ7SRuxq8.LKdK'),
+('Kavita Singh', 'kavita.singh@example.com', '{bcrypt}$2a$10$BjYIkbuvyYyfz7fjFKf..ef7wPC/J0kNs0rypIof1bzhUZcVWNnn2'),
+('Ankur Saxena', 'ankur.saxena@example.com', '{bcrypt}$2a$10$BFaFpsrZicC3uEwm9Uvd/OPOS5rtdvbbYF5VvGfnxp2CEfBmBj4lO'),
+('Geeta Bajaj', 'geeta.bajaj@example.com', '{bcrypt}$2a$10$N.FtaV/3o2QMGnNXJkKpeeyWlQ9VuUNuHvdY7PecfQ6wZrkaam44u'),
+('Ramesh Malhotra', 'ramesh.malhotra@example.com', '{bcrypt}$2a$10$iycRvN02HBYAMxWNrxcSsufaqBA0W97C3IcpFzevz0.4qKQK15El.'),
+('Seema Rao', 'seema.rao@example.com', '{bcrypt}$2a$10$d9bmcx7RFTWLGfWc/r1DM.eR7nOFMTDbiNO5a8FK6uoSWeZudvQh.'),
+('Tarun Sharma', 'tarun.sharma@example.com', '{bcrypt}$2a$10$fB4CYUuod/InCP9Mfdz37e88cvz4p/wH9ZEvkxjcsAG96PVELcRNm');
 
 INSERT INTO user_roles (user_id, roles) VALUES
 (1, 'RIDER'),
@@ -168,3 +169,9 @@ INSERT INTO driver (id, user_id, rating, available, current_location) VALUES
 INSERT INTO wallet (id, user_id, balance) VALUES
 (1,1,100),
 (2,2,500);
+
+-- rider, driver and wallet rows above bring their own ids, which does not advance the IDENTITY sequences:
+-- move them past the seed data, or the next signup / new wallet collides with id 1.
+SELECT setval(pg_get_serial_sequence('rider', 'id'), (SELECT MAX(id) FROM rider));
+SELECT setval(pg_get_serial_sequence('driver', 'id'), (SELECT MAX(id) FROM driver));
+SELECT setval(pg_get_serial_sequence('wallet', 'id'), (SELECT MAX(id) FROM wallet));
@@ -0,0 +1,10 @@
+-- Runs after Hibernate has created the tables (spring.jpa.defer-datasource-initialization=true).
+-- Indexes that JPA's @Index cannot express (index method, expressions, WHERE clause) live here.
+
+-- Driver matching (DriverRepository.findNearestDrivers / findNearByTopRatedDrivers).
+-- GiST on the geography cast, so ST_DWithin works in meters and `<->` can walk the index in
+-- distance order. Partial on available = true: busy or offline drivers are never candidates,
+-- so they are kept out of the index entirely.
+CREATE INDEX IF NOT EXISTS idx_driver_available_location
+    ON driver USING GIST ((CAST(current_location AS geography)))
+    WHERE available = true;
@@ -0,0 +1,123 @@
+package com.nikhil.project.uber.uberApp.benchmarks;
+
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import com.nikhil.project.uber.uberApp.utils.HungarianAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Greedy (each request takes the nearest free driver, in arrival order) vs. one global
+ * assignment (HungarianAlgorithm) over the same batch of requests and drivers.
+ *
+ * JMH reports how many batches per second each approach matches; the total pickup distance
+ * and ETA of both assignments are printed once per trial, since that is what batching buys.
+ *
+ * Run with `mvn -Pjmh test-compile exec:exec -Djmh.includes=BatchAssignment`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchAssignmentBenchmark {
+
+    // Rough city-centre driving speed used to turn pickup distance into an ETA.
+    private static final double AVERAGE_SPEED_KMPH = 25.0;
+
+    // Delhi-sized box around Connaught Place, ~20 km across.
+    private static final double CENTER_LONGITUDE = 77.2167;
+    private static final double CENTER_LATITUDE = 28.6315;
+    private static final double SPREAD_DEGREES = 0.1;
+
+    @Param({"10", "50", "200"})
+    private int requests;
+
+    private double[][] cost;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int drivers = requests * 3 / 2;
+
+        double[][] pickups = randomPoints(random, requests);
+        double[][] driverLocations = randomPoints(random, drivers);
+
+        cost = new double[requests][drivers];
+        for (int r = 0; r < requests; r++) {
+            for (int d = 0; d < drivers; d++) {
+                cost[r][d] = GeometryUtils.haversineDistanceKm(
+                        pickups[r][0], pickups[r][1], driverLocations[d][0], driverLocations[d][1]);
+            }
+        }
+
+        double greedyKm = totalKm(greedy(cost));
+        double globalKm = totalKm(HungarianAlgorithm.solve(cost));
+        System.out.printf("%n[%d requests, %d drivers] greedy: %.1f km / %.0f min total pickup, "
+                        + "global: %.1f km / %.0f min total pickup (%.1f%% shorter)%n",
+                requests, drivers,
+                greedyKm, etaMinutes(greedyKm),
+                globalKm, etaMinutes(globalKm),
+                100.0 * (greedyKm - globalKm) / greedyKm);
+    }
+
+    @Benchmark
+    public int[] greedyNearestDriver() {
+        return greedy(cost);
+    }
+
+    @Benchmark
+    public int[] globalAssignment() {
+        return HungarianAlgorithm.solve(cost);
+    }
+
+    private static int[] greedy(double[][] cost) {
+        int[] assignment = new int[cost.length];
+        boolean[] taken = new boolean[cost[0].length];
+        for (int r = 0; r < cost.length; r++) {
+            int nearest = -1;
+            for (int d = 0; d < taken.length; d++) {
+                if (!taken[d] && (nearest == -1 || cost[r][d] < cost[r][nearest])) {
+                    nearest = d;
+                }
+            }
+            assignment[r] = nearest;
+            if (nearest != -1) taken[nearest] = true;
+        }
+        return assignment;
+    }
+
+    private double totalKm(int[] assignment) {
+        double total = 0;
+        for (int r = 0; r < assignment.length; r++) {
+            if (assignment[r] != -1) total += cost[r][assignment[r]];
+        }
+        return total;
+    }
+
+    private static double etaMinutes(double km) {
+        return km / AVERAGE_SPEED_KMPH * 60;
+    }
+
+    private static double[][] randomPoints(Random random, int count) {
+        double[][] points = new double[count][2];
+        for (int i = 0; i < count; i++) {
+            points[i][0] = CENTER_LONGITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+            points[i][1] = CENTER_LATITUDE + (random.nextDouble() - 0.5) * SPREAD_DEGREES;
+        }
+        return points;
+    }
+}
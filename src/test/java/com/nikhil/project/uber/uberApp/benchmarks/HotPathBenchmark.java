@@ -0,0 +1,128 @@
+package com.nikhil.project.uber.uberApp.benchmarks;
+
+import com.nikhil.project.uber.uberApp.advices.GlobalResponseHandler;
+import com.nikhil.project.uber.uberApp.dto.PointDto;
+import com.nikhil.project.uber.uberApp.dto.RiderDto;
+import com.nikhil.project.uber.uberApp.dto.UserDto;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.services.impl.RideServiceImpl;
+import com.nikhil.project.uber.uberApp.services.impl.SurgePricingServiceImpl;
+import com.nikhil.project.uber.uberApp.strategies.RideFareCalculationStrategy;
+import com.nikhil.project.uber.uberApp.strategies.impl.RideFareDefaultFarreCalculationStrategy;
+import com.nikhil.project.uber.uberApp.strategies.impl.RideFareSurgePricingFareCalculationStrategy;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.locationtech.jts.geom.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Throughput of the small pieces every ride request goes through, without Spring or a database:
+ * point creation, both fare strategies (DistanceService stubbed with the haversine estimate, so
+ * only the strategy is measured), OTP generation and the response wrapping advice.
+ * Mapping is covered by MapperBenchmark.
+ *
+ * Run with `mvn -Pjmh test-compile exec:exec`. It passes `-prof gc`, so every result comes with
+ * gc.alloc.rate.norm (bytes/op), and writes target/jmh-result.json to diff against a baseline.
+ * Add -Djmh.includes=HotPath to run only this class.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+    private static final double ROAD_FACTOR = 1.3;
+
+    private PointDto pointDto;
+    private RideRequest rideRequest;
+    private RideFareCalculationStrategy defaultFareStrategy;
+    private RideFareCalculationStrategy surgeFareStrategy;
+    private RideServiceImpl rideService;
+    private GlobalResponseHandler responseHandler;
+    private ServerHttpRequest request;
+    private ServerHttpResponse response;
+    private RiderDto dtoBody;
+    private String stringBody;
+
+    @Setup
+    public void setUp() {
+        pointDto = new PointDto(new Double[]{77.2167, 28.6315});
+
+        rideRequest = new RideRequest();
+        rideRequest.setPickupLocation(GeometryUtils.createPoint(77.2167, 28.6315));
+        rideRequest.setDropOffLocation(GeometryUtils.createPoint(77.1025, 28.7041));
+
+        DistanceService distanceService = (src, dest) -> GeometryUtils.estimateRoadDistanceKm(src, dest, ROAD_FACTOR);
+        defaultFareStrategy = new RideFareDefaultFarreCalculationStrategy(distanceService);
+        // No multipliers computed yet: every lookup misses, which costs the same as a hit.
+        surgeFareStrategy = new RideFareSurgePricingFareCalculationStrategy(distanceService,
+                new SurgePricingServiceImpl(null, Clock.systemUTC(), 0.02, 300, 30, 1.0, 0.5, 3.0));
+
+        // generateOtp uses neither collaborator.
+        rideService = new RideServiceImpl(null, null);
+
+        responseHandler = new GlobalResponseHandler();
+        request = new ServletServerHttpRequest(new MockHttpServletRequest("GET", "/riders/getMyProfile"));
+        response = new ServletServerHttpResponse(new MockHttpServletResponse());
+        dtoBody = new RiderDto(1L, new UserDto("Rider", "rider@uber.test", Set.of(Role.RIDER)), 4.7);
+        stringBody = "Ride cancelled";
+    }
+
+    @Benchmark
+    public Point createPointFromCoordinates() {
+        return GeometryUtils.createPoint(77.2167, 28.6315);
+    }
+
+    @Benchmark
+    public Point createPointFromDto() {
+        return GeometryUtils.createPoint(pointDto);
+    }
+
+    @Benchmark
+    public double defaultFare() {
+        return defaultFareStrategy.calculateFare(rideRequest);
+    }
+
+    @Benchmark
+    public double surgeFare() {
+        return surgeFareStrategy.calculateFare(rideRequest);
+    }
+
+    @Benchmark
+    public String generateOtp() {
+        return rideService.generateOtp();
+    }
+
+    @Benchmark
+    public Object wrapDtoResponse() {
+        return responseHandler.beforeBodyWrite(dtoBody, null, MediaType.APPLICATION_JSON, null, request, response);
+    }
+
+    @Benchmark
+    public Object wrapStringResponse() {
+        return responseHandler.beforeBodyWrite(stringBody, null, MediaType.APPLICATION_JSON, null, request, response);
+    }
+}
@@ -0,0 +1,148 @@
+package com.nikhil.project.uber.uberApp.benchmarks;
+
+import com.nikhil.project.uber.uberApp.configs.MapperConfig;
+import com.nikhil.project.uber.uberApp.dto.PointDto;
+import com.nikhil.project.uber.uberApp.dto.RideDto;
+import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.entities.Ride;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.entities.Rider;
+import com.nikhil.project.uber.uberApp.entities.User;
+import com.nikhil.project.uber.uberApp.enums.PaymentMethod;
+import com.nikhil.project.uber.uberApp.enums.RideStatus;
+import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.mappers.PointMapper;
+import com.nikhil.project.uber.uberApp.mappers.RideMapper;
+import com.nikhil.project.uber.uberApp.mappers.RideRequestMapper;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.locationtech.jts.geom.Point;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Hand-written mappers against the ModelMapper set up by MapperConfig, on the mappings the
+ * ride endpoints do on every call: Ride -> RideDto (with rider, driver, users and points),
+ * RideRequestDto -> RideRequest and both directions of Point <-> PointDto (the two
+ * converters MapperConfig registers).
+ *
+ * Allocation matters as much as time here, so run it with the GC profiler:
+ * `mvn -Pjmh test-compile exec:exec -Djmh.includes=Mapper` and compare gc.alloc.rate.norm (bytes/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private Ride ride;
+    private RideRequestDto rideRequestDto;
+    private Point point;
+    private PointDto pointDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new MapperConfig().modelMapper();
+
+        Rider rider = new Rider();
+        rider.setId(1L);
+        rider.setRating(4.7);
+        rider.setUser(user(1L, "Rider", Role.RIDER));
+
+        Driver driver = new Driver();
+        driver.setId(2L);
+        driver.setRating(4.9);
+        driver.setAvailable(false);
+        driver.setVehicleId("DL01AB1234");
+        driver.setUser(user(2L, "Driver", Role.DRIVER));
+        driver.setCurrentLocation(GeometryUtils.createPoint(77.2167, 28.6315));
+
+        ride = new Ride();
+        ride.setId(42L);
+        ride.setPickupLocation(GeometryUtils.createPoint(77.2167, 28.6315));
+        ride.setDropOffLocation(GeometryUtils.createPoint(77.1025, 28.7041));
+        ride.setCreatedTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        ride.setRider(rider);
+        ride.setDriver(driver);
+        ride.setPaymentMethod(PaymentMethod.WALLET);
+        ride.setRideStatus(RideStatus.ONGOING);
+        ride.setOtp("123456");
+        ride.setFare(250.0);
+        ride.setStartedAt(LocalDateTime.of(2025, 1, 1, 10, 5));
+
+        rideRequestDto = new RideRequestDto();
+        rideRequestDto.setPickUpLocation(new PointDto(new Double[]{77.2167, 28.6315}));
+        rideRequestDto.setDropOffLocation(new PointDto(new Double[]{77.1025, 28.7041}));
+        rideRequestDto.setPaymentMethod(PaymentMethod.CASH);
+
+        point = GeometryUtils.createPoint(77.2167, 28.6315);
+        pointDto = new PointDto(new Double[]{77.2167, 28.6315});
+    }
+
+    @Benchmark
+    public RideDto rideToDtoModelMapper() {
+        return modelMapper.map(ride, RideDto.class);
+    }
+
+    @Benchmark
+    public RideDto rideToDtoHandWritten() {
+        return RideMapper.toRideDto(ride);
+    }
+
+    @Benchmark
+    public RideRequest rideRequestFromDtoModelMapper() {
+        return modelMapper.map(rideRequestDto, RideRequest.class);
+    }
+
+    @Benchmark
+    public RideRequest rideRequestFromDtoHandWritten() {
+        return RideRequestMapper.toRideRequest(rideRequestDto);
+    }
+
+    @Benchmark
+    public PointDto pointToDtoModelMapper() {
+        return modelMapper.map(point, PointDto.class);
+    }
+
+    @Benchmark
+    public PointDto pointToDtoHandWritten() {
+        return PointMapper.toPointDto(point);
+    }
+
+    @Benchmark
+    public Point pointFromDtoModelMapper() {
+        return modelMapper.map(pointDto, Point.class);
+    }
+
+    @Benchmark
+    public Point pointFromDtoHandWritten() {
+        return PointMapper.toPoint(pointDto);
+    }
+
+    private static User user(Long id, String name, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@uber.test");
+        user.setPassword("password123");
+        user.setRoles(new HashSet<>(Set.of(role)));
+        return user;
+    }
+}
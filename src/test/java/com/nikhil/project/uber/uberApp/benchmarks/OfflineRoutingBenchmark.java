@@ -0,0 +1,103 @@
+package com.nikhil.project.uber.uberApp.benchmarks;
+
+import com.nikhil.project.uber.uberApp.utils.AltRouter;
+import com.nikhil.project.uber.uberApp.utils.RoadGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Query latency of the offline router on a synthetic city: a square street grid with ~60 m blocks,
+ * some one-way streets, and random ride lengths up to `maxRideKm`.
+ *
+ * Run with `mvn -Pjmh test-compile exec:exec -Djmh.includes=OfflineRouting`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OfflineRoutingBenchmark {
+
+    private static final int SIDE = 400; // 160,000 intersections, ~24 km across
+    private static final int QUERIES = 1024;
+
+    @Param({"16"})
+    private int landmarks;
+
+    @Param({"5", "25"})
+    private int maxRideKm;
+
+    private AltRouter router;
+    private int[] sources;
+    private int[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int nodeCount = SIDE * SIDE;
+        int[] longitudeE6 = new int[nodeCount];
+        int[] latitudeE6 = new int[nodeCount];
+        List<int[]> edges = new ArrayList<>();
+        for (int y = 0; y < SIDE; y++) {
+            for (int x = 0; x < SIDE; x++) {
+                int node = y * SIDE + x;
+                longitudeE6[node] = 77_000_000 + x * 600;
+                latitudeE6[node] = 28_500_000 + y * 550;
+                if (x + 1 < SIDE) {
+                    int meters = 50 + random.nextInt(30);
+                    edges.add(new int[]{node, node + 1, meters});
+                    if (y % 7 != 0) edges.add(new int[]{node + 1, node, meters}); // every 7th street is one-way
+                }
+                if (y + 1 < SIDE) {
+                    int meters = 50 + random.nextInt(30);
+                    edges.add(new int[]{node, node + SIDE, meters});
+                    edges.add(new int[]{node + SIDE, node, meters});
+                }
+            }
+        }
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] meters = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            from[i] = edges.get(i)[0];
+            to[i] = edges.get(i)[1];
+            meters[i] = edges.get(i)[2];
+        }
+        router = new AltRouter(RoadGraph.fromEdges(longitudeE6, latitudeE6, from, to, meters), landmarks);
+
+        int maxBlocks = maxRideKm * 1000 / 65;
+        sources = new int[QUERIES];
+        targets = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            int x = random.nextInt(SIDE);
+            int y = random.nextInt(SIDE);
+            int targetX = Math.floorMod(x + random.nextInt(2 * maxBlocks + 1) - maxBlocks, SIDE);
+            int targetY = Math.floorMod(y + random.nextInt(2 * maxBlocks + 1) - maxBlocks, SIDE);
+            sources[i] = y * SIDE + x;
+            targets[i] = targetY * SIDE + targetX;
+        }
+    }
+
+    @Benchmark
+    public int shortestPath() {
+        int i = next++ & (QUERIES - 1);
+        return router.shortestPathMeters(sources[i], targets[i]);
+    }
+}
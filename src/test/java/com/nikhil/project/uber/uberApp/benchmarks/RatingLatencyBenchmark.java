@@ -0,0 +1,104 @@
+package com.nikhil.project.uber.uberApp.benchmarks;
+
+import com.nikhil.project.uber.uberApp.entities.Ride;
+import com.nikhil.project.uber.uberApp.repositories.RideRepository;
+import com.nikhil.project.uber.uberApp.services.RatingService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * Latency of RatingService.rateDriver for drivers with 0 to 100k earlier ratings.
+ * With the running counters it should be flat; re-averaging the history grew linearly.
+ *
+ * History is bulk-inserted with generate_series (ids far above anything the sequences hand out),
+ * then the counters are rebuilt with the backfill, which is checked along the way.
+ * Run with `mvn test -Pbenchmarks`.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class RatingLatencyBenchmark {
+
+    private static final int[] HISTORY_SIZES = {0, 1_000, 10_000, 100_000};
+    // Seeded drivers from data.sql, one per history size.
+    private static final long[] DRIVER_IDS = {3L, 4L, 5L, 6L};
+    private static final long RIDER_ID = 1L;
+    private static final int WARMUP_RATINGS = 50;
+    private static final int MEASURED_RATINGS = 200;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RideRepository rideRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rateDriverLatencyDoesNotGrowWithHistory() {
+        for (int i = 0; i < HISTORY_SIZES.length; i++) {
+            long idBase = 1_000_000_000L * (i + 1);
+            insertRatedRides(DRIVER_IDS[i], idBase, HISTORY_SIZES[i]);
+        }
+        ratingService.backfillRatingCounters();
+
+        System.out.printf("%10s %12s %12s%n", "history", "p50 (us)", "p99 (us)");
+        for (int i = 0; i < HISTORY_SIZES.length; i++) {
+            long driverId = DRIVER_IDS[i];
+            long firstNewRideId = 1_000_000_000L * (i + 1) + HISTORY_SIZES[i] + 1;
+            int newRatings = WARMUP_RATINGS + MEASURED_RATINGS;
+            insertUnratedRides(driverId, firstNewRideId, newRatings);
+
+            long[] latenciesNanos = new long[MEASURED_RATINGS];
+            for (int r = 0; r < newRatings; r++) {
+                Ride ride = rideRepository.findById(firstNewRideId + r).orElseThrow();
+                long startedAt = System.nanoTime();
+                ratingService.rateDriver(ride, 5);
+                long elapsed = System.nanoTime() - startedAt;
+                if (r >= WARMUP_RATINGS) latenciesNanos[r - WARMUP_RATINGS] = elapsed;
+            }
+
+            Long ratingCount = jdbcTemplate.queryForObject(
+                    "SELECT rating_count FROM driver WHERE id = ?", Long.class, driverId);
+            assertEquals(HISTORY_SIZES[i] + newRatings, ratingCount);
+
+            Arrays.sort(latenciesNanos);
+            System.out.printf("%10d %12.1f %12.1f%n", HISTORY_SIZES[i],
+                    latenciesNanos[MEASURED_RATINGS / 2] / 1000.0,
+                    latenciesNanos[MEASURED_RATINGS * 99 / 100] / 1000.0);
+        }
+    }
+
+    // Ended rides that already carry a driver rating of 1..5.
+    private void insertRatedRides(long driverId, long idBase, int count) {
+        if (count == 0) return;
+        insertRides(driverId, idBase, count);
+        jdbcTemplate.update("""
+                INSERT INTO rating (id, ride_id, rider_id, driver_id, driver_rating)
+                SELECT ? + g, ? + g, ?, ?, 1 + g % 5 FROM generate_series(1, ?) g
+                """, idBase, idBase, RIDER_ID, driverId, count);
+    }
+
+    // Ended rides with an empty rating row, as startRide leaves them.
+    private void insertUnratedRides(long driverId, long firstId, int count) {
+        insertRides(driverId, firstId - 1, count);
+        jdbcTemplate.update("""
+                INSERT INTO rating (id, ride_id, rider_id, driver_id)
+                SELECT ? + g, ? + g, ?, ? FROM generate_series(1, ?) g
+                """, firstId - 1, firstId - 1, RIDER_ID, driverId, count);
+    }
+
+    private void insertRides(long driverId, long idBase, int count) {
+        jdbcTemplate.update("""
+                INSERT INTO ride (id, rider_id, driver_id, ride_status, payment_method, fare)
+                SELECT ? + g, ?, ?, 'ENDED', 'CASH', 100 FROM generate_series(1, ?) g
+                """, idBase, RIDER_ID, driverId, count);
+    }
+}
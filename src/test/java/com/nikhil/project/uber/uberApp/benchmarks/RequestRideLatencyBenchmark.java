@@ -0,0 +1,150 @@
+package com.nikhil.project.uber.uberApp.benchmarks;
+
+import com.nikhil.project.uber.uberApp.dto.PointDto;
+import com.nikhil.project.uber.uberApp.dto.RideRequestDto;
+import com.nikhil.project.uber.uberApp.enums.PaymentMethod;
+import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.security.AuthenticatedUser;
+import com.nikhil.project.uber.uberApp.security.CurrentUserContext;
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.services.RiderService;
+import com.nikhil.project.uber.uberApp.services.impl.RiderServiceImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/*
+ * requestRide latency with the steps in a row (uber.ride-request.parallel.enabled=false) and with
+ * the fare calculation forked, at 1 and at CONCURRENT_RIDERS concurrent callers.
+ *
+ * The distance provider is replaced by one that sleeps OSRM_LATENCY_MS, standing in for the OSRM
+ * round trip; everything else (rider lookup, index matching, the save, the dispatch) runs against
+ * the real database. Both modes run in the same context, the flag is flipped in between.
+ * Run with `mvn test -Pbenchmarks`.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "uber.distance.cache.enabled=false",
+        "uber.dispatch.max-in-flight=100000"
+})
+class RequestRideLatencyBenchmark {
+
+    private static final long OSRM_LATENCY_MS = 40;
+    private static final int CONCURRENT_RIDERS = 16;
+    private static final int WARMUP_REQUESTS = 50;
+    private static final int MEASURED_REQUESTS = 400;
+    // seeded in data.sql: rider 1 belongs to user 1
+    private static final long RIDER_ID = 1L;
+    private static final long RIDER_USER_ID = 1L;
+
+    @Autowired
+    private RiderService riderService;
+
+    @Autowired
+    private CurrentUserContext currentUserContext;
+
+    @Test
+    void requestRideLatencySequentialVersusForkedFare() throws Exception {
+        System.out.printf("%-12s %8s %10s %10s %10s%n", "mode", "callers", "p50 (ms)", "p99 (ms)", "req/s");
+        for (int callers : new int[]{1, CONCURRENT_RIDERS}) {
+            for (boolean parallel : new boolean[]{false, true}) {
+                ReflectionTestUtils.setField(AopTestUtils.getTargetObject(riderService),
+                        RiderServiceImpl.class, "parallelRequestEnabled", parallel, boolean.class);
+                run(callers, WARMUP_REQUESTS);
+                long started = System.nanoTime();
+                long[] latenciesNanos = run(callers, MEASURED_REQUESTS);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                Arrays.sort(latenciesNanos);
+                System.out.printf("%-12s %8d %10.2f %10.2f %10.0f%n", parallel ? "forked fare" : "sequential",
+                        callers,
+                        latenciesNanos[latenciesNanos.length / 2] / 1e6,
+                        latenciesNanos[(int) (latenciesNanos.length * 0.99)] / 1e6,
+                        MEASURED_REQUESTS / seconds);
+            }
+        }
+    }
+
+    private long[] run(int callers, int requests) throws Exception {
+        long[] latenciesNanos = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            Future<?>[] workers = new Future<?>[callers];
+            for (int c = 0; c < callers; c++) {
+                workers[c] = pool.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long start = System.nanoTime();
+                        Long rideRequestId = asRider(() -> riderService.requestRide(rideRequest()).getId());
+                        latenciesNanos[i] = System.nanoTime() - start;
+                        assertNotNull(rideRequestId);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> worker : workers) worker.get();
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        return latenciesNanos;
+    }
+
+    private <T> T asRider(Supplier<T> call) {
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+            currentUserContext.authenticate(new AuthenticatedUser(RIDER_USER_ID, Set.of(Role.RIDER), RIDER_ID, null));
+            return call.get();
+        } finally {
+            request.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    // Connaught Place to the airport, a few seeded drivers are within the matching radius.
+    private RideRequestDto rideRequest() {
+        RideRequestDto rideRequestDto = new RideRequestDto();
+        rideRequestDto.setPickUpLocation(new PointDto(new Double[]{77.2167, 28.6315}));
+        rideRequestDto.setDropOffLocation(new PointDto(new Double[]{77.1025, 28.5562}));
+        rideRequestDto.setPaymentMethod(PaymentMethod.CASH);
+        return rideRequestDto;
+    }
+
+    @TestConfiguration
+    static class SlowDistanceConfig {
+
+        @Bean
+        @Primary
+        DistanceService slowDistanceService() {
+            return (source, destination) -> {
+                try {
+                    Thread.sleep(OSRM_LATENCY_MS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return 12.5;
+            };
+        }
+    }
+}
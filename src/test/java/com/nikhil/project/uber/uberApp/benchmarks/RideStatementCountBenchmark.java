@@ -0,0 +1,153 @@
+package com.nikhil.project.uber.uberApp.benchmarks;
+
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.enums.PaymentMethod;
+import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
+import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.repositories.RideRequestRepository;
+import com.nikhil.project.uber.uberApp.repositories.RiderRepository;
+import com.nikhil.project.uber.uberApp.security.AuthenticatedUser;
+import com.nikhil.project.uber.uberApp.security.CurrentUserContext;
+import com.nikhil.project.uber.uberApp.services.DriverService;
+import com.nikhil.project.uber.uberApp.services.PaymentSettlementService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * JDBC statements per completed ride: acceptRide -> startRide -> endRide -> settlement of the
+ * wallet payment, counted with Hibernate statistics against the real database.
+ * Background settlement workers are off, the test settles each payment itself so that
+ * every statement is attributed to its ride. Each driver call runs in its own request, logged in
+ * as the driver, the way it would arrive over HTTP (CurrentUserContext is request scoped).
+ *
+ * This is a count, not a timing, so it runs as a JUnit test tagged "benchmark" and is excluded
+ * from the default build: `mvn test -Pbenchmarks`.
+ * To compare with IDENTITY ids and no batching, run the same test on the commit before
+ * sequence ids were introduced, or pass -Dspring.jpa.properties.hibernate.jdbc.batch_size=1
+ * to see the effect of batching alone.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "uber.payment.settlement.workers=0"
+})
+class RideStatementCountBenchmark {
+
+    private static final int WARMUP_RIDES = 20;
+    private static final int MEASURED_RIDES = 200;
+    private static final double FARE = 250.0;
+    // seeded in data.sql: driver 2 belongs to user 2, rider 1 to user 1
+    private static final long DRIVER_ID = 2L;
+    private static final long DRIVER_USER_ID = 2L;
+    private static final long RIDER_ID = 1L;
+    private static final long RIDER_USER_ID = 1L;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private PaymentSettlementService paymentSettlementService;
+
+    @Autowired
+    private RideRequestRepository rideRequestRepository;
+
+    @Autowired
+    private RiderRepository riderRepository;
+
+    @Autowired
+    private CurrentUserContext currentUserContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementsPerCompletedRide() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        jdbcTemplate.update("UPDATE driver SET available = true WHERE id = ?", DRIVER_ID);
+        // Keeps the rider's wallet positive, as it would be for a regular rider.
+        jdbcTemplate.update("UPDATE wallet SET balance = ? WHERE user_id = ?",
+                (WARMUP_RIDES + MEASURED_RIDES) * FARE, RIDER_USER_ID);
+
+        for (int i = 0; i < WARMUP_RIDES; i++) {
+            completeRide(newRideRequest());
+        }
+
+        long statements = 0;
+        long inserts = 0;
+        long updates = 0;
+        for (int i = 0; i < MEASURED_RIDES; i++) {
+            Long rideRequestId = newRideRequest();
+            statistics.clear();
+            completeRide(rideRequestId);
+            statements += statistics.getPrepareStatementCount();
+            inserts += statistics.getEntityInsertCount();
+            updates += statistics.getEntityUpdateCount();
+        }
+
+        Integer confirmedPayments = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payment WHERE payment_status = 'CONFIRMED'", Integer.class);
+        assertEquals(WARMUP_RIDES + MEASURED_RIDES, confirmedPayments);
+
+        System.out.printf("Completed rides: %d%n", MEASURED_RIDES);
+        System.out.printf("JDBC statements per ride: %.2f%n", (double) statements / MEASURED_RIDES);
+        System.out.printf("Entity inserts per ride:  %.2f%n", (double) inserts / MEASURED_RIDES);
+        System.out.printf("Entity updates per ride:  %.2f%n", (double) updates / MEASURED_RIDES);
+    }
+
+    private void completeRide(Long rideRequestId) {
+        asDriver(() -> driverService.acceptRide(rideRequestId));
+
+        // RideDto does not expose the new ride, read it back with plain JDBC (not counted by Hibernate).
+        Map<String, Object> ride = jdbcTemplate.queryForMap(
+                "SELECT id, otp FROM ride WHERE driver_id = ? AND ride_status = 'CONFIRMED'", DRIVER_ID);
+        Long rideId = ((Number) ride.get("id")).longValue();
+
+        asDriver(() -> driverService.startRide(rideId, (String) ride.get("otp")));
+        asDriver(() -> driverService.endRide(rideId));
+        paymentSettlementService.settleNextPayment();
+    }
+
+    private <T> T asDriver(Supplier<T> call) {
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        try {
+            currentUserContext.authenticate(
+                    new AuthenticatedUser(DRIVER_USER_ID, Set.of(Role.DRIVER), null, DRIVER_ID));
+            return call.get();
+        } finally {
+            request.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    // Setup, not measured: requestRide itself would call the distance provider and dispatch offers.
+    private Long newRideRequest() {
+        RideRequest rideRequest = new RideRequest();
+        rideRequest.setRider(riderRepository.getReferenceById(RIDER_ID));
+        rideRequest.setPickupLocation(GeometryUtils.createPoint(77.2167, 28.6315));
+        rideRequest.setDropOffLocation(GeometryUtils.createPoint(77.1025, 28.7041));
+        rideRequest.setPaymentMethod(PaymentMethod.WALLET);
+        rideRequest.setRideRequestStatus(RideRequestStatus.PENDING);
+        rideRequest.setFare(FARE);
+        return rideRequestRepository.save(rideRequest).getId();
+    }
+}
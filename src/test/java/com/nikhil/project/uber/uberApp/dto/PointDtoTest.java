@@ -0,0 +1,52 @@
+package com.nikhil.project.uber.uberApp.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PointDtoTest {
+
+    private static final ValidatorFactory VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
+    private final Validator validator = VALIDATOR_FACTORY.getValidator();
+
+    @AfterAll
+    static void closeValidatorFactory() {
+        VALIDATOR_FACTORY.close();
+    }
+
+    @Test
+    void pointsOnTheMapAreValid() {
+        assertTrue(violations(77.2167, 28.6315).isEmpty());
+        assertTrue(violations(-180.0, 90.0).isEmpty());
+        assertTrue(violations(180.0, -90.0).isEmpty());
+    }
+
+    @Test
+    void outOfRangeOrMissingCoordinatesAreRejected() {
+        assertEquals(Set.of("longitudeInRange"), violations(180.5, 28.6315));
+        assertEquals(Set.of("latitudeInRange"), violations(77.2167, -91.0));
+        assertEquals(Set.of("longitudeInRange", "latitudeInRange"), violations(Double.NaN, null));
+        assertEquals(Set.of("coordinates"), violations(77.2167));
+        assertEquals(Set.of("coordinates"), violationsOf(new PointDto(null)));
+    }
+
+    private Set<String> violations(Double... coordinates) {
+        return violationsOf(new PointDto(coordinates));
+    }
+
+    private Set<String> violationsOf(PointDto point) {
+        return validator.validate(point).stream()
+                .map(ConstraintViolation::getPropertyPath)
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+    }
+}
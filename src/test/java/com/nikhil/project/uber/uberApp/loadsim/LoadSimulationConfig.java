@@ -0,0 +1,50 @@
+package com.nikhil.project.uber.uberApp.loadsim;
+
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/*
+ * Stand-ins for the load simulation, so it needs nothing but Docker:
+ * - a throwaway PostGIS container, started once per JVM and removed when it exits. Hibernate
+ *   creates the schema and data.sql seeds it on startup, as against any fresh database.
+ *   -Dloadsim.external-database=true keeps the configured spring.datasource.* instead.
+ * - a DistanceService answering straight line x road factor after a fixed sleep, in place of OSRM.
+ *   The sleep keeps the blocking shape of an HTTP call without a routing server.
+ */
+@TestConfiguration
+public class LoadSimulationConfig {
+
+    private static final PostgreSQLContainer<?> POSTGIS = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgis/postgis:16-3.4").asCompatibleSubstituteFor("postgres"))
+            .withDatabaseName("postgresdb");
+
+    // For the simulation's @DynamicPropertySource: points both the JDBC and the R2DBC side at the container.
+    public static void registerDatabase(DynamicPropertyRegistry registry) {
+        if (Boolean.getBoolean("loadsim.external-database")) return;
+        POSTGIS.start();
+        registry.add("spring.datasource.url", POSTGIS::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGIS::getUsername);
+        registry.add("spring.datasource.password", POSTGIS::getPassword);
+        registry.add("uber.reactive.r2dbc.url", () -> "r2dbc:postgresql://" + POSTGIS.getHost() + ":"
+                + POSTGIS.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + POSTGIS.getDatabaseName());
+    }
+
+    @Bean
+    public DistanceService latencyStubDistanceService(
+            @Value("${loadsim.distance-latency-ms:20}") long latencyMillis) {
+        return (src, dest) -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return GeometryUtils.estimateRoadDistanceKm(src, dest, 1.4);
+        };
+    }
+}
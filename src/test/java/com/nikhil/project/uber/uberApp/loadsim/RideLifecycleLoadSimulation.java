@@ -0,0 +1,381 @@
+package com.nikhil.project.uber.uberApp.loadsim;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
+import com.nikhil.project.uber.uberApp.security.AuthenticatedUser;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.services.JwtService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/*
+ * Load simulation of the full ride lifecycle through the controllers:
+ *
+ *   rider  POST /riders/requestRide
+ *   driver POST /drivers/acceptRide/{rideRequestId}
+ *   driver POST /drivers/startRide/{rideId}
+ *   driver POST /drivers/endRide/{rideId}
+ *   rider  POST /riders/rateDriver/{rideId}/{rating}
+ *
+ * N riders and M drivers are created for the run, each with an access token signed by JwtService
+ * (what POST /auth/login returns). One worker per driver loops through rides, with riders taken
+ * round-robin, until `loadsim.rides` rides are completed. It reports p50 / p99 / p999
+ * per endpoint and completed rides per second.
+ *
+ * OSRM is replaced by a stub with `loadsim.distance-latency-ms` of blocking latency, and the database
+ * by a PostGIS container started for the run (LoadSimulationConfig), so Docker is all it needs.
+ * Everything else is the real application. Repositories are not faked; wallet updates, the settlement
+ * outbox and driver matching rely on the database, and a fake would measure a different system.
+ * -Dloadsim.external-database=true runs against the configured spring.datasource.* instead.
+ *
+ * MockMvc has no servlet container, so each request is handed to a stand-in for Tomcat's request
+ * threads: a pool of `server.tomcat.threads.max` (200) platform threads, or one virtual thread per
+ * request when spring.threads.virtual.enabled=true on a Java 21+ JVM. Latencies include the wait for a
+ * request thread, as they would behind a real Tomcat.
+ *
+ * Excluded from the default build: `mvn test -Pbenchmarks -Dtest=RideLifecycleLoadSimulation
+ *   -Dloadsim.riders=200 -Dloadsim.drivers=50 -Dloadsim.rides=5000 -Dloadsim.distance-latency-ms=30`
+ * The same seed gives the same trips, so runs are comparable.
+ *
+ * Platform vs virtual threads: the code is compiled for Java 17, but the mode follows the JVM the
+ * tests run on, so run Maven with JAVA_HOME set to a JDK 21+. The difference only shows once there
+ * are more concurrent clients than request threads, so run the same seed twice with many drivers, e.g.
+ *   -Dloadsim.drivers=1000 -Dloadsim.rides=20000 -Dloadsim.distance-latency-ms=50 -Dspring.threads.virtual.enabled=false
+ *   -Dloadsim.drivers=1000 -Dloadsim.rides=20000 -Dloadsim.distance-latency-ms=50 -Dspring.threads.virtual.enabled=true
+ * and compare rides per second and p99. Both runs go through the connection limiter; with virtual
+ * threads it, not the request pool, is what bounds database concurrency.
+ *
+ * Parallel requestRide steps: the requestRide row is the one to compare between
+ *   -Duber.ride-request.parallel.enabled=false   (fare, rider validation and driver matching in a row)
+ *   -Duber.ride-request.parallel.enabled=true    (fare next to validation and matching, see RiderServiceImpl)
+ * With the default 20 ms distance stub the gain is roughly the validation + matching time, and grows with
+ * the PostGIS matching strategies (-Duber.matching.driver-index.enabled=false).
+ *
+ * Signup storm: -Dloadsim.signup-storm.clients=200 adds that many clients posting /auth/signup back
+ * to back while the rides run, each signup a bcrypt hash. Compare the ride endpoints' p99 with and
+ * without the storm; the signup row shows how many signups were turned away (503) by the bounded
+ * hashing pool (uber.auth.password.executor.*) instead of taking CPU from ride traffic.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "uber.distance.provider=loadsim",
+        "uber.distance.cache.enabled=false",
+        "logging.level.com.nikhil.project.uber.uberApp=WARN"
+})
+@AutoConfigureMockMvc
+@Import(LoadSimulationConfig.class)
+class RideLifecycleLoadSimulation {
+
+    private static final String[] ENDPOINTS = {"requestRide", "acceptRide", "startRide", "endRide", "rateDriver", "signup"};
+    // Central Delhi, where the seeded drivers are.
+    private static final double CENTER_LONGITUDE = 77.2090;
+    private static final double CENTER_LATITUDE = 28.6139;
+
+    @Value("${loadsim.riders:50}")
+    private int riderCount;
+
+    @Value("${loadsim.drivers:10}")
+    private int driverCount;
+
+    @Value("${loadsim.rides:500}")
+    private int rideCount;
+
+    @Value("${loadsim.signup-storm.clients:0}")
+    private int signupStormClients;
+
+    @Value("${loadsim.seed:42}")
+    private long seed;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int platformRequestThreads;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverIndexService driverIndexService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, ConcurrentLinkedQueue<Long>> latenciesNanos = new ConcurrentHashMap<>();
+    private final AtomicInteger signupsRejected = new AtomicInteger();
+    private Executor requestExecutor;
+    private String requestThreads;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        LoadSimulationConfig.registerDatabase(registry);
+    }
+
+    @Test
+    void rideLifecycleUnderLoad() throws Exception {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        List<String> riderTokens = createRiders(runId);
+        List<String> driverTokens = createDrivers(runId);
+        for (String endpoint : ENDPOINTS) latenciesNanos.put(endpoint, new ConcurrentLinkedQueue<>());
+        ExecutorService platformRequestPool = null;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            requestExecutor = new VirtualThreadTaskExecutor("sim-request-");
+            requestThreads = "virtual";
+        } else {
+            platformRequestPool = Executors.newFixedThreadPool(platformRequestThreads);
+            requestExecutor = platformRequestPool;
+            requestThreads = "platform x " + platformRequestThreads;
+        }
+
+        AtomicInteger nextRide = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        ExecutorService workers = Executors.newFixedThreadPool(driverTokens.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < driverTokens.size(); w++) {
+            String driverToken = driverTokens.get(w);
+            Random random = new Random(seed + w);
+            futures.add(workers.submit(() -> {
+                start.await();
+                int ride;
+                while ((ride = nextRide.getAndIncrement()) < rideCount) {
+                    try {
+                        completeRide(random, riderTokens.get(ride % riderTokens.size()), driverToken);
+                        completed.incrementAndGet();
+                    } catch (Exception | AssertionError ex) {
+                        failed.incrementAndGet();
+                        firstFailure.compareAndSet(null, ex);
+                    }
+                }
+                return null;
+            }));
+        }
+
+        AtomicBoolean ridesDone = new AtomicBoolean();
+        AtomicInteger nextSignup = new AtomicInteger();
+        AtomicInteger signupsFailed = new AtomicInteger();
+        ExecutorService signupClients = Executors.newFixedThreadPool(Math.max(signupStormClients, 1));
+        List<Future<?>> signupFutures = new ArrayList<>();
+        for (int c = 0; c < signupStormClients; c++) {
+            signupFutures.add(signupClients.submit(() -> {
+                start.await();
+                while (!ridesDone.get()) {
+                    try {
+                        signUp("sim-signup-" + runId + "-" + nextSignup.getAndIncrement() + "@uber.test");
+                    } catch (Exception | AssertionError ex) {
+                        signupsFailed.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) future.get();
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        ridesDone.set(true);
+        for (Future<?> future : signupFutures) future.get();
+        workers.shutdown();
+        signupClients.shutdown();
+        if (platformRequestPool != null) platformRequestPool.shutdown();
+
+        report(completed.get(), failed.get(), elapsedSeconds);
+        assertEquals(0, failed.get(), () -> "failed rides, the first with: " + firstFailure.get());
+        assertEquals(0, signupsFailed.get(), "failed signups (other than 503)");
+    }
+
+    private void completeRide(Random random, String riderToken, String driverToken) throws Exception {
+        double[] pickup = randomPoint(random);
+        double[] dropOff = randomPoint(random);
+        Map<String, Object> rideRequest = new LinkedHashMap<>();
+        rideRequest.put("pickUpLocation", Map.of("type", "Point", "coordinates", pickup));
+        rideRequest.put("dropOffLocation", Map.of("type", "Point", "coordinates", dropOff));
+        rideRequest.put("paymentMethod", "CASH");
+
+        JsonNode requested = call("requestRide", riderToken, post("/riders/requestRide")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rideRequest)));
+        long rideRequestId = requested.get("id").asLong();
+
+        JsonNode ride = call("acceptRide", driverToken, post("/drivers/acceptRide/{rideRequestId}", rideRequestId));
+        long rideId = ride.get("id").asLong();
+
+        call("startRide", driverToken, post("/drivers/startRide/{rideId}", rideId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("otp", ride.get("otp").asText()))));
+        call("endRide", driverToken, post("/drivers/endRide/{rideId}", rideId));
+        call("rateDriver", riderToken, post("/riders/rateDriver/{rideId}/{rating}", rideId, 1 + random.nextInt(5)));
+    }
+
+    // Runs one request on a request thread, times it and returns the "data" of the ApiResponse wrapper.
+    private JsonNode call(String endpoint, String accessToken, MockHttpServletRequestBuilder request) throws Exception {
+        request.header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken);
+        MvcResult result = perform(endpoint, request);
+
+        int status = result.getResponse().getStatus();
+        if (status != 200) {
+            throw new IllegalStateException(endpoint + " returned " + status + ": "
+                    + result.getResponse().getContentAsString());
+        }
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("data");
+    }
+
+    // 201, or 503 when the password hashing pool is full; both are expected during a storm.
+    private void signUp(String email) throws Exception {
+        MvcResult result = perform("signup", post("/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of(
+                        "name", "Sim Signup", "email", email, "password", "password123"))));
+
+        int status = result.getResponse().getStatus();
+        if (status == 503) {
+            signupsRejected.incrementAndGet();
+        } else if (status != 201) {
+            throw new IllegalStateException("signup returned " + status + ": " + result.getResponse().getContentAsString());
+        }
+    }
+
+    private MvcResult perform(String endpoint, MockHttpServletRequestBuilder request) throws Exception {
+        long startedAt = System.nanoTime();
+        MvcResult result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mockMvc.perform(request).andReturn();
+                } catch (Exception ex) {
+                    throw new IllegalStateException(endpoint + " failed", ex);
+                }
+            }, requestExecutor).get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception cause) throw cause;
+            throw ex;
+        }
+        latenciesNanos.get(endpoint).add(System.nanoTime() - startedAt);
+        return result;
+    }
+
+    // Trips within ~5 km of the center.
+    private static double[] randomPoint(Random random) {
+        return new double[]{
+                CENTER_LONGITUDE + (random.nextDouble() - 0.5) * 0.1,
+                CENTER_LATITUDE + (random.nextDouble() - 0.5) * 0.1
+        };
+    }
+
+    // Access tokens of the new riders.
+    private List<String> createRiders(String runId) {
+        List<String> riderTokens = new ArrayList<>();
+        for (int i = 0; i < riderCount; i++) {
+            Long userId = createUser("Sim Rider " + i, "sim-rider-" + runId + "-" + i + "@uber.test", "RIDER");
+            Long riderId = jdbcTemplate.queryForObject(
+                    "INSERT INTO rider (user_id, rating) VALUES (?, 4.5) RETURNING id", Long.class, userId);
+            riderTokens.add(jwtService.generateToken(new AuthenticatedUser(userId, Set.of(Role.RIDER), riderId, null)));
+        }
+        return riderTokens;
+    }
+
+    // Access tokens of the new drivers.
+    private List<String> createDrivers(String runId) {
+        List<Long> driverIds = new ArrayList<>();
+        List<String> driverTokens = new ArrayList<>();
+        for (int i = 0; i < driverCount; i++) {
+            Long userId = createUser("Sim Driver " + i, "sim-driver-" + runId + "-" + i + "@uber.test", "DRIVER");
+            Long driverId = jdbcTemplate.queryForObject("""
+                    INSERT INTO driver (user_id, rating, available, vehicle_id, current_location)
+                    VALUES (?, 4.5, true, ?, ST_SetSRID(ST_MakePoint(?, ?), 4326)) RETURNING id
+                    """, Long.class, userId, "SIM" + i, CENTER_LONGITUDE, CENTER_LATITUDE);
+            driverIds.add(driverId);
+            driverTokens.add(jwtService.generateToken(new AuthenticatedUser(userId, Set.of(Role.DRIVER), null, driverId)));
+        }
+        // The in-memory driver index was loaded at startup, before these drivers existed.
+        for (Driver driver : driverRepository.findAllById(driverIds)) {
+            driverIndexService.upsertDriver(driver);
+        }
+        return driverTokens;
+    }
+
+    private Long createUser(String name, String email, String role) {
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (name, email, password) VALUES (?, ?, 'password123') RETURNING id",
+                Long.class, name, email);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, roles) VALUES (?, ?)", userId, role);
+        jdbcTemplate.update("INSERT INTO wallet (user_id, balance) VALUES (?, 1000000)", userId);
+        return userId;
+    }
+
+    private void report(int completed, int failed, double elapsedSeconds) {
+        System.out.printf("Request threads: %s%n", requestThreads);
+        System.out.printf("Riders: %d, drivers: %d, completed rides: %d, failed: %d, %.1f s%n",
+                riderCount, driverCount, completed, failed, elapsedSeconds);
+        System.out.printf("Completed rides per second: %.1f%n", completed / elapsedSeconds);
+        System.out.printf("%-12s %8s %10s %10s %10s%n", "endpoint", "calls", "p50 (ms)", "p99 (ms)", "p999 (ms)");
+        for (String endpoint : ENDPOINTS) {
+            if (endpoint.equals("signup") && signupStormClients == 0) continue;
+            long[] sorted = latenciesNanos.get(endpoint).stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-12s %8d %10.2f %10.2f %10.2f%n", endpoint, sorted.length,
+                    percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), percentileMillis(sorted, 0.999));
+        }
+        if (signupStormClients > 0) {
+            System.out.printf("Signup storm: %d clients, %d signups rejected with 503%n",
+                    signupStormClients, signupsRejected.get());
+        }
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) return Double.NaN;
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,60 @@
+package com.nikhil.project.uber.uberApp.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Guards the driver matching queries against silently falling back to a sequential scan,
+ * e.g. after someone drops the geography cast and the partial GiST index no longer matches.
+ *
+ * The seed data is tiny, so the planner would rightly prefer a seq scan; it is switched off
+ * for the EXPLAIN only (SET LOCAL inside one transaction) to check that an index CAN serve the query.
+ */
+@SpringBootTest
+class DriverRepositoryExplainTest {
+
+    private static final String INDEX_NAME = "idx_driver_available_location";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void nearestDriversQueryUsesAvailableLocationIndex() {
+        String plan = explain(DriverRepository.NEAREST_DRIVERS_QUERY);
+
+        assertTrue(plan.contains(INDEX_NAME), plan);
+        assertFalse(plan.contains("Seq Scan on driver"), plan);
+    }
+
+    @Test
+    void topRatedDriversQueryUsesAvailableLocationIndex() {
+        String plan = explain(DriverRepository.TOP_RATED_DRIVERS_QUERY);
+
+        assertTrue(plan.contains(INDEX_NAME), plan);
+        assertFalse(plan.contains("Seq Scan on driver"), plan);
+    }
+
+    private String explain(String query) {
+        String sql = query
+                .replace(":pickupLocation", "ST_SetSRID(ST_MakePoint(77.2167, 28.6315), 4326)")
+                .replace(":radiusMeters", "10000")
+                .replace(":limit", "10");
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            return String.join("\n", lines);
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.nikhil.project.uber.uberApp.repositories;
+
+import com.nikhil.project.uber.uberApp.entities.PaymentSettlement;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Two settlement workers claim at the same time, each in its own transaction that stays open while
+ * the other claims. SKIP LOCKED must hand them different rows without either one waiting: a worker
+ * queueing behind the other's lock would never reach the latch, and the claims would time out.
+ *
+ * The rows are due long before anything else in the table, so they are the first two in claim order;
+ * payment ids are negative so they cannot collide with a real payment. Deleted afterwards.
+ */
+@SpringBootTest(properties = "uber.payment.settlement.workers=0")
+class PaymentSettlementRepositoryTest {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    @Autowired
+    private PaymentSettlementRepository paymentSettlementRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> settlementIds = new ArrayList<>();
+
+    @AfterEach
+    void deleteSettlements() {
+        settlementIds.forEach(id -> jdbcTemplate.update("DELETE FROM payment_settlement WHERE id = ?", id));
+    }
+
+    @Test
+    void concurrentWorkersClaimDifferentRows() throws Exception {
+        long first = insertDueSettlement(LONG_AGO);
+        long second = insertDueSettlement(LONG_AGO.plusSeconds(1));
+
+        CountDownLatch bothClaimed = new CountDownLatch(2);
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Long>> claims = new ArrayList<>();
+            for (int w = 0; w < 2; w++) {
+                claims.add(workers.submit(() -> transactionTemplate.execute(status -> {
+                    Optional<PaymentSettlement> claimed = paymentSettlementRepository.claimNextDue(LocalDateTime.now());
+                    // hold the row lock until the other worker has claimed too
+                    bothClaimed.countDown();
+                    await(bothClaimed);
+                    return claimed.map(PaymentSettlement::getId).orElse(null);
+                })));
+            }
+            Long claimedByOne = claims.get(0).get(10, TimeUnit.SECONDS);
+            Long claimedByOther = claims.get(1).get(10, TimeUnit.SECONDS);
+
+            assertNotEquals(claimedByOne, claimedByOther);
+            assertEquals(List.of(first, second), claimedByOne < claimedByOther
+                    ? List.of(claimedByOne, claimedByOther) : List.of(claimedByOther, claimedByOne));
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void rowsThatAreNotDueOrNotPendingAreNotClaimed() {
+        long notDue = insertDueSettlement(LocalDateTime.now().plusYears(1));
+        long completed = insertDueSettlement(LONG_AGO);
+        jdbcTemplate.update("UPDATE payment_settlement SET status = 'COMPLETED' WHERE id = ?", completed);
+
+        Optional<Long> claimed = transactionTemplate.execute(status ->
+                paymentSettlementRepository.claimNextDue(LocalDateTime.now()).map(PaymentSettlement::getId));
+
+        assertTrue(claimed.isEmpty() || (claimed.get() != notDue && claimed.get() != completed), claimed::toString);
+    }
+
+    private long insertDueSettlement(LocalDateTime nextAttemptAt) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('payment_settlement_seq')", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO payment_settlement (id, payment_id, status, attempts, next_attempt_at)
+                VALUES (?, ?, 'PENDING', 0, ?)
+                """, id, -id, nextAttemptAt);
+        settlementIds.add(id);
+        return id;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("the other worker never claimed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
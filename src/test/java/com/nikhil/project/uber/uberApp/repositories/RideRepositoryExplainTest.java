@@ -0,0 +1,70 @@
+package com.nikhil.project.uber.uberApp.repositories;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Ride history pages must be an index range scan that STARTS at the cursor: the cursor has to be
+ * part of the Index Cond. As a Filter, Postgres would walk the index from the newest ride and
+ * discard every row above the cursor, so page 100 would read 100 pages' worth of rows.
+ *
+ * Sequential scans are switched off for the EXPLAIN only, as in DriverRepositoryExplainTest.
+ */
+@SpringBootTest
+class RideRepositoryExplainTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void riderHistoryPageStartsAtTheCursorInTheIndex() {
+        String plan = explain(RideRepository.RIDE_HISTORY_SELECT + "WHERE r.rider_id = :riderId\n"
+                + RideRepository.BEFORE_CURSOR + RideRepository.NEWEST_FIRST);
+
+        assertCursorIsIndexCondition(plan, "idx_ride_rider_history");
+    }
+
+    @Test
+    void driverHistoryPageStartsAtTheCursorInTheIndex() {
+        String plan = explain(RideRepository.RIDE_HISTORY_SELECT + "WHERE r.driver_id = :driverId\n"
+                + RideRepository.BEFORE_CURSOR + RideRepository.NEWEST_FIRST);
+
+        assertCursorIsIndexCondition(plan, "idx_ride_driver_history");
+    }
+
+    private void assertCursorIsIndexCondition(String plan, String indexName) {
+        assertTrue(plan.contains("Index Scan using " + indexName), plan);
+        String indexCondition = plan.lines()
+                .filter(line -> line.contains("Index Cond:") && line.contains("created_time"))
+                .findFirst()
+                .orElse("");
+        assertTrue(indexCondition.contains("ROW(r.created_time, r.id) <") || indexCondition.contains("ROW(created_time, id) <"), plan);
+        assertFalse(plan.contains("Sort Key"), plan);
+    }
+
+    private String explain(String query) {
+        String sql = query
+                .replace(":riderId", "1")
+                .replace(":driverId", "2")
+                .replace(":beforeTime", "TIMESTAMP '2025-01-01 10:00:00'")
+                .replace(":beforeId", "100")
+                .replace(":limit", "10");
+
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+            return String.join("\n", lines);
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.exceptions.RideDispatchCapacityExceededException;
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.services.RideDispatchService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * Rounds run on the test thread against a mocked driver index: every pickup sees the same two
+ * drivers, driver 1 next to it and driver 2 a little further away.
+ */
+class BatchMatchingServiceImplTest {
+
+    private static final int MAX_ROUNDS = 3;
+    private static final long NEAR_DRIVER_ID = 1L;
+    private static final long FAR_DRIVER_ID = 2L;
+
+    private final Point pickup = GeometryUtils.createPoint(77.2167, 28.6315);
+
+    private final DriverIndexService driverIndexService = mock(DriverIndexService.class);
+    private final RideDispatchService rideDispatchService = mock(RideDispatchService.class);
+
+    @BeforeEach
+    void setUp() {
+        when(driverIndexService.findNearestDriverIds(any(), anyInt(), anyDouble()))
+                .thenReturn(List.of(NEAR_DRIVER_ID, FAR_DRIVER_ID));
+        when(driverIndexService.getDriverLocation(NEAR_DRIVER_ID)).thenReturn(GeometryUtils.createPoint(77.2170, 28.6320));
+        when(driverIndexService.getDriverLocation(FAR_DRIVER_ID)).thenReturn(GeometryUtils.createPoint(77.2300, 28.6400));
+    }
+
+    @Test
+    void assignedDriverIsHeldOutOfLaterRoundsUntilTheOfferLapses() {
+        BatchMatchingServiceImpl batchMatchingService = batchMatchingService(60_000, 10);
+
+        batchMatchingService.enqueueRideRequest(rideRequest(11L));
+        assertEquals(1, batchMatchingService.runMatchingRound());
+        verify(rideDispatchService).dispatchToDrivers(any(), eq(List.of(NEAR_DRIVER_ID, FAR_DRIVER_ID)));
+
+        // driver 1 still has an open offer, so the next request goes to driver 2 only
+        batchMatchingService.enqueueRideRequest(rideRequest(12L));
+        assertEquals(1, batchMatchingService.runMatchingRound());
+        verify(rideDispatchService).dispatchToDrivers(any(), eq(List.of(FAR_DRIVER_ID)));
+    }
+
+    @Test
+    void lapsedOfferMakesTheDriverAvailableAgain() {
+        BatchMatchingServiceImpl batchMatchingService = batchMatchingService(0, 10);
+
+        batchMatchingService.enqueueRideRequest(rideRequest(11L));
+        batchMatchingService.runMatchingRound();
+        batchMatchingService.enqueueRideRequest(rideRequest(12L));
+        batchMatchingService.runMatchingRound();
+
+        verify(rideDispatchService, times(2))
+                .dispatchToDrivers(any(), eq(List.of(NEAR_DRIVER_ID, FAR_DRIVER_ID)));
+    }
+
+    @Test
+    void unassignedRequestWaitsForLaterRoundsThenFallsBackToItsCandidates() {
+        when(driverIndexService.findNearestDriverIds(any(), anyInt(), anyDouble())).thenReturn(List.of(NEAR_DRIVER_ID));
+        BatchMatchingServiceImpl batchMatchingService = batchMatchingService(60_000, 10);
+
+        batchMatchingService.enqueueRideRequest(rideRequest(11L));
+        batchMatchingService.enqueueRideRequest(rideRequest(12L));
+        assertEquals(1, batchMatchingService.runMatchingRound());
+        assertEquals(1, batchMatchingService.getPendingRideRequestCount());
+
+        // driver 1 is held out now, so the leftover request has no candidate in its remaining rounds
+        for (int round = 2; round < MAX_ROUNDS; round++) {
+            assertEquals(0, batchMatchingService.runMatchingRound());
+            assertEquals(1, batchMatchingService.getPendingRideRequestCount());
+        }
+        batchMatchingService.runMatchingRound();
+
+        assertEquals(0, batchMatchingService.getPendingRideRequestCount());
+        verify(rideDispatchService).dispatchToDrivers(any(), eq(List.of()));
+    }
+
+    @Test
+    void failedRoundKeepsItsRequestsUntilMaxRoundsThenFreesTheirSlots() {
+        when(driverIndexService.getDriverLocation(anyLong())).thenThrow(new IllegalStateException("index unavailable"));
+        BatchMatchingServiceImpl batchMatchingService = batchMatchingService(60_000, 1);
+
+        batchMatchingService.enqueueRideRequest(rideRequest(11L));
+        assertThrows(RideDispatchCapacityExceededException.class,
+                () -> batchMatchingService.enqueueRideRequest(rideRequest(12L)));
+
+        for (int round = 1; round < MAX_ROUNDS; round++) {
+            assertEquals(0, batchMatchingService.runMatchingRound());
+            assertEquals(1, batchMatchingService.getPendingRideRequestCount());
+        }
+        batchMatchingService.runMatchingRound();
+
+        assertEquals(0, batchMatchingService.getPendingRideRequestCount());
+        verify(rideDispatchService, never()).dispatchToDrivers(any(), any());
+        assertDoesNotThrow(() -> batchMatchingService.enqueueRideRequest(rideRequest(12L)));
+    }
+
+    private BatchMatchingServiceImpl batchMatchingService(long offerTimeoutMs, int maxPendingRequests) {
+        return new BatchMatchingServiceImpl(driverIndexService, rideDispatchService,
+                10, 10.0, MAX_ROUNDS, maxPendingRequests, offerTimeoutMs);
+    }
+
+    private RideRequest rideRequest(Long id) {
+        RideRequest rideRequest = new RideRequest();
+        rideRequest.setId(id);
+        rideRequest.setPickupLocation(pickup);
+        return rideRequest;
+    }
+}
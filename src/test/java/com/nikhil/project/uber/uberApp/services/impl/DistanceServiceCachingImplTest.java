@@ -0,0 +1,120 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.exceptions.DistanceCalculationException;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * One caller owns the lookup of a key and blocks inside the (mocked) routing service until the test
+ * lets it go, so a second caller for the same key is known to be waiting on the owner's future.
+ */
+class DistanceServiceCachingImplTest {
+
+    private static final double ROAD_FACTOR = 1.4;
+    private static final double ROAD_KM = 12.5;
+
+    private final Point src = GeometryUtils.createPoint(77.2167, 28.6315);
+    private final Point dest = GeometryUtils.createPoint(77.1025, 28.5562);
+
+    private final DistanceServiceOSRMImpl osrmDistanceService = mock(DistanceServiceOSRMImpl.class);
+    private final CountDownLatch lookupStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseLookup = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void stopCallers() {
+        releaseLookup.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void errorInTheLookupReachesTheWaiterAndIsNotCached() throws Exception {
+        DistanceServiceCachingImpl distanceService = distanceService(10_000);
+        when(osrmDistanceService.calculateExactDistance(any(), any()))
+                .thenAnswer(invocation -> {
+                    lookupStarted.countDown();
+                    releaseLookup.await();
+                    throw new NoClassDefFoundError("io/netty/Broken");
+                })
+                .thenReturn(ROAD_KM);
+
+        Future<Double> owner = callers.submit(() -> distanceService.calculateDistance(src, dest));
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+        AtomicReference<Thread> waiterThread = new AtomicReference<>();
+        Future<Double> waiter = callers.submit(() -> {
+            waiterThread.set(Thread.currentThread());
+            return distanceService.calculateDistance(src, dest);
+        });
+        awaitBlocked(waiterThread);
+        releaseLookup.countDown();
+
+        Exception ownerFailure = assertThrows(Exception.class, () -> owner.get(5, TimeUnit.SECONDS));
+        assertTrue(ownerFailure.getCause() instanceof NoClassDefFoundError, ownerFailure::toString);
+        Exception waiterFailure = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertTrue(waiterFailure.getCause() instanceof DistanceCalculationException, waiterFailure::toString);
+
+        // the failed future was not left in the cache: the next caller looks it up again
+        assertEquals(ROAD_KM, distanceService.calculateDistance(src, dest));
+        verify(osrmDistanceService, times(2)).calculateExactDistance(any(), any());
+    }
+
+    @Test
+    void waiterTakesTheEstimateWhenTheLookupTakesTooLong() throws Exception {
+        DistanceServiceCachingImpl distanceService = distanceService(50);
+        when(osrmDistanceService.calculateExactDistance(any(), any())).thenAnswer(invocation -> {
+            lookupStarted.countDown();
+            releaseLookup.await();
+            return ROAD_KM;
+        });
+
+        Future<Double> owner = callers.submit(() -> distanceService.calculateDistance(src, dest));
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals(GeometryUtils.estimateRoadDistanceKm(src, dest, ROAD_FACTOR),
+                distanceService.calculateDistance(src, dest), 1e-9);
+
+        releaseLookup.countDown();
+        assertEquals(ROAD_KM, owner.get(5, TimeUnit.SECONDS));
+        // the owner's result was still cached for everyone after it
+        assertEquals(ROAD_KM, distanceService.calculateDistance(src, dest));
+        verify(osrmDistanceService, times(1)).calculateExactDistance(any(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private DistanceServiceCachingImpl distanceService(long waitTimeoutMs) {
+        ObjectProvider<DistanceServiceOfflineImpl> offline = mock(ObjectProvider.class);
+        ObjectProvider<DistanceServiceOSRMImpl> osrm = mock(ObjectProvider.class);
+        when(osrm.getObject()).thenReturn(osrmDistanceService);
+        return new DistanceServiceCachingImpl(offline, osrm, new SimpleMeterRegistry(),
+                0.001, 1_000, 1_800, ROAD_FACTOR, waitTimeoutMs);
+    }
+
+    // Until the waiter parks on the owner's future.
+    private static void awaitBlocked(AtomicReference<Thread> thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.get() == null || thread.get().getState() != Thread.State.TIMED_WAITING) {
+            if (System.nanoTime() > deadline) throw new IllegalStateException("waiter never started waiting");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.exceptions.DistanceCalculationException;
+import com.nikhil.project.uber.uberApp.utils.CircuitBreaker;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Runs the OSRM client against a local stub server, so timeouts, failures and the /table
+ * request format are tested without the public OSRM instance.
+ */
+class DistanceServiceOSRMImplTest {
+
+    private static final double ROAD_FACTOR = 1.4;
+    private static final int FAILURE_THRESHOLD = 3;
+    // Room for the first call on a cold JVM, far below how long the SLOW stub takes to answer.
+    private static final int TIMEOUT_MS = 1000;
+    private static final int SLOW_RESPONSE_MS = 3000;
+
+    private final Point pickup = GeometryUtils.createPoint(77.2167, 28.6315);
+    private final Point dropOff = GeometryUtils.createPoint(77.1025, 28.7041);
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicReference<String> lastRequest = new AtomicReference<>();
+    private volatile Behaviour behaviour = Behaviour.OK;
+
+    private DistanceServiceOSRMImpl distanceService;
+
+    private enum Behaviour { OK, SLOW, ERROR }
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/route/v1/driving/", exchange ->
+                respond(exchange, "{\"code\":\"Ok\",\"routes\":[{\"distance\":12345.0,\"duration\":900.0}]}"));
+        server.createContext("/table/v1/driving/", exchange ->
+                respond(exchange, "{\"code\":\"Ok\",\"distances\":[[1000.0,2500.0],[null,4000.0]]}"));
+        server.start();
+
+        distanceService = new DistanceServiceOSRMImpl(RestClient.builder(), new SimpleMeterRegistry(),
+                "http://localhost:" + server.getAddress().getPort(),
+                TIMEOUT_MS, TIMEOUT_MS, FAILURE_THRESHOLD, 60_000, ROAD_FACTOR);
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void returnsRouteDistanceInKm() {
+        assertEquals(12.345, distanceService.calculateDistance(pickup, dropOff), 1e-9);
+        assertTrue(lastRequest.get().startsWith("/route/v1/driving/77.2167,28.6315;77.1025,28.7041"));
+    }
+
+    @Test
+    void fetchesDistanceMatrixWithOneTableCall() {
+        Point driverA = GeometryUtils.createPoint(77.20, 28.62);
+        Point driverB = GeometryUtils.createPoint(77.21, 28.63);
+
+        double[][] distances = distanceService.calculateDistanceMatrix(List.of(driverA, driverB), List.of(pickup, dropOff));
+
+        assertEquals(1, requests.get());
+        assertTrue(lastRequest.get().contains("sources=0;1&destinations=2;3&annotations=distance"), lastRequest.get());
+        assertArrayEquals(new double[]{1.0, 2.5}, distances[0], 1e-9);
+        assertArrayEquals(new double[]{Double.POSITIVE_INFINITY, 4.0}, distances[1], 1e-9);
+    }
+
+    @Test
+    void slowServerFallsBackToEstimate() {
+        behaviour = Behaviour.SLOW;
+
+        long startedAt = System.nanoTime();
+        double distance = distanceService.calculateDistance(pickup, dropOff);
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertEquals(GeometryUtils.estimateRoadDistanceKm(pickup, dropOff, ROAD_FACTOR), distance, 1e-9);
+        assertTrue(elapsedMs < SLOW_RESPONSE_MS - TIMEOUT_MS, "read timeout was not applied, call took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void exactDistanceFailsInsteadOfEstimating() {
+        behaviour = Behaviour.ERROR;
+
+        assertThrows(DistanceCalculationException.class,
+                () -> distanceService.calculateExactDistance(pickup, dropOff));
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndStopsCallingServer() {
+        behaviour = Behaviour.ERROR;
+
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            distanceService.calculateDistance(pickup, dropOff);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, distanceService.getCircuitBreakerState());
+        assertEquals(FAILURE_THRESHOLD, requests.get());
+
+        double distance = distanceService.calculateDistance(pickup, dropOff);
+        double[][] matrix = distanceService.calculateDistanceMatrix(List.of(pickup), List.of(dropOff));
+
+        assertEquals(FAILURE_THRESHOLD, requests.get());
+        assertEquals(GeometryUtils.estimateRoadDistanceKm(pickup, dropOff, ROAD_FACTOR), distance, 1e-9);
+        assertEquals(distance, matrix[0][0], 1e-9);
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        requests.incrementAndGet();
+        lastRequest.set(exchange.getRequestURI().toString());
+        try {
+            if (behaviour == Behaviour.SLOW) {
+                Thread.sleep(SLOW_RESPONSE_MS);
+            }
+            byte[] bytes = (behaviour == Behaviour.ERROR ? "{\"code\":\"Error\"}" : body).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(behaviour == Behaviour.ERROR ? 500 : 200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            // Client gave up (timeout test); nothing to answer.
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.Driver;
+import com.nikhil.project.uber.uberApp.projections.DriverLocationProjection;
+import com.nikhil.project.uber.uberApp.repositories.DriverRepository;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DriverIndexServiceInMemoryImplTest {
+
+    private static final long NEW_DRIVER_ID = 42L;
+    private static final double RADIUS_KM = 5.0;
+
+    private final Point pickup = GeometryUtils.createPoint(77.2167, 28.6315);
+
+    private final DriverRepository driverRepository = mock(DriverRepository.class);
+    private DriverIndexServiceInMemoryImpl driverIndexService;
+
+    @BeforeEach
+    void setUp() {
+        driverIndexService = new DriverIndexServiceInMemoryImpl(driverRepository, 0.01);
+    }
+
+    @Test
+    void onboardedDriverIsMatchedAfterItsFirstPing() {
+        // onboarding: available, no location yet, so nothing to index
+        driverIndexService.upsertDriver(driver(NEW_DRIVER_ID, 0.0, true));
+        assertNull(driverIndexService.getDriverLocation(NEW_DRIVER_ID));
+        assertTrue(driverIndexService.findNearestDriverIds(pickup, 5, RADIUS_KM).isEmpty());
+
+        storedDriver(NEW_DRIVER_ID, 0.0, true);
+        driverIndexService.updateDriverLocation(NEW_DRIVER_ID, 77.2170, 28.6320);
+
+        assertEquals(List.of(NEW_DRIVER_ID), driverIndexService.findNearestDriverIds(pickup, 5, RADIUS_KM));
+        assertEquals(List.of(NEW_DRIVER_ID), driverIndexService.findTopRatedDriverIds(pickup, 5, RADIUS_KM));
+    }
+
+    @Test
+    void unavailableDriverIsIndexedButNotMatched() {
+        storedDriver(NEW_DRIVER_ID, 4.5, false);
+        driverIndexService.updateDriverLocation(NEW_DRIVER_ID, 77.2170, 28.6320);
+
+        assertEquals(77.2170, driverIndexService.getDriverLocation(NEW_DRIVER_ID).getX(), 1e-9);
+        assertTrue(driverIndexService.findNearestDriverIds(pickup, 5, RADIUS_KM).isEmpty());
+
+        Driver available = driver(NEW_DRIVER_ID, 4.5, true);
+        driverIndexService.upsertDriver(available);
+        assertEquals(List.of(NEW_DRIVER_ID), driverIndexService.findNearestDriverIds(pickup, 5, RADIUS_KM));
+    }
+
+    @Test
+    void laterPingsDoNotReadTheTable() {
+        storedDriver(NEW_DRIVER_ID, 0.0, true);
+        driverIndexService.updateDriverLocation(NEW_DRIVER_ID, 77.3000, 28.7000);
+        driverIndexService.updateDriverLocation(NEW_DRIVER_ID, 77.2170, 28.6320);
+
+        verify(driverRepository).findDriverLocationById(NEW_DRIVER_ID);
+        assertEquals(List.of(NEW_DRIVER_ID), driverIndexService.findNearestDriverIds(pickup, 5, RADIUS_KM));
+    }
+
+    @Test
+    void pingForUnknownDriverIsIgnored() {
+        when(driverRepository.findDriverLocationById(NEW_DRIVER_ID)).thenReturn(Optional.empty());
+
+        driverIndexService.updateDriverLocation(NEW_DRIVER_ID, 77.2170, 28.6320);
+
+        assertNull(driverIndexService.getDriverLocation(NEW_DRIVER_ID));
+        verify(driverRepository, never()).findAllDriverLocations();
+    }
+
+    private Driver driver(Long id, double rating, boolean available) {
+        Driver driver = new Driver();
+        driver.setId(id);
+        driver.setRating(rating);
+        driver.setAvailable(available);
+        return driver;
+    }
+
+    private void storedDriver(Long id, double rating, boolean available) {
+        DriverLocationProjection row = mock(DriverLocationProjection.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getRating()).thenReturn(rating);
+        when(row.getAvailable()).thenReturn(available);
+        when(driverRepository.findDriverLocationById(id)).thenReturn(Optional.of(row));
+    }
+}
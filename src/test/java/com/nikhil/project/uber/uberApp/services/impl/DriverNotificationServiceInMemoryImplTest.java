@@ -0,0 +1,100 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.RideOfferDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DriverNotificationServiceInMemoryImplTest {
+
+    private static final long DRIVER_ID = 7L;
+    private static final int MAX_OFFERS = 3;
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    private final MutableClock clock = new MutableClock();
+    private final DriverNotificationServiceInMemoryImpl notificationService =
+            new DriverNotificationServiceInMemoryImpl(clock, MAX_OFFERS, TTL.toMillis());
+
+    @Test
+    void offersAreHandedOutOnce() {
+        notificationService.sendRideOffer(offer(1L, DRIVER_ID));
+        notificationService.sendRideOffer(offer(2L, DRIVER_ID));
+        notificationService.sendRideOffer(offer(3L, 8L));
+
+        assertEquals(List.of(1L, 2L), rideRequestIds(notificationService.drainRideOffers(DRIVER_ID)));
+        assertTrue(notificationService.drainRideOffers(DRIVER_ID).isEmpty());
+        assertEquals(List.of(3L), rideRequestIds(notificationService.drainRideOffers(8L)));
+    }
+
+    @Test
+    void oldestOfferIsDroppedAboveTheBound() {
+        for (long rideRequestId = 1; rideRequestId <= 5; rideRequestId++) {
+            notificationService.sendRideOffer(offer(rideRequestId, DRIVER_ID));
+        }
+
+        assertEquals(List.of(3L, 4L, 5L), rideRequestIds(notificationService.drainRideOffers(DRIVER_ID)));
+    }
+
+    @Test
+    void expiredOffersAreNotHandedOut() {
+        notificationService.sendRideOffer(offer(1L, DRIVER_ID));
+        clock.advance(TTL.dividedBy(2));
+        notificationService.sendRideOffer(offer(2L, DRIVER_ID));
+        clock.advance(TTL.dividedBy(2));
+
+        assertEquals(List.of(2L), rideRequestIds(notificationService.drainRideOffers(DRIVER_ID)));
+    }
+
+    @Test
+    void purgeDropsExpiredOffersOfDriversThatStoppedPolling() {
+        notificationService.sendRideOffer(offer(1L, DRIVER_ID));
+        notificationService.sendRideOffer(offer(2L, 8L));
+        clock.advance(TTL.dividedBy(2));
+        notificationService.sendRideOffer(offer(3L, 8L));
+        clock.advance(TTL.dividedBy(2));
+
+        assertEquals(2, notificationService.purgeExpiredOffers());
+        assertEquals(0, notificationService.purgeExpiredOffers());
+        assertTrue(notificationService.drainRideOffers(DRIVER_ID).isEmpty());
+        assertEquals(List.of(3L), rideRequestIds(notificationService.drainRideOffers(8L)));
+    }
+
+    private RideOfferDto offer(Long rideRequestId, Long driverId) {
+        return new RideOfferDto(rideRequestId, driverId, null, null, 100.0, 1);
+    }
+
+    private List<Long> rideRequestIds(List<RideOfferDto> offers) {
+        return offers.stream().map(RideOfferDto::getRideRequestId).toList();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T18:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.entities.Rider;
+import com.nikhil.project.uber.uberApp.services.DistanceService;
+import com.nikhil.project.uber.uberApp.strategies.RideFareCalculationStrategy;
+import com.nikhil.project.uber.uberApp.strategies.RideStrategyManager;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FareQuoteServiceImplTest {
+
+    private static final long RIDER_ID = 1L;
+    private static final double FARE = 250.0;
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T18:00:00Z"), ZoneOffset.UTC);
+
+    private final DistanceService distanceService = mock(DistanceService.class);
+    private final RideStrategyManager rideStrategyManager = mock(RideStrategyManager.class);
+    private final RideFareCalculationStrategy fareStrategy = mock(RideFareCalculationStrategy.class);
+
+    private final FareQuoteServiceImpl fareQuoteService = new FareQuoteServiceImpl(
+            distanceService, rideStrategyManager, CLOCK, "test-secret", 120, 1_000);
+
+    @BeforeEach
+    void setUp() {
+        when(distanceService.calculateDistance(any(), any())).thenReturn(12.5);
+        when(rideStrategyManager.rideFareCalculationStrategy(any())).thenReturn(fareStrategy);
+        when(fareStrategy.calculateFare(any(), anyDouble())).thenReturn(FARE);
+    }
+
+    @Test
+    void quoteIsRedeemedOnlyOnce() {
+        String token = fareQuoteService.createQuote(rideRequest(77.1025)).getQuoteToken();
+
+        assertEquals(Optional.of(FARE), fareQuoteService.redeemQuotedFare(token, rideRequest(77.1025)));
+        assertTrue(fareQuoteService.redeemQuotedFare(token, rideRequest(77.1025)).isEmpty());
+    }
+
+    @Test
+    void requestForAnotherTripDoesNotUseUpTheQuote() {
+        String token = fareQuoteService.createQuote(rideRequest(77.1025)).getQuoteToken();
+
+        assertTrue(fareQuoteService.redeemQuotedFare(token, rideRequest(77.3000)).isEmpty());
+        assertEquals(Optional.of(FARE), fareQuoteService.redeemQuotedFare(token, rideRequest(77.1025)));
+    }
+
+    private RideRequest rideRequest(double dropOffLongitude) {
+        Rider rider = new Rider();
+        rider.setId(RIDER_ID);
+        RideRequest rideRequest = new RideRequest();
+        rideRequest.setRider(rider);
+        rideRequest.setPickupLocation(GeometryUtils.createPoint(77.2167, 28.6315));
+        rideRequest.setDropOffLocation(GeometryUtils.createPoint(dropOffLongitude, 28.5562));
+        return rideRequest;
+    }
+}
@@ -0,0 +1,149 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.Payment;
+import com.nikhil.project.uber.uberApp.entities.PaymentSettlement;
+import com.nikhil.project.uber.uberApp.enums.PaymentMethod;
+import com.nikhil.project.uber.uberApp.enums.PaymentStatus;
+import com.nikhil.project.uber.uberApp.enums.SettlementStatus;
+import com.nikhil.project.uber.uberApp.exceptions.WalletNotFoundException;
+import com.nikhil.project.uber.uberApp.repositories.PaymentRepository;
+import com.nikhil.project.uber.uberApp.repositories.PaymentSettlementRepository;
+import com.nikhil.project.uber.uberApp.strategies.PaymentStrategy;
+import com.nikhil.project.uber.uberApp.strategies.PaymentStrategyManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * One outbox row driven through settleNextPayment with a mocked repository, so every attempt
+ * claims the same row and its attempts, backoff and status can be followed step by step.
+ * Claiming itself (SKIP LOCKED) runs against the database in PaymentSettlementRepositoryTest.
+ */
+class PaymentSettlementServiceImplTest {
+
+    private static final long SETTLEMENT_ID = 5L;
+    private static final long PAYMENT_ID = 50L;
+    private static final int MAX_ATTEMPTS = 4;
+    private static final long RETRY_BACKOFF_MS = 2_000;
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-01-01T18:00:00Z"), ZoneOffset.UTC);
+
+    private final PaymentSettlementRepository paymentSettlementRepository = mock(PaymentSettlementRepository.class);
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentStrategyManager paymentStrategyManager = mock(PaymentStrategyManager.class);
+    private final PaymentStrategy paymentStrategy = mock(PaymentStrategy.class);
+
+    private final PaymentSettlementServiceImpl paymentSettlementService = new PaymentSettlementServiceImpl(
+            paymentSettlementRepository, paymentRepository, paymentStrategyManager,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new SyncTaskExecutor(), CLOCK,
+            0, MAX_ATTEMPTS, RETRY_BACKOFF_MS);
+
+    private final PaymentSettlement paymentSettlement = new PaymentSettlement();
+    private final Payment payment = new Payment();
+
+    @BeforeEach
+    void setUp() {
+        paymentSettlement.setId(SETTLEMENT_ID);
+        paymentSettlement.setPaymentId(PAYMENT_ID);
+        paymentSettlement.setStatus(SettlementStatus.PENDING);
+        paymentSettlement.setNextAttemptAt(LocalDateTime.now(CLOCK));
+
+        payment.setId(PAYMENT_ID);
+        payment.setPaymentMethod(PaymentMethod.WALLET);
+        payment.setPaymentStatus(PaymentStatus.PENDING);
+
+        when(paymentSettlementRepository.claimNextDue(any())).thenReturn(Optional.of(paymentSettlement));
+        when(paymentSettlementRepository.findById(SETTLEMENT_ID)).thenReturn(Optional.of(paymentSettlement));
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.of(payment));
+        when(paymentStrategyManager.paymentStrategy(PaymentMethod.WALLET)).thenReturn(paymentStrategy);
+    }
+
+    @Test
+    void settledRowIsCompleted() {
+        assertTrue(paymentSettlementService.settleNextPayment());
+
+        verify(paymentStrategy).processPayment(payment);
+        assertEquals(SettlementStatus.COMPLETED, paymentSettlement.getStatus());
+        assertEquals(1, paymentSettlement.getAttempts());
+    }
+
+    @Test
+    void alreadyConfirmedPaymentIsNotChargedAgain() {
+        payment.setPaymentStatus(PaymentStatus.CONFIRMED);
+
+        assertTrue(paymentSettlementService.settleNextPayment());
+
+        verify(paymentStrategy, never()).processPayment(any());
+        assertEquals(SettlementStatus.COMPLETED, paymentSettlement.getStatus());
+    }
+
+    @Test
+    void transientFailureBacksOffExponentiallyThenFails() {
+        doThrow(new IllegalStateException("connection reset")).when(paymentStrategy).processPayment(payment);
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            paymentSettlementService.settleNextPayment();
+
+            assertEquals(SettlementStatus.PENDING, paymentSettlement.getStatus());
+            assertEquals(attempt, paymentSettlement.getAttempts());
+            Duration backoff = Duration.ofMillis(RETRY_BACKOFF_MS << (attempt - 1));
+            assertEquals(LocalDateTime.now(CLOCK).plus(backoff), paymentSettlement.getNextAttemptAt());
+            assertEquals("connection reset", paymentSettlement.getLastError());
+        }
+
+        paymentSettlementService.settleNextPayment();
+
+        assertEquals(SettlementStatus.FAILED, paymentSettlement.getStatus());
+        assertEquals(MAX_ATTEMPTS, paymentSettlement.getAttempts());
+        verify(paymentStrategy, times(MAX_ATTEMPTS)).processPayment(payment);
+    }
+
+    @Test
+    void businessFailureFailsAtOnce() {
+        doThrow(new WalletNotFoundException("Wallet not found for user with id: 9"))
+                .when(paymentStrategy).processPayment(payment);
+
+        paymentSettlementService.settleNextPayment();
+
+        assertEquals(SettlementStatus.FAILED, paymentSettlement.getStatus());
+        assertEquals(1, paymentSettlement.getAttempts());
+    }
+
+    @Test
+    void missingPaymentFailsAtOnce() {
+        when(paymentRepository.findById(PAYMENT_ID)).thenReturn(Optional.empty());
+
+        paymentSettlementService.settleNextPayment();
+
+        assertEquals(SettlementStatus.FAILED, paymentSettlement.getStatus());
+        assertEquals(1, paymentSettlement.getAttempts());
+    }
+
+    @Test
+    void nothingDueReturnsFalse() {
+        when(paymentSettlementRepository.claimNextDue(any())).thenReturn(Optional.empty());
+
+        assertFalse(paymentSettlementService.settleNextPayment());
+        assertNull(paymentSettlement.getLastError());
+    }
+}
@@ -0,0 +1,197 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.RideOfferDto;
+import com.nikhil.project.uber.uberApp.entities.RideRequest;
+import com.nikhil.project.uber.uberApp.enums.DispatchMode;
+import com.nikhil.project.uber.uberApp.enums.RideRequestStatus;
+import com.nikhil.project.uber.uberApp.exceptions.RideDispatchCapacityExceededException;
+import com.nikhil.project.uber.uberApp.repositories.RideRequestRepository;
+import com.nikhil.project.uber.uberApp.services.DriverNotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/*
+ * The dispatcher with a synchronous executor and a scheduler whose timers the test fires by hand,
+ * so every wave runs on the test thread at the moment the test chooses.
+ */
+class RideDispatchServiceImplTest {
+
+    private static final int WAVE_SIZE = 3;
+    private static final long RIDE_REQUEST_ID = 11L;
+
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final DriverNotificationService driverNotificationService = mock(DriverNotificationService.class);
+    private final RideRequestRepository rideRequestRepository = mock(RideRequestRepository.class);
+    private final List<Runnable> timers = new ArrayList<>();
+
+    @AfterEach
+    void clearTransactionSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void nextWaveGoesOutOnlyAfterTheTimeoutAndWhileStillPending() {
+        RideDispatchServiceImpl dispatchService = dispatchService(new SyncTaskExecutor(), 10);
+        pending(true);
+
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(7));
+        assertEquals(List.of(List.of(1L, 2L, 3L)), offersByWave());
+
+        fireNextTimer();
+        fireNextTimer();
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L), List.of(7L)), offersByWave());
+        assertTrue(timers.isEmpty(), "no wave after the last candidate");
+    }
+
+    @Test
+    void acceptedRequestStopsTheRemainingWavesAndFreesItsPermit() {
+        RideDispatchServiceImpl dispatchService = dispatchService(new SyncTaskExecutor(), 1);
+        pending(true);
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(7));
+
+        pending(false);
+        fireNextTimer();
+
+        assertEquals(1, offersByWave().size());
+        assertTrue(timers.isEmpty());
+        assertDoesNotThrow(() -> dispatchService.dispatchToDrivers(rideRequest(), driverIds(1)));
+    }
+
+    @Test
+    void parallelModeOffersEveryCandidateAtOnce() {
+        RideDispatchServiceImpl dispatchService = new RideDispatchServiceImpl(new SyncTaskExecutor(), taskScheduler,
+                driverNotificationService, rideRequestRepository, DispatchMode.PARALLEL, WAVE_SIZE, 15_000, 10);
+
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(7));
+
+        assertEquals(List.of(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L)), offersByWave());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void rolledBackRequestSendsNothingAndReleasesItsPermit() {
+        RideDispatchServiceImpl dispatchService = dispatchService(new SyncTaskExecutor(), 1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(3));
+        assertThrows(RideDispatchCapacityExceededException.class,
+                () -> dispatchService.dispatchToDrivers(rideRequest(), driverIds(3)));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(driverNotificationService, never()).sendRideOffer(any());
+        assertDoesNotThrow(() -> dispatchService.dispatchToDrivers(rideRequest(), driverIds(3)));
+    }
+
+    @Test
+    void committedRequestIsOfferedOnlyAfterCommit() {
+        RideDispatchServiceImpl dispatchService = dispatchService(new SyncTaskExecutor(), 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(2));
+        verify(driverNotificationService, never()).sendRideOffer(any());
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(List.of(List.of(1L, 2L)), offersByWave());
+    }
+
+    @Test
+    void requestsAboveMaxInFlightAreRejectedUntilADispatchFinishes() {
+        RideDispatchServiceImpl dispatchService = dispatchService(new SyncTaskExecutor(), 2);
+        pending(true);
+
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(4));
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(4));
+        assertThrows(RideDispatchCapacityExceededException.class,
+                () -> dispatchService.dispatchToDrivers(rideRequest(), driverIds(4)));
+
+        // the first dispatch sends its last wave and gives its permit back
+        fireNextTimer();
+        assertDoesNotThrow(() -> dispatchService.dispatchToDrivers(rideRequest(), driverIds(4)));
+        assertThrows(RideDispatchCapacityExceededException.class,
+                () -> dispatchService.dispatchToDrivers(rideRequest(), driverIds(4)));
+    }
+
+    @Test
+    void rejectedWaveReleasesItsPermit() {
+        TaskExecutor rejecting = task -> {
+            throw new TaskRejectedException("full");
+        };
+        RideDispatchServiceImpl dispatchService = dispatchService(rejecting, 1);
+
+        dispatchService.dispatchToDrivers(rideRequest(), driverIds(3));
+
+        assertDoesNotThrow(() -> dispatchService.dispatchToDrivers(rideRequest(), driverIds(3)));
+    }
+
+    private RideDispatchServiceImpl dispatchService(TaskExecutor executor, int maxInFlight) {
+        when(taskScheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(invocation -> {
+            timers.add(invocation.getArgument(0));
+            return null;
+        });
+        return new RideDispatchServiceImpl(executor, taskScheduler, driverNotificationService,
+                rideRequestRepository, DispatchMode.WAVES, WAVE_SIZE, 15_000, maxInFlight);
+    }
+
+    private void pending(boolean pending) {
+        when(rideRequestRepository.findRideRequestStatusById(RIDE_REQUEST_ID)).thenReturn(
+                Optional.of(pending ? RideRequestStatus.PENDING : RideRequestStatus.CONFIRMED));
+    }
+
+    private void fireNextTimer() {
+        timers.remove(0).run();
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private List<List<Long>> offersByWave() {
+        ArgumentCaptor<RideOfferDto> offers = ArgumentCaptor.forClass(RideOfferDto.class);
+        verify(driverNotificationService, atLeastOnce()).sendRideOffer(offers.capture());
+        List<List<Long>> byWave = new ArrayList<>();
+        for (RideOfferDto offer : offers.getAllValues()) {
+            while (byWave.size() < offer.getWave()) byWave.add(new ArrayList<>());
+            byWave.get(offer.getWave() - 1).add(offer.getDriverId());
+        }
+        return byWave;
+    }
+
+    private RideRequest rideRequest() {
+        RideRequest rideRequest = new RideRequest();
+        rideRequest.setId(RIDE_REQUEST_ID);
+        rideRequest.setFare(250.0);
+        return rideRequest;
+    }
+
+    private List<Long> driverIds(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+}
@@ -0,0 +1,124 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.RideDto;
+import com.nikhil.project.uber.uberApp.enums.Role;
+import com.nikhil.project.uber.uberApp.services.RideService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/*
+ * Ride history is read through a projection: every page must cost exactly ONE statement,
+ * whatever the page size, with the rider, driver, users and roles already in the row.
+ * Loading Ride entities instead cost 1 + the lazy rider / driver / user / roles loads.
+ *
+ * Pairs of rides share a created_time, so walking the pages also checks the id tie-breaker.
+ *
+ * Transactional: everything the test writes is rolled back, so the fixed ride ids are free again
+ * for the next run against the same database.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class RideServiceImplHistoryTest {
+
+    private static final int RIDES = 25;
+    private static final int PAGE_SIZE = 10;
+    // Far above anything ride_seq hands out in a test run.
+    private static final long RIDE_ID_BASE = 3_000_000_000L;
+    // Seeded driver from data.sql.
+    private static final long DRIVER_ID = 7L;
+
+    @Autowired
+    private RideService rideService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void everyHistoryPageIsOneStatement() {
+        Long riderId = newRider();
+        jdbcTemplate.update("""
+                INSERT INTO ride (id, rider_id, driver_id, ride_status, payment_method, fare, otp, created_time,
+                                  pickup_location, drop_off_location)
+                SELECT ? + g, ?, ?, 'ENDED', 'CASH', 100 + g, '123456',
+                       TIMESTAMP '2025-01-01 10:00:00' + (g / 2) * INTERVAL '1 minute',
+                       ST_SetSRID(ST_MakePoint(77.2 + g / 1000.0, 28.6), 4326),
+                       ST_SetSRID(ST_MakePoint(77.1, 28.7 + g / 1000.0), 4326)
+                FROM generate_series(1, ?) g
+                """, RIDE_ID_BASE, riderId, DRIVER_ID, RIDES);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<RideDto> all = new ArrayList<>();
+        LocalDateTime beforeTime = null;
+        Long beforeId = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            List<RideDto> page = rideService.getRideHistoryOfRider(riderId, beforeTime, beforeId, PAGE_SIZE);
+            assertEquals(1, statistics.getPrepareStatementCount(), "statements for page " + pages);
+
+            all.addAll(page);
+            pages++;
+            if (page.size() < PAGE_SIZE) break;
+            beforeTime = page.get(PAGE_SIZE - 1).getCreatedTime();
+            beforeId = page.get(PAGE_SIZE - 1).getId();
+        } while (true);
+
+        assertEquals(3, pages);
+        assertEquals(RIDES, all.size());
+        for (int i = 0; i < RIDES; i++) {
+            long g = RIDES - i;
+            RideDto ride = all.get(i);
+            assertEquals(RIDE_ID_BASE + g, ride.getId());
+            assertEquals(77.2 + g / 1000.0, ride.getPickupLocation().getCoordinates()[0], 1e-9);
+            assertEquals(28.6, ride.getPickupLocation().getCoordinates()[1], 1e-9);
+            assertEquals(77.1, ride.getDropOffLocation().getCoordinates()[0], 1e-9);
+            assertEquals(28.7 + g / 1000.0, ride.getDropOffLocation().getCoordinates()[1], 1e-9);
+            assertEquals(riderId, ride.getRider().getId());
+            assertEquals(Set.of(Role.RIDER), ride.getRider().getUser().getRoles());
+            assertEquals(DRIVER_ID, ride.getDriver().getId());
+        }
+    }
+
+    @Test
+    void rideWithoutLocationsHasNoCoordinatesInHistory() {
+        Long riderId = newRider();
+        jdbcTemplate.update("""
+                INSERT INTO ride (id, rider_id, driver_id, ride_status, payment_method, fare, created_time)
+                VALUES (?, ?, ?, 'CANCELLED', 'CASH', 100, LOCALTIMESTAMP)
+                """, RIDE_ID_BASE + 1_000, riderId, DRIVER_ID);
+
+        List<RideDto> page = rideService.getRideHistoryOfRider(riderId, null, null, PAGE_SIZE);
+
+        assertEquals(1, page.size());
+        assertEquals(DRIVER_ID, page.get(0).getDriver().getId());
+        assertNull(page.get(0).getPickupLocation());
+        assertNull(page.get(0).getDropOffLocation());
+    }
+
+    private Long newRider() {
+        Long userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (name, email, password) VALUES ('History Rider', ?, 'password123') RETURNING id
+                """, Long.class, "history-" + UUID.randomUUID() + "@uber.test");
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, roles) VALUES (?, 'RIDER')", userId);
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO rider (user_id, rating) VALUES (?, 0) RETURNING id", Long.class, userId);
+    }
+}
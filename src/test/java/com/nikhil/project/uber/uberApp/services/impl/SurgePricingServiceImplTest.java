@@ -0,0 +1,125 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.services.DriverIndexService;
+import com.nikhil.project.uber.uberApp.utils.GeometryUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Point;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SurgePricingServiceImplTest {
+
+    private static final double CELL_SIZE = 0.02;
+
+    private final Point connaughtPlace = GeometryUtils.createPoint(77.2167, 28.6315);
+    private final Point airport = GeometryUtils.createPoint(77.1025, 28.5562);
+
+    private final DriverIndexService driverIndexService = mock(DriverIndexService.class);
+    private final MutableClock clock = new MutableClock();
+    private SurgePricingServiceImpl surgePricingService;
+
+    @BeforeEach
+    void setUp() {
+        // 300 s window of 30 s buckets, 1 + 0.5 x (pressure - 1), capped at 3x
+        surgePricingService = new SurgePricingServiceImpl(driverIndexService, clock,
+                CELL_SIZE, 300, 30, 1.0, 0.5, 3.0);
+        availableDrivers(connaughtPlace, 10);
+    }
+
+    @Test
+    void noSurgeWithoutRecompute() {
+        requests(connaughtPlace, 50);
+
+        assertEquals(1.0, surgePricingService.getSurgeMultiplier(connaughtPlace));
+    }
+
+    @Test
+    void multiplierFollowsDemandOverSupply() {
+        requests(connaughtPlace, 30);
+        surgePricingService.recomputeSurgeMultipliers();
+
+        // 30 requests / 10 drivers = 3 -> 1 + 0.5 x (3 - 1)
+        assertEquals(2.0, surgePricingService.getSurgeMultiplier(connaughtPlace));
+        assertEquals(1.0, surgePricingService.getSurgeMultiplier(airport));
+    }
+
+    @Test
+    void demandBelowSupplyDoesNotSurge() {
+        requests(connaughtPlace, 5);
+        surgePricingService.recomputeSurgeMultipliers();
+
+        assertEquals(1.0, surgePricingService.getSurgeMultiplier(connaughtPlace));
+    }
+
+    @Test
+    void multiplierIsCapped() {
+        availableDrivers(airport, 0);
+        requests(airport, 100);
+        surgePricingService.recomputeSurgeMultipliers();
+
+        assertEquals(3.0, surgePricingService.getSurgeMultiplier(airport));
+    }
+
+    @Test
+    void oldRequestsLeaveTheWindow() {
+        requests(connaughtPlace, 30);
+        surgePricingService.recomputeSurgeMultipliers();
+        assertEquals(2.0, surgePricingService.getSurgeMultiplier(connaughtPlace));
+
+        // Half a window later another 10 requests: all 40 still count.
+        clock.advance(Duration.ofSeconds(150));
+        requests(connaughtPlace, 10);
+        surgePricingService.recomputeSurgeMultipliers();
+        assertEquals(2.5, surgePricingService.getSurgeMultiplier(connaughtPlace));
+
+        // A full window after the first burst only the later 10 remain: 10 / 10 drivers -> no surge.
+        clock.advance(Duration.ofSeconds(150));
+        surgePricingService.recomputeSurgeMultipliers();
+        assertEquals(1.0, surgePricingService.getSurgeMultiplier(connaughtPlace));
+    }
+
+    private void requests(Point pickup, int count) {
+        for (int i = 0; i < count; i++) {
+            surgePricingService.recordRideRequest(pickup);
+        }
+    }
+
+    private void availableDrivers(Point location, int count) {
+        long cell = GeometryUtils.cellKey(location.getX(), location.getY(), CELL_SIZE);
+        when(driverIndexService.countAvailableDriversByCell(anyDouble())).thenReturn(Map.of(cell, count));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T18:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.entities.User;
+import com.nikhil.project.uber.uberApp.enums.TransactionMethod;
+import com.nikhil.project.uber.uberApp.exceptions.InsufficientWalletBalanceException;
+import com.nikhil.project.uber.uberApp.repositories.UserRepository;
+import com.nikhil.project.uber.uberApp.services.WalletService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/*
+ * Many threads pay into and out of ONE wallet at the same time, each call in its own transaction.
+ * With a read-modify-write balance some updates were lost; now the balance must end exactly at
+ * the expected value and match the sum of the ledger rows.
+ *
+ * Amounts are exact in binary floating point, so "zero drift" can be checked without a tolerance.
+ *
+ * Debits racing for the same balance must not overdraw it: exactly as many succeed as the balance
+ * covers, the rest fail with InsufficientWalletBalanceException. Ride charges are settled after the
+ * ride and are the exception: they may overdraw.
+ */
+@SpringBootTest
+class WalletServiceImplConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int OPERATIONS_PER_THREAD = 200;
+    private static final double CREDIT = 10.0;
+    private static final double DEBIT = 2.5;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelCreditsAndDebitsKeepBalanceEqualToLedger() throws Exception {
+        User savedUser = createUserWithWallet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    if (i % 2 == 0) {
+                        walletService.addMoneyToWallet(savedUser, CREDIT, null, null, TransactionMethod.BANKING);
+                    } else {
+                        walletService.deductMoneyFromWallet(savedUser, DEBIT, null, null, TransactionMethod.RIDE);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        double expectedBalance = (operations / 2) * (CREDIT - DEBIT);
+
+        double balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE user_id = ?", Double.class, savedUser.getId());
+        double ledgerSum = jdbcTemplate.queryForObject("""
+                SELECT COALESCE(SUM(CASE WHEN t.transaction_type = 'CREDIT' THEN t.amount ELSE -t.amount END), 0)
+                FROM wallet_transaction t JOIN wallet w ON w.id = t.wallet_id
+                WHERE w.user_id = ?
+                """, Double.class, savedUser.getId());
+        int ledgerRows = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM wallet_transaction t JOIN wallet w ON w.id = t.wallet_id
+                WHERE w.user_id = ?
+                """, Integer.class, savedUser.getId());
+
+        assertEquals(operations, ledgerRows);
+        assertEquals(expectedBalance, balance);
+        assertEquals(balance, ledgerSum);
+    }
+
+    @Test
+    void parallelDebitsNeverOverdrawTheWallet() throws Exception {
+        User savedUser = createUserWithWallet();
+        int coveredDebits = 10;
+        walletService.addMoneyToWallet(savedUser, coveredDebits * DEBIT, null, null, TransactionMethod.BANKING);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 5; i++) {
+                    try {
+                        walletService.deductMoneyFromWallet(savedUser, DEBIT, null, null, TransactionMethod.RIDE);
+                        succeeded.incrementAndGet();
+                    } catch (InsufficientWalletBalanceException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+
+        double balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE user_id = ?", Double.class, savedUser.getId());
+        assertEquals(coveredDebits, succeeded.get());
+        assertEquals(THREADS * 5 - coveredDebits, rejected.get());
+        assertEquals(0.0, balance);
+    }
+
+    @Test
+    void rideChargeMayOverdrawWhereAUserDebitMayNot() {
+        User savedUser = createUserWithWallet();
+        walletService.addMoneyToWallet(savedUser, CREDIT, null, null, TransactionMethod.BANKING);
+
+        assertThrows(InsufficientWalletBalanceException.class,
+                () -> walletService.deductMoneyFromWallet(savedUser, 4 * CREDIT, null, null, TransactionMethod.RIDE));
+        walletService.chargeRideToWallet(savedUser, 4 * CREDIT, null, null, TransactionMethod.RIDE);
+
+        double balance = jdbcTemplate.queryForObject(
+                "SELECT balance FROM wallet WHERE user_id = ?", Double.class, savedUser.getId());
+        assertEquals(-3 * CREDIT, balance);
+    }
+
+    private User createUserWithWallet() {
+        User user = new User();
+        user.setName("Wallet Stress");
+        user.setEmail("wallet-stress-" + UUID.randomUUID() + "@uber.test");
+        user.setPassword("password123");
+        User savedUser = userRepository.save(user);
+        walletService.createNewWallet(savedUser);
+        return savedUser;
+    }
+}
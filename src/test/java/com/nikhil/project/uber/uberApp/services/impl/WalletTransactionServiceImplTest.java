@@ -0,0 +1,104 @@
+package com.nikhil.project.uber.uberApp.services.impl;
+
+import com.nikhil.project.uber.uberApp.dto.CursorSliceDto;
+import com.nikhil.project.uber.uberApp.dto.WalletTransactionDto;
+import com.nikhil.project.uber.uberApp.entities.User;
+import com.nikhil.project.uber.uberApp.entities.Wallet;
+import com.nikhil.project.uber.uberApp.repositories.UserRepository;
+import com.nikhil.project.uber.uberApp.services.WalletService;
+import com.nikhil.project.uber.uberApp.services.WalletTransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Walks a wallet's history page by page through the keyset cursor. Pairs of transactions share a
+ * time_stamp, so the id tie-breaker of the (time_stamp, id) row comparison is exercised too.
+ *
+ * Transactional: everything the test writes is rolled back.
+ */
+@SpringBootTest
+@Transactional
+class WalletTransactionServiceImplTest {
+
+    private static final int TRANSACTIONS = 25;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private WalletTransactionService walletTransactionService;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void pagesWalkTheWholeHistoryNewestFirst() {
+        User user = newUser();
+        Wallet wallet = walletService.createNewWallet(user);
+        jdbcTemplate.update("""
+                INSERT INTO wallet_transaction (amount, transaction_type, transaction_method, transaction_id,
+                                                wallet_id, time_stamp)
+                SELECT g, 'CREDIT', 'BANKING', ? || g, ?,
+                       TIMESTAMP '2025-01-01 10:00:00' + (g / 2) * INTERVAL '1 minute'
+                FROM generate_series(1, ?) g
+                """, "history-" + UUID.randomUUID() + "-", wallet.getId(), TRANSACTIONS);
+
+        List<WalletTransactionDto> all = new ArrayList<>();
+        CursorSliceDto<WalletTransactionDto> page =
+                walletTransactionService.getWalletTransactions(user, null, null, PAGE_SIZE);
+        int pages = 1;
+        all.addAll(page.getContent());
+        while (page.isHasNext()) {
+            page = walletTransactionService.getWalletTransactions(user,
+                    page.getNextBeforeTime(), page.getNextBeforeId(), PAGE_SIZE);
+            pages++;
+            all.addAll(page.getContent());
+        }
+
+        assertEquals(3, pages);
+        assertEquals(TRANSACTIONS, all.size());
+        for (int i = 1; i < all.size(); i++) {
+            WalletTransactionDto newer = all.get(i - 1);
+            WalletTransactionDto older = all.get(i);
+            int byTime = newer.getTimeStamp().compareTo(older.getTimeStamp());
+            assertTrue(byTime > 0 || (byTime == 0 && newer.getId() > older.getId()), "order at " + i);
+        }
+        // amount g was inserted as the g-th transaction, newest first means 25, 24, ...
+        assertEquals(TRANSACTIONS, all.get(0).getAmount());
+        assertEquals(1.0, all.get(TRANSACTIONS - 1).getAmount());
+    }
+
+    @Test
+    void userWithoutWalletHasEmptyHistory() {
+        User user = newUser();
+
+        CursorSliceDto<WalletTransactionDto> page =
+                walletTransactionService.getWalletTransactions(user, null, null, PAGE_SIZE);
+
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.isHasNext());
+    }
+
+    private User newUser() {
+        User user = new User();
+        user.setName("Wallet History");
+        user.setEmail("wallet-history-" + UUID.randomUUID() + "@uber.test");
+        user.setPassword("password123");
+        return userRepository.save(user);
+    }
+}
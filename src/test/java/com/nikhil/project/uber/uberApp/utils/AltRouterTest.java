@@ -0,0 +1,70 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+ * ALT must return exactly what plain Dijkstra does, only faster. Random sparse graphs with one-way
+ * edges and unreachable parts exercise both the landmark bounds and their dead-end proofs.
+ */
+class AltRouterTest {
+
+    private static final int NODES = 300;
+
+    @Test
+    void distancesMatchPlainDijkstraOnRandomGraphs() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            RoadGraph graph = randomGraph(random);
+            AltRouter router = new AltRouter(graph, 1 + random.nextInt(8));
+
+            for (int source = 0; source < NODES; source += 1 + random.nextInt(10)) {
+                int[] expected = AltRouter.dijkstra(graph, source);
+                for (int target = 0; target < NODES; target++) {
+                    assertEquals(expected[target], router.shortestPathMeters(source, target),
+                            "round " + round + ", " + source + " -> " + target);
+                }
+            }
+        }
+    }
+
+    @Test
+    void landmarkCountIsCappedByTheNodesAvailable() {
+        // two nodes joined both ways: after both are landmarks there is nothing left to pick
+        RoadGraph graph = RoadGraph.fromEdges(new int[2], new int[2],
+                new int[]{0, 1}, new int[]{1, 0}, new int[]{100, 100});
+
+        AltRouter router = new AltRouter(graph, 16);
+
+        assertEquals(2, router.getLandmarkCount());
+        assertEquals(100, router.shortestPathMeters(0, 1));
+    }
+
+    // ~3 edges per node, a third of them one-way; nodes past 90% of the range get no edges at all.
+    private RoadGraph randomGraph(Random random) {
+        List<int[]> edges = new ArrayList<>();
+        int connected = NODES * 9 / 10;
+        for (int i = 0; i < connected * 3 / 2; i++) {
+            int from = random.nextInt(connected);
+            int to = random.nextInt(connected);
+            int meters = 1 + random.nextInt(500);
+            edges.add(new int[]{from, to, meters});
+            if (random.nextInt(3) != 0) edges.add(new int[]{to, from, meters});
+        }
+
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] meters = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            from[i] = edges.get(i)[0];
+            to[i] = edges.get(i)[1];
+            meters[i] = edges.get(i)[2];
+        }
+        return RoadGraph.fromEdges(new int[NODES], new int[NODES], from, to, meters);
+    }
+}
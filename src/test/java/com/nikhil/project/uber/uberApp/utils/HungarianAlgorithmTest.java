@@ -0,0 +1,85 @@
+package com.nikhil.project.uber.uberApp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/*
+ * The assignment must be a valid one (every column used at most once, min(rows, columns) rows
+ * assigned) and cost exactly as little as the best of all assignments, found here by brute force.
+ */
+class HungarianAlgorithmTest {
+
+    @Test
+    void squareMatricesMatchBruteForce() {
+        checkRandomMatrices(4, 4);
+        checkRandomMatrices(6, 6);
+    }
+
+    @Test
+    void moreDriversThanRequestsMatchBruteForce() {
+        checkRandomMatrices(2, 5);
+        checkRandomMatrices(3, 6);
+    }
+
+    @Test
+    void moreRequestsThanDriversMatchBruteForce() {
+        checkRandomMatrices(5, 2);
+        checkRandomMatrices(6, 3);
+    }
+
+    @Test
+    void emptyMatrices() {
+        assertArrayEquals(new int[0], HungarianAlgorithm.solve(new double[0][0]));
+        assertArrayEquals(new int[]{-1, -1}, HungarianAlgorithm.solve(new double[2][0]));
+    }
+
+    private void checkRandomMatrices(int rows, int columns) {
+        Random random = new Random(31L * rows + columns);
+        for (int round = 0; round < 200; round++) {
+            double[][] cost = new double[rows][columns];
+            for (double[] row : cost) {
+                // small integers, so ties between equally good assignments come up as well
+                for (int j = 0; j < columns; j++) row[j] = random.nextInt(20);
+            }
+
+            int[] assignment = HungarianAlgorithm.solve(cost);
+
+            assertEquals(rows, assignment.length);
+            boolean[] usedColumns = new boolean[columns];
+            int assigned = 0;
+            double total = 0;
+            for (int i = 0; i < rows; i++) {
+                if (assignment[i] < 0) continue;
+                assertFalse(usedColumns[assignment[i]], "column " + assignment[i] + " assigned twice");
+                usedColumns[assignment[i]] = true;
+                assigned++;
+                total += cost[i][assignment[i]];
+            }
+            assertEquals(Math.min(rows, columns), assigned);
+            assertEquals(bruteForceMinimum(cost, 0, new boolean[columns], Math.min(rows, columns)), total, 1e-9);
+        }
+    }
+
+    /*
+     * Cheapest way to assign `remaining` more rows from `row` on, each to an unused column;
+     * with more rows than columns a row may also be left out.
+     */
+    private double bruteForceMinimum(double[][] cost, int row, boolean[] usedColumns, int remaining) {
+        if (remaining == 0) return 0;
+        if (cost.length - row < remaining) return Double.POSITIVE_INFINITY;
+
+        double best = bruteForceMinimum(cost, row + 1, usedColumns, remaining); // row left out
+        for (int j = 0; j < usedColumns.length; j++) {
+            if (usedColumns[j]) continue;
+            usedColumns[j] = true;
+            best = Math.min(best, cost[row][j] + bruteForceMinimum(cost, row + 1, usedColumns, remaining - 1));
+            usedColumns[j] = false;
+        }
+        return best;
+    }
+}